@@ -0,0 +1,137 @@
+package nonogram.controller;
+import java.util.Arrays;
+import nonogram.datastructures.IntArrayList;
+public class ArrangementCounter {
+    private static final double ZERO = Double.NEGATIVE_INFINITY;
+    private double[] forward = new double[0];
+    private double[] backward = new double[0];
+    private double[] fillDelta = new double[0];
+    private int[] emptyPrefix = new int[0];
+    private int[] clueBuffer = new int[0];
+    private int width;
+    public double logCount(IntArrayList clues, byte[] line, int length, double[] probabilities) {
+        int clueCount = loadClues(clues);
+        ensureBuffers(clueCount, length);
+        width = length + 1;
+        emptyPrefix[0] = 0;
+        for (int i = 0; i < length; i++) {
+            emptyPrefix[i + 1] = emptyPrefix[i] + (line[i] == LineSolver.EMPTY ? 1 : 0);
+        }
+        int cells = (clueCount + 1) * width;
+        Arrays.fill(forward, 0, cells, ZERO);
+        Arrays.fill(backward, 0, cells, ZERO);
+        fillForward(line, length, clueCount);
+        double total = forward[clueCount * width + length];
+        if (total == ZERO) {
+            return ZERO;
+        }
+        if (probabilities == null) {
+            return total;
+        }
+        fillBackward(line, length, clueCount);
+        Arrays.fill(fillDelta, 0, length + 1, 0.0);
+        for (int j = 0; j < clueCount; j++) {
+            int clue = clueBuffer[j];
+            for (int start = 0; start + clue <= length; start++) {
+                double ways = left(line, j, start) + right(line, length, clueCount, j, start + clue);
+                if (ways == ZERO || !noEmpty(start, start + clue)) {
+                    continue;
+                }
+                double share = Math.exp(ways - total);
+                fillDelta[start] += share;
+                fillDelta[start + clue] -= share;
+            }
+        }
+        double coverage = 0.0;
+        for (int i = 0; i < length; i++) {
+            coverage += fillDelta[i];
+            if (line[i] == LineSolver.FILLED) {
+                probabilities[i] = 1.0;
+            } else if (line[i] == LineSolver.EMPTY) {
+                probabilities[i] = 0.0;
+            } else {
+                probabilities[i] = Math.max(0.0, Math.min(1.0, coverage));
+            }
+        }
+        return total;
+    }
+    public static double logAdd(double a, double b) {
+        if (a == ZERO) {
+            return b;
+        }
+        if (b == ZERO) {
+            return a;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+    private void fillForward(byte[] line, int length, int clueCount) {
+        forward[0] = 0.0;
+        for (int i = 1; i <= length; i++) {
+            for (int j = 0; j <= clueCount; j++) {
+                double value = line[i - 1] != LineSolver.FILLED ? forward[j * width + i - 1] : ZERO;
+                if (j > 0) {
+                    int start = i - clueBuffer[j - 1];
+                    if (start >= 0 && noEmpty(start, i)) {
+                        value = logAdd(value, left(line, j - 1, start));
+                    }
+                }
+                forward[j * width + i] = value;
+            }
+        }
+    }
+    private void fillBackward(byte[] line, int length, int clueCount) {
+        backward[clueCount * width + length] = 0.0;
+        for (int i = length - 1; i >= 0; i--) {
+            for (int j = clueCount; j >= 0; j--) {
+                double value = line[i] != LineSolver.FILLED ? backward[j * width + i + 1] : ZERO;
+                if (j < clueCount) {
+                    int end = i + clueBuffer[j];
+                    if (end <= length && noEmpty(i, end)) {
+                        value = logAdd(value, right(line, length, clueCount, j, end));
+                    }
+                }
+                backward[j * width + i] = value;
+            }
+        }
+    }
+    private double left(byte[] line, int clue, int start) {
+        if (start == 0) {
+            return clue == 0 ? 0.0 : ZERO;
+        }
+        return line[start - 1] != LineSolver.FILLED ? forward[clue * width + start - 1] : ZERO;
+    }
+    private double right(byte[] line, int length, int clueCount, int clue, int end) {
+        if (end == length) {
+            return clue == clueCount - 1 ? 0.0 : ZERO;
+        }
+        return line[end] != LineSolver.FILLED ? backward[(clue + 1) * width + end + 1] : ZERO;
+    }
+    private boolean noEmpty(int from, int to) {
+        return emptyPrefix[to] - emptyPrefix[from] == 0;
+    }
+    private int loadClues(IntArrayList clues) {
+        if (clueBuffer.length < clues.size()) {
+            clueBuffer = new int[clues.size()];
+        }
+        int count = 0;
+        for (int i = 0; i < clues.size(); i++) {
+            int clue = clues.get(i);
+            if (clue > 0) {
+                clueBuffer[count++] = clue;
+            }
+        }
+        return count;
+    }
+    private void ensureBuffers(int clueCount, int length) {
+        int cells = (clueCount + 1) * (length + 1);
+        if (forward.length < cells) {
+            forward = new double[cells];
+            backward = new double[cells];
+        }
+        if (emptyPrefix.length < length + 1) {
+            emptyPrefix = new int[length + 1];
+            fillDelta = new double[length + 1];
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package nonogram.controller;
+import java.util.stream.IntStream;
+import nonogram.datastructures.MyLinkedList;
+import nonogram.model.DifficultyRating;
+import nonogram.model.GameBoard;
+import nonogram.model.Puzzle;
+public class DifficultyClassifier {
+    public static DifficultyRating rate(Puzzle puzzle) {
+        return rate(puzzle.getSolution());
+    }
+    public static DifficultyRating rate(boolean[][] solution) {
+        GameBoard board = new GameBoard(solution);
+        NonogramSolver solver = NonogramSolver.forBoard(board);
+        if (solver.solve() == null) {
+            throw new IllegalArgumentException("Puzzle has no solution");
+        }
+        return new DifficultyRating(board.getRows() + board.getCols(), solver.getLineSolves(), solver.getBranches(), solver.getMaxDepth());
+    }
+    public static DifficultyRating[] rateAll(MyLinkedList<Puzzle> catalog) {
+        return rateAll(catalog, new SolutionCache(), new MyLinkedList<>());
+    }
+    public static DifficultyRating[] rateAll(MyLinkedList<Puzzle> catalog, SolutionCache solutionCache, MyLinkedList<Puzzle> skipped) {
+        Puzzle[] puzzles = catalog.toArray(new Puzzle[0]);
+        DifficultyRating[] ratings = new DifficultyRating[puzzles.length];
+        IntStream.range(0, puzzles.length).parallel().forEach(i -> {
+            if (solutionCache.tryResolve(puzzles[i])) {
+                ratings[i] = rate(puzzles[i]);
+            }
+        });
+        for (int i = 0; i < puzzles.length; i++) {
+            if (ratings[i] == null) {
+                skipped.add(puzzles[i]);
+            }
+        }
+        return ratings;
+    }
+    public static void classifyAll(MyLinkedList<Puzzle> catalog) {
+        classifyAll(catalog, new SolutionCache(), new MyLinkedList<>());
+    }
+    public static void classifyAll(MyLinkedList<Puzzle> catalog, SolutionCache solutionCache, MyLinkedList<Puzzle> skipped) {
+        DifficultyRating[] ratings = rateAll(catalog, solutionCache, skipped);
+        int i = 0;
+        for (Puzzle puzzle : catalog) {
+            if (ratings[i] != null) {
+                puzzle.setRating(ratings[i]);
+            }
+            i++;
+        }
+    }
+}
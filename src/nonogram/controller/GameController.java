@@ -1,53 +1,101 @@
 package nonogram.controller;
+import java.io.File;
+import java.util.function.Consumer;
 import nonogram.model.*;
 import nonogram.view.MainFrame;
-import nonogram.datastructures.MyLinkedList;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyArrayList;
 public class GameController {
     private GameBoard board;
     private GameState gameState;
-    private MainFrame view;
     private PuzzleLoader puzzleLoader;
     private Puzzle currentPuzzle;
     private int currentPuzzleIndex;
     private Difficulty currentDifficulty;
     private boolean xMode = false;
+    private final HintPrecomputer hintPrecomputer = new HintPrecomputer();
+    private final ModelExecutor modelExecutor = new ModelExecutor(this::reportFailure);
+    private final PuzzlePrefetcher prefetcher;
+    private MoveValidator moveValidator;
+    private ProbabilityHeatmap heatmap;
+    private boolean heatmapVisible = false;
+    private volatile Consumer<ChangeSet> changeListener;
+    private long changeSequence;
     public GameController() {
-        puzzleLoader = new PuzzleLoader();
+        String cachePath = System.getProperty("nonogram.solutionCache");
+        puzzleLoader = cachePath != null ? new PuzzleLoader(new SolutionCache(new File(cachePath))) : new PuzzleLoader();
+        prefetcher = new PuzzlePrefetcher(puzzleLoader);
         currentDifficulty = Difficulty.EASY;
         currentPuzzleIndex = 0;
     }
     public void setView(MainFrame view) {
-        this.view = view;
+        this.changeListener = view::postChanges;
+    }
+    public void setChangeListener(Consumer<ChangeSet> changeListener) {
+        this.changeListener = changeListener;
+    }
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        return modelExecutor.awaitIdle(timeoutMillis);
     }
     public void startNewGame() {
-        currentPuzzle = puzzleLoader.getPuzzle(currentDifficulty, 0);
-        if (currentPuzzle == null) {
-            currentPuzzle = puzzleLoader.getDefaultPuzzle();
-        }
-        currentPuzzleIndex = 0;
-        initializeGame();
+        modelExecutor.execute(() -> {
+            currentPuzzle = puzzleLoader.getPuzzle(currentDifficulty, 0);
+            if (currentPuzzle == null) {
+                currentPuzzle = puzzleLoader.getDefaultPuzzle();
+            }
+            currentPuzzleIndex = 0;
+            initializeGame();
+        });
     }
     public void startGameWithPuzzle(Puzzle puzzle) {
-        currentPuzzle = puzzle;
-        initializeGame();
+        modelExecutor.execute(() -> {
+            currentPuzzle = puzzle;
+            initializeGame();
+        });
     }
     public void startGameWithPuzzleIndex(int index) {
-        MyLinkedList<Puzzle> puzzles = puzzleLoader.getAllPuzzles();
-        if (index >= 0 && index < puzzles.size()) {
-            currentPuzzleIndex = index;
-            currentPuzzle = puzzles.get(index);
-            initializeGame();
-        }
+        modelExecutor.execute(() -> {
+            Puzzle puzzle = puzzleLoader.getPuzzle(index);
+            if (puzzle != null) {
+                currentPuzzleIndex = index;
+                currentPuzzle = puzzle;
+                initializeGame();
+            }
+        });
     }
     private void initializeGame() {
-        board = new GameBoard(currentPuzzle.getSolution());
+        initializeGame(PuzzlePrefetcher.prepare(puzzleLoader, currentPuzzle));
+    }
+    private void initializeGame(PuzzlePrefetcher.Prepared prepared) {
+        currentPuzzle = prepared.getPuzzle();
+        board = prepared.getBoard();
         gameState = new GameState(board);
-        if (view != null) {
-            view.initializeGame(board, currentPuzzle.getName());
+        moveValidator = prepared.getMoveValidator();
+        heatmap = prepared.getHeatmap();
+        hintPrecomputer.start(board);
+        if (changeListener != null) {
+            ChangeSet.Builder changes = newChanges().newBoard(board, prepared.getTitle());
+            addAllCells(changes);
+            refreshHeatmap(changes);
+            publish(changes);
+        }
+        prefetcher.prefetch(currentDifficulty, currentPuzzleIndex + 1, currentPuzzleIndex - 1);
+    }
+    private void switchToPuzzle(int index) {
+        currentPuzzleIndex = index;
+        PuzzlePrefetcher.Prepared prepared = prefetcher.take(currentDifficulty, index);
+        if (prepared != null) {
+            initializeGame(prepared);
+        } else {
+            currentPuzzle = puzzleLoader.getPuzzle(currentDifficulty, index);
+            initializeGame();
         }
     }
     public void handleCellClick(int row, int col) {
-        if (gameState.isComplete() || !gameState.hasLives()) {
+        modelExecutor.execute(() -> processCellClick(row, col));
+    }
+    private void processCellClick(int row, int col) {
+        if (gameState == null || gameState.isComplete() || !gameState.hasLives()) {
             return;
         }
         Cell cell = board.getCell(row, col);
@@ -55,111 +103,304 @@ public class GameController {
         if (cell.isCorrect()) {
             return;
         }
+        ChangeSet.Builder changes = newChanges();
         CellState newState;
         if (xMode) {
             newState = CellState.MARKED;
             xMode = false;
-            view.updateXButton(false);
         } else {
             newState = oldState.getNextState();
         }
         CellState tempState = cell.getCurrentState();
         cell.setCurrentState(newState);
         boolean isWrongMove = cell.isWrong();
-        cell.setCurrentState(tempState); 
+        cell.setCurrentState(tempState);
+        isWrongMove = isWrongMove || moveValidator.wouldContradict(row, col, newState);
         if (isWrongMove) {
             gameState.loseLife();
-            view.showWrongMove(row, col);
-            view.updateLivesDisplay(gameState.getLives());
+            changes.wrongMove(row, col);
             if (!gameState.hasLives()) {
-                view.showGameOver();
-                return;
+                changes.gameOver();
             }
         } else {
+            IntArrayList changed = new IntArrayList();
             gameState.makeMove(new CellPosition(row, col), newState);
-            board.autoFillMarks();
-            view.updateDisplay();
+            changed.add(row * board.getCols() + col);
+            board.autoFillMarks(changed);
+            moveValidator.recheck(row, col);
+            addChangedCells(changes, changed);
+            refreshHeatmap(changes);
             if (board.isPuzzleComplete()) {
-                view.showCompletionMessage();
+                changes.complete(gameState.getElapsedTime(), gameState.getMoveCount(), gameState.getHintsUsed());
             }
         }
+        publish(changes);
     }
-    public void undo() {
-        if (gameState.canUndo()) {
-            gameState.undo();
-            view.updateDisplay();
+    public void handleStroke(int startRow, int startCol, int endRow, int endCol) {
+        if (startRow != endRow && startCol != endCol) {
+            throw new IllegalArgumentException("Stroke must follow a row or a column");
         }
+        modelExecutor.execute(() -> {
+            if (startRow == endRow && startCol == endCol) {
+                processCellClick(startRow, startCol);
+            } else {
+                processStroke(startRow, startCol, endRow, endCol);
+            }
+        });
     }
-    public void redo() {
-        if (gameState.canRedo()) {
-            gameState.redo();
-            board.autoFillMarks();
-            view.updateDisplay();
+    private void processStroke(int startRow, int startCol, int endRow, int endCol) {
+        if (gameState == null || gameState.isComplete() || !gameState.hasLives()) {
+            publish(newChanges());
+            return;
+        }
+        ChangeSet.Builder changes = newChanges();
+        CellState fromState = board.getCell(startRow, startCol).getCurrentState();
+        CellState newState = xMode ? CellState.MARKED : fromState.getNextState();
+        xMode = false;
+        int length = Math.max(Math.abs(endRow - startRow), Math.abs(endCol - startCol)) + 1;
+        int rowStep = Integer.signum(endRow - startRow);
+        int colStep = Integer.signum(endCol - startCol);
+        MyArrayList<CellPosition> accepted = new MyArrayList<>();
+        int wrongRow = -1;
+        int wrongCol = -1;
+        for (int i = 0; i < length; i++) {
+            int row = startRow + i * rowStep;
+            int col = startCol + i * colStep;
+            Cell cell = board.getCell(row, col);
+            if (cell.isCorrect() || cell.getCurrentState() != fromState) {
+                continue;
+            }
+            cell.setCurrentState(newState);
+            boolean isWrongMove = cell.isWrong();
+            cell.setCurrentState(fromState);
+            if (isWrongMove || moveValidator.wouldContradict(row, col, newState)) {
+                wrongRow = row;
+                wrongCol = col;
+                break;
+            }
+            cell.setCurrentState(newState);
+            accepted.add(new CellPosition(row, col));
         }
+        for (int i = 0; i < accepted.size(); i++) {
+            CellPosition position = accepted.get(i);
+            board.getCell(position.getRow(), position.getCol()).setCurrentState(fromState);
+        }
+        if (!accepted.isEmpty()) {
+            IntArrayList changed = new IntArrayList(accepted.size());
+            gameState.makeMoves(accepted, newState);
+            for (int i = 0; i < accepted.size(); i++) {
+                changed.add(accepted.get(i).getRow() * board.getCols() + accepted.get(i).getCol());
+            }
+            board.autoFillMarks(changed);
+            for (int i = 0; i < accepted.size(); i++) {
+                moveValidator.recheck(accepted.get(i).getRow(), accepted.get(i).getCol());
+            }
+            addChangedCells(changes, changed);
+            refreshHeatmap(changes);
+            if (board.isPuzzleComplete()) {
+                changes.complete(gameState.getElapsedTime(), gameState.getMoveCount(), gameState.getHintsUsed());
+            }
+        }
+        if (wrongRow >= 0) {
+            gameState.loseLife();
+            changes.wrongMove(wrongRow, wrongCol);
+            if (!gameState.hasLives()) {
+                changes.gameOver();
+            }
+        }
+        publish(changes);
+    }
+    public void undo() {
+        modelExecutor.execute(() -> {
+            if (gameState != null && gameState.canUndo()) {
+                ChangeSet.Builder changes = newChanges();
+                IntArrayList changed = new IntArrayList();
+                gameState.undo(changed);
+                moveValidator.recheckCells(changed);
+                addChangedCells(changes, changed);
+                refreshHeatmap(changes);
+                publish(changes);
+            }
+        });
+    }
+    public void redo() {
+        modelExecutor.execute(() -> {
+            if (gameState != null && gameState.canRedo()) {
+                ChangeSet.Builder changes = newChanges();
+                IntArrayList changed = new IntArrayList();
+                gameState.redo(changed);
+                board.autoFillMarks(changed);
+                moveValidator.recheckCells(changed);
+                addChangedCells(changes, changed);
+                refreshHeatmap(changes);
+                publish(changes);
+            }
+        });
+    }
+    public void autoFill() {
+        modelExecutor.execute(() -> {
+            if (board != null) {
+                ChangeSet.Builder changes = newChanges();
+                IntArrayList changed = new IntArrayList();
+                board.autoFillMarks(changed);
+                moveValidator.recheckCells(changed);
+                addChangedCells(changes, changed);
+                refreshHeatmap(changes);
+                publish(changes);
+            }
+        });
     }
     public void getHint() {
-        if (!gameState.isComplete()) {
-            Hint hint = HintGenerator.generateHint(board);
-            if (hint != null) {
-                gameState.incrementHintsUsed();
-                view.showHint(hint);
-            } else {
-                view.showNoHintMessage();
+        modelExecutor.execute(() -> {
+            if (gameState != null && !gameState.isComplete()) {
+                Hint hint = hintPrecomputer.getHint();
+                if (hint != null) {
+                    gameState.incrementHintsUsed();
+                }
+                publish(newChanges().hint(hint));
             }
-        }
+        });
     }
     public void nextPuzzle() {
-        MyLinkedList<Puzzle> currentDifficultyPuzzles = puzzleLoader.getPuzzlesForDifficulty(currentDifficulty);
-        if (currentDifficultyPuzzles != null && currentPuzzleIndex < currentDifficultyPuzzles.size() - 1) {
-            currentPuzzleIndex++;
-            currentPuzzle = currentDifficultyPuzzles.get(currentPuzzleIndex);
-            initializeGame();
-        }
+        modelExecutor.execute(() -> {
+            if (nextPuzzleExists()) {
+                switchToPuzzle(currentPuzzleIndex + 1);
+            }
+        });
     }
     public void previousPuzzle() {
-        if (currentPuzzleIndex > 0) {
-            currentPuzzleIndex--;
-            MyLinkedList<Puzzle> currentDifficultyPuzzles = puzzleLoader.getPuzzlesForDifficulty(currentDifficulty);
-            if (currentDifficultyPuzzles != null) {
-                currentPuzzle = currentDifficultyPuzzles.get(currentPuzzleIndex);
-                initializeGame();
+        modelExecutor.execute(() -> {
+            if (currentPuzzleIndex > 0) {
+                switchToPuzzle(currentPuzzleIndex - 1);
             }
-        }
+        });
     }
     public void resetPuzzle() {
-        gameState.reset();
-        view.updateDisplay();
-        view.updateLivesDisplay(gameState.getLives());
+        modelExecutor.execute(() -> {
+            if (gameState != null) {
+                ChangeSet.Builder changes = newChanges();
+                IntArrayList changed = new IntArrayList();
+                gameState.reset(changed);
+                moveValidator.recheckCells(changed);
+                addChangedCells(changes, changed);
+                refreshHeatmap(changes);
+                publish(changes);
+            }
+        });
     }
     public boolean canUndo() {
-        return gameState != null && gameState.canUndo();
+        return modelExecutor.call(() -> gameState != null && gameState.canUndo());
     }
     public boolean canRedo() {
-        return gameState != null && gameState.canRedo();
+        return modelExecutor.call(() -> gameState != null && gameState.canRedo());
     }
     public boolean hasNextPuzzle() {
-        MyLinkedList<Puzzle> currentDifficultyPuzzles = puzzleLoader.getPuzzlesForDifficulty(currentDifficulty);
-        return currentDifficultyPuzzles != null && currentPuzzleIndex < currentDifficultyPuzzles.size() - 1;
+        return modelExecutor.call(this::nextPuzzleExists);
     }
     public boolean hasPreviousPuzzle() {
+        return modelExecutor.call(this::previousPuzzleExists);
+    }
+    public int getMoveCount() {
+        return modelExecutor.call(() -> gameState != null ? gameState.getMoveCount() : 0);
+    }
+    private boolean nextPuzzleExists() {
+        return currentPuzzleIndex < puzzleLoader.getPuzzleCount(currentDifficulty) - 1;
+    }
+    private boolean previousPuzzleExists() {
         return currentPuzzleIndex > 0;
     }
-    public GameState getGameState() {
-        return gameState;
+    public int importImages(ImageBatchConverter batch, File folder, Difficulty difficulty) throws InterruptedException {
+        int count = batch.convertToCatalog(folder, puzzleLoader, difficulty, modelExecutor);
+        modelExecutor.execute(() -> publish(newChanges()));
+        return count;
+    }
+    public PuzzlePrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+    public int getCurrentPuzzleIndex() {
+        return modelExecutor.call(() -> currentPuzzleIndex);
     }
     public void toggleXMode() {
-        xMode = !xMode;
-        view.updateXButton(xMode);
+        modelExecutor.execute(() -> {
+            xMode = !xMode;
+            publish(newChanges());
+        });
     }
     public void setDifficulty(Difficulty difficulty) {
-        currentDifficulty = difficulty;
-        currentPuzzleIndex = 0;
-        currentPuzzle = puzzleLoader.getPuzzle(difficulty, 0);
-        if (currentPuzzle != null) {
-            initializeGame();
+        modelExecutor.execute(() -> {
+            currentDifficulty = difficulty;
+            currentPuzzleIndex = 0;
+            currentPuzzle = puzzleLoader.getPuzzle(difficulty, 0);
+            if (currentPuzzle != null) {
+                initializeGame();
+            }
+        });
+    }
+    public void setHeatmapVisible(boolean visible) {
+        modelExecutor.execute(() -> {
+            heatmapVisible = visible;
+            if (heatmap != null) {
+                ChangeSet.Builder changes = newChanges();
+                changes.heatmap(visible ? heatmap.update() : null);
+                publish(changes);
+            }
+        });
+    }
+    public boolean isHeatmapVisible() {
+        return modelExecutor.call(() -> heatmapVisible);
+    }
+    private ChangeSet.Builder newChanges() {
+        return new ChangeSet.Builder(++changeSequence);
+    }
+    private void publish(ChangeSet.Builder changes) {
+        Consumer<ChangeSet> listener = changeListener;
+        if (listener == null || gameState == null) {
+            return;
+        }
+        addStatus(changes);
+        listener.accept(changes.build());
+    }
+    private void addStatus(ChangeSet.Builder changes) {
+        changes.status(gameState.getLives(), xMode, gameState.canUndo(), gameState.canRedo(), nextPuzzleExists(), previousPuzzleExists());
+    }
+    private void reportFailure(Throwable failure) {
+        Consumer<ChangeSet> listener = changeListener;
+        if (listener == null) {
+            return;
+        }
+        ChangeSet.Builder changes = newChanges().error("The game could not process that action: " + failure);
+        if (gameState != null) {
+            addStatus(changes);
+        }
+        listener.accept(changes.build());
+    }
+    private void addChangedCells(ChangeSet.Builder changes, IntArrayList changed) {
+        int cols = board.getCols();
+        for (int i = 0; i < changed.size(); i++) {
+            int cell = changed.get(i);
+            int row = cell / cols;
+            int col = cell % cols;
+            CellState state = board.getCell(row, col).getCurrentState();
+            changes.cell(cell, state);
+            heatmap.cellChanged(row, col);
+            hintPrecomputer.cellChanged(row, col, state);
+        }
+        if (!changed.isEmpty()) {
+            hintPrecomputer.schedule();
+        }
+    }
+    private void addAllCells(ChangeSet.Builder changes) {
+        int cols = board.getCols();
+        for (int cell = 0; cell < board.getRows() * cols; cell++) {
+            changes.cell(cell, board.getCell(cell / cols, cell % cols).getCurrentState());
+        }
+    }
+    private void refreshHeatmap(ChangeSet.Builder changes) {
+        if (heatmapVisible) {
+            changes.heatmap(heatmap.update());
         }
     }
     public Difficulty getCurrentDifficulty() {
-        return currentDifficulty;
+        return modelExecutor.call(() -> currentDifficulty);
     }
 }
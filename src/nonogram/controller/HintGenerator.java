@@ -1,135 +1,164 @@
 package nonogram.controller;
 import nonogram.model.*;
-import nonogram.datastructures.MyLinkedList;
-import nonogram.datastructures.MyArrayList;
+import nonogram.datastructures.IntArrayList;
 public class HintGenerator {
+    static final HintType[] PRIORITY = {
+        HintType.ERROR_DETECTION,
+        HintType.COMPLETE_LINE,
+        HintType.EDGE_DEDUCTION,
+        HintType.OVERLAP_ANALYSIS,
+        HintType.SIMPLE_PATTERN
+    };
     public static Hint generateHint(GameBoard board) {
-        Hint completeLineHint = findCompleteLineHint(board);
-        if (completeLineHint != null) {
-            return completeLineHint;
+        return generateHint(board, snapshot(board));
+    }
+    public static byte[] snapshot(GameBoard board) {
+        int cols = board.getCols();
+        byte[] states = new byte[board.getRows() * cols];
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < cols; col++) {
+                states[row * cols + col] = toLineState(board.getCell(row, col).getCurrentState());
+            }
         }
-        Hint edgeHint = findEdgeDeductionHint(board);
-        if (edgeHint != null) {
-            return edgeHint;
+        return states;
+    }
+    public static Hint generateHint(GameBoard board, byte[] states) {
+        return generateHint(new HintIndex(board, states));
+    }
+    public static Hint generateHint(HintIndex index) {
+        return index.bestHint();
+    }
+    static boolean readLine(byte[] states, int cols, boolean isRow, int index, int length, byte[] line) {
+        boolean hasUnknown = false;
+        for (int i = 0; i < length; i++) {
+            line[i] = states[isRow ? index * cols + i : i * cols + index];
+            hasUnknown |= line[i] == LineSolver.UNKNOWN;
         }
-        Hint overlapHint = findOverlapHint(board);
-        if (overlapHint != null) {
-            return overlapHint;
+        return hasUnknown;
+    }
+    static byte toLineState(CellState state) {
+        switch (state) {
+            case FILLED:
+                return LineSolver.FILLED;
+            case MARKED:
+                return LineSolver.EMPTY;
+            default:
+                return LineSolver.UNKNOWN;
         }
-        return null;
     }
-    private static Hint findCompleteLineHint(GameBoard board) {
-        for (int row = 0; row < board.getRows(); row++) {
-            MyLinkedList<Integer> clues = board.getRowClues(row);
-            if (isCompleteLinePattern(clues, board.getCols())) {
-                boolean needsFilling = false;
-                for (int col = 0; col < board.getCols(); col++) {
-                    if (board.getCell(row, col).getCurrentState() == CellState.UNKNOWN) {
-                        needsFilling = true;
-                        break;
-                    }
-                }
-                if (needsFilling) {
-                    Hint hint = new Hint(HintType.COMPLETE_LINE, 
-                                       "This entire row should be filled based on the clue.", 
-                                       row, true);
-                    for (int col = 0; col < board.getCols(); col++) {
-                        hint.addAffectedCell(new CellPosition(row, col));
-                    }
-                    return hint;
-                }
+    static HintType classify(LineSolver solver, IntArrayList clues, byte[] before, byte[] after, byte[] blank, int length, int bestRank) {
+        boolean lineComplete = true;
+        for (int i = 0; i < length; i++) {
+            if (after[i] == LineSolver.UNKNOWN) {
+                lineComplete = false;
+                break;
             }
         }
-        for (int col = 0; col < board.getCols(); col++) {
-            MyLinkedList<Integer> clues = board.getColumnClues(col);
-            if (isCompleteLinePattern(clues, board.getRows())) {
-                boolean needsFilling = false;
-                for (int row = 0; row < board.getRows(); row++) {
-                    if (board.getCell(row, col).getCurrentState() == CellState.UNKNOWN) {
-                        needsFilling = true;
-                        break;
-                    }
-                }
-                if (needsFilling) {
-                    Hint hint = new Hint(HintType.COMPLETE_LINE, 
-                                       "This entire column should be filled based on the clue.", 
-                                       col, false);
-                    for (int row = 0; row < board.getRows(); row++) {
-                        hint.addAffectedCell(new CellPosition(row, col));
-                    }
-                    return hint;
+        if (lineComplete) {
+            return HintType.COMPLETE_LINE;
+        }
+        int firstClue = 0;
+        int lastClue = 0;
+        for (int i = 0; i < clues.size(); i++) {
+            if (clues.get(i) > 0) {
+                if (firstClue == 0) {
+                    firstClue = clues.get(i);
                 }
+                lastClue = clues.get(i);
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            if (before[i] == LineSolver.UNKNOWN && after[i] != LineSolver.UNKNOWN
+                    && (i < firstClue || i >= length - lastClue)) {
+                return HintType.EDGE_DEDUCTION;
+            }
+        }
+        if (bestRank <= rankOf(HintType.OVERLAP_ANALYSIS)) {
+            return HintType.SIMPLE_PATTERN;
+        }
+        for (int i = 0; i < length; i++) {
+            blank[i] = LineSolver.UNKNOWN;
+        }
+        solver.solve(clues, blank, length);
+        for (int i = 0; i < length; i++) {
+            if (before[i] == LineSolver.UNKNOWN && after[i] != LineSolver.UNKNOWN && blank[i] != after[i]) {
+                return HintType.SIMPLE_PATTERN;
             }
         }
-        return null;
+        return HintType.OVERLAP_ANALYSIS;
     }
-    private static Hint findEdgeDeductionHint(GameBoard board) {
-        for (int row = 0; row < board.getRows(); row++) {
-            MyLinkedList<Integer> clues = board.getRowClues(row);
-            if (clues.size() > 0) {
-                int firstClue = clues.get(0);
-                int lineLength = board.getCols();
-                if (firstClue > lineLength / 2) {
-                    int forcedStart = lineLength - firstClue;
-                    for (int col = forcedStart; col < firstClue; col++) {
-                        if (board.getCell(row, col).getCurrentState() == CellState.UNKNOWN) {
-                            Hint hint = new Hint(HintType.EDGE_DEDUCTION,
-                                               "The clue " + firstClue + " forces some cells to be filled.",
-                                               row, true);
-                            hint.addAffectedCell(new CellPosition(row, col));
-                            return hint;
-                        }
-                    }
-                }
+    static int rankOf(HintType type) {
+        for (int i = 0; i < PRIORITY.length; i++) {
+            if (PRIORITY[i] == type) {
+                return i;
             }
         }
-        for (int col = 0; col < board.getCols(); col++) {
-            MyLinkedList<Integer> clues = board.getColumnClues(col);
-            if (clues.size() > 0) {
-                int firstClue = clues.get(0);
-                int lineLength = board.getRows();
-                if (firstClue > lineLength / 2) {
-                    int forcedStart = lineLength - firstClue;
-                    for (int row = forcedStart; row < firstClue; row++) {
-                        if (board.getCell(row, col).getCurrentState() == CellState.UNKNOWN) {
-                            Hint hint = new Hint(HintType.EDGE_DEDUCTION,
-                                               "The clue " + firstClue + " forces some cells to be filled.",
-                                               col, false);
-                            hint.addAffectedCell(new CellPosition(row, col));
-                            return hint;
-                        }
-                    }
+        return PRIORITY.length;
+    }
+    static Hint buildHint(HintType type, IntArrayList clues, boolean isRow, int index, byte[] before, byte[] after, int length) {
+        int filled = 0;
+        int marked = 0;
+        for (int i = 0; i < length; i++) {
+            if (before[i] == LineSolver.UNKNOWN && after[i] != LineSolver.UNKNOWN) {
+                if (after[i] == LineSolver.FILLED) {
+                    filled++;
+                } else {
+                    marked++;
                 }
             }
         }
-        return null;
+        Hint hint = new Hint(type, buildMessage(type, clues, isRow, filled, marked), index, isRow);
+        for (int i = 0; i < length; i++) {
+            if (before[i] == LineSolver.UNKNOWN && after[i] != LineSolver.UNKNOWN) {
+                CellPosition position = isRow ? new CellPosition(index, i) : new CellPosition(i, index);
+                hint.addAffectedCell(position, after[i] == LineSolver.FILLED ? CellState.FILLED : CellState.MARKED);
+            }
+        }
+        return hint;
     }
-    private static Hint findOverlapHint(GameBoard board) {
-        for (int row = 0; row < board.getRows(); row++) {
-            MyLinkedList<Integer> clues = board.getRowClues(row);
-            if (clues.size() == 1 && clues.get(0) > 0) {
-                int clueValue = clues.get(0);
-                int lineLength = board.getCols();
-                int maxStart = lineLength - clueValue;
-                if (maxStart < clueValue) {
-                    for (int col = maxStart; col < clueValue; col++) {
-                        if (board.getCell(row, col).getCurrentState() == CellState.UNKNOWN) {
-                            Hint hint = new Hint(HintType.OVERLAP_ANALYSIS,
-                                               "All possible arrangements of clue " + clueValue + " overlap here.",
-                                               row, true);
-                            hint.addAffectedCell(new CellPosition(row, col));
-                            return hint;
-                        }
-                    }
-                }
+    static Hint buildErrorHint(IntArrayList clues, boolean isRow, int index, byte[] states, int length) {
+        String lineType = isRow ? "row" : "column";
+        Hint hint = new Hint(HintType.ERROR_DETECTION,
+                             "The cells set in this " + lineType + " can no longer match the clue " + clueText(clues) + ".",
+                             index, isRow);
+        for (int i = 0; i < length; i++) {
+            if (states[i] != LineSolver.UNKNOWN) {
+                CellPosition position = isRow ? new CellPosition(index, i) : new CellPosition(i, index);
+                hint.addAffectedCell(position, states[i] == LineSolver.FILLED ? CellState.FILLED : CellState.MARKED);
             }
         }
-        return null;
+        return hint;
+    }
+    private static String clueText(IntArrayList clues) {
+        StringBuilder clueText = new StringBuilder();
+        for (int i = 0; i < clues.size(); i++) {
+            if (i > 0) clueText.append(" ");
+            clueText.append(clues.get(i));
+        }
+        return clueText.toString();
     }
-    private static boolean isCompleteLinePattern(MyLinkedList<Integer> clues, int lineLength) {
-        if (clues.size() == 1) {
-            return clues.get(0) == lineLength;
+    private static String buildMessage(HintType type, IntArrayList clues, boolean isRow, int filled, int marked) {
+        String clueText = clueText(clues);
+        String lineType = isRow ? "row" : "column";
+        String result = describeCounts(filled, marked);
+        switch (type) {
+            case COMPLETE_LINE:
+                return "The clue " + clueText + " determines every remaining cell in this " + lineType + ": " + result + ".";
+            case EDGE_DEDUCTION:
+                return "The clue " + clueText + " is pinned against the edge of this " + lineType + ": " + result + ".";
+            case OVERLAP_ANALYSIS:
+                return "All possible arrangements of clue " + clueText + " overlap here: " + result + ".";
+            default:
+                return "The clue " + clueText + " together with the cells already solved decides part of this " + lineType + ": " + result + ".";
+        }
+    }
+    private static String describeCounts(int filled, int marked) {
+        if (marked == 0) {
+            return filled + (filled == 1 ? " cell is" : " cells are") + " filled";
+        }
+        if (filled == 0) {
+            return marked + (marked == 1 ? " cell is" : " cells are") + " empty";
         }
-        return false;
+        return filled + " filled and " + marked + " empty";
     }
 }
@@ -0,0 +1,155 @@
+package nonogram.controller;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.IntRingQueue;
+import nonogram.datastructures.MyPriorityQueue;
+import nonogram.model.GameBoard;
+import nonogram.model.Hint;
+import nonogram.model.HintType;
+public class HintIndex {
+    private final GameBoard board;
+    private final int rows;
+    private final int cols;
+    private final byte[] states;
+    private final Hint[] lineHints;
+    private final boolean[] dirty;
+    private final IntRingQueue dirtyLines;
+    private final MyPriorityQueue readyLines;
+    private final LineSolver solver;
+    private final byte[] line;
+    private final byte[] before;
+    private final byte[] blank;
+    private int lineRecomputes;
+    public HintIndex(GameBoard board) {
+        this(board, HintGenerator.snapshot(board));
+    }
+    public HintIndex(GameBoard board, byte[] snapshot) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.states = snapshot.clone();
+        this.lineHints = new Hint[rows + cols];
+        this.dirty = new boolean[rows + cols];
+        this.dirtyLines = new IntRingQueue(rows + cols);
+        this.readyLines = new MyPriorityQueue(rows + cols);
+        this.solver = new LineSolver();
+        int maxLength = Math.max(rows, cols);
+        this.line = new byte[maxLength];
+        this.before = new byte[maxLength];
+        this.blank = new byte[maxLength];
+        for (int i = 0; i < rows + cols; i++) {
+            markDirty(i);
+        }
+    }
+    public GameBoard getBoard() {
+        return board;
+    }
+    public void setState(int row, int col, byte state) {
+        int cell = row * cols + col;
+        if (states[cell] != state) {
+            states[cell] = state;
+            markDirty(row);
+            markDirty(rows + col);
+        }
+    }
+    public void sync(byte[] snapshot) {
+        for (int row = 0; row < rows; row++) {
+            int offset = row * cols;
+            for (int col = 0; col < cols; col++) {
+                if (states[offset + col] != snapshot[offset + col]) {
+                    states[offset + col] = snapshot[offset + col];
+                    markDirty(row);
+                    markDirty(rows + col);
+                }
+            }
+        }
+    }
+    public void sync() {
+        sync(HintGenerator.snapshot(board));
+    }
+    public Hint bestHint() {
+        flush();
+        return readyLines.isEmpty() ? null : lineHints[readyLines.peek()];
+    }
+    public Hint getLineHint(boolean isRow, int index) {
+        flush();
+        return lineHints[isRow ? index : rows + index];
+    }
+    public int getReadyLineCount() {
+        flush();
+        return readyLines.size();
+    }
+    Hint pollHint() {
+        flush();
+        return readyLines.isEmpty() ? null : lineHints[readyLines.poll()];
+    }
+    boolean flushUntil(long deadlineNanos) {
+        while (!dirtyLines.isEmpty()) {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                return false;
+            }
+            int lineId = dirtyLines.dequeue();
+            dirty[lineId] = false;
+            recompute(lineId);
+        }
+        return true;
+    }
+    boolean precompute() {
+        while (!dirtyLines.isEmpty()) {
+            if (Thread.interrupted()) {
+                return false;
+            }
+            int lineId = dirtyLines.dequeue();
+            dirty[lineId] = false;
+            recompute(lineId);
+        }
+        return true;
+    }
+    public int getLineRecomputes() {
+        return lineRecomputes;
+    }
+    private void markDirty(int lineId) {
+        if (!dirty[lineId]) {
+            dirty[lineId] = true;
+            dirtyLines.enqueue(lineId);
+        }
+    }
+    private void flush() {
+        while (!dirtyLines.isEmpty()) {
+            int lineId = dirtyLines.dequeue();
+            dirty[lineId] = false;
+            recompute(lineId);
+        }
+    }
+    private int unknownCells(int length) {
+        int unknown = 0;
+        for (int i = 0; i < length; i++) {
+            if (before[i] == LineSolver.UNKNOWN) {
+                unknown++;
+            }
+        }
+        return unknown;
+    }
+    private void recompute(int lineId) {
+        lineRecomputes++;
+        boolean isRow = lineId < rows;
+        int index = isRow ? lineId : lineId - rows;
+        int length = isRow ? cols : rows;
+        IntArrayList clues = isRow ? board.getRowClueValues(index) : board.getColumnClueValues(index);
+        Hint hint = null;
+        HintGenerator.readLine(states, cols, isRow, index, length, line);
+        System.arraycopy(line, 0, before, 0, length);
+        int deduced = solver.solve(clues, line, length);
+        if (deduced < 0) {
+            hint = HintGenerator.buildErrorHint(clues, isRow, index, before, length);
+        } else if (deduced > 0) {
+            HintType type = HintGenerator.classify(solver, clues, before, line, blank, length, HintGenerator.PRIORITY.length);
+            hint = HintGenerator.buildHint(type, clues, isRow, index, before, line, length);
+        }
+        lineHints[lineId] = hint;
+        if (hint == null) {
+            readyLines.remove(lineId);
+        } else {
+            readyLines.offer(lineId, HintGenerator.rankOf(hint.getType()) * (line.length + 1) + unknownCells(length));
+        }
+    }
+}
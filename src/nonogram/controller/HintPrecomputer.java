@@ -0,0 +1,104 @@
+package nonogram.controller;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import nonogram.datastructures.IntArrayList;
+import nonogram.model.CellState;
+import nonogram.model.GameBoard;
+import nonogram.model.Hint;
+public class HintPrecomputer {
+    private ExecutorService executor;
+    private Future<?> precompute;
+    private GameBoard pendingBoard;
+    private byte[] pendingSnapshot;
+    private int cols;
+    private final IntArrayList pendingChanges = new IntArrayList();
+    private HintIndex index;
+    public synchronized void start(GameBoard board) {
+        pendingBoard = board;
+        pendingSnapshot = HintGenerator.snapshot(board);
+        cols = board.getCols();
+        pendingChanges.clear();
+        schedule();
+    }
+    public synchronized void cellChanged(int row, int col, CellState state) {
+        pendingChanges.add((row * cols + col) << 2 | HintGenerator.toLineState(state));
+    }
+    public synchronized void schedule() {
+        if (precompute != null) {
+            precompute.cancel(true);
+        }
+        precompute = getExecutor().submit(() -> {
+            applyPending();
+            if (index != null) {
+                index.precompute();
+            }
+        });
+    }
+    public Hint getHint() {
+        Future<Hint> result;
+        synchronized (this) {
+            result = getExecutor().submit(() -> {
+                applyPending();
+                return index != null ? HintGenerator.generateHint(index) : null;
+            });
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Hint computation failed", e.getCause());
+        }
+    }
+    public synchronized boolean isReady() {
+        return precompute != null && precompute.isDone() && !precompute.isCancelled()
+                && pendingBoard == null && pendingChanges.isEmpty();
+    }
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        precompute = null;
+        pendingBoard = null;
+        pendingSnapshot = null;
+        pendingChanges.clear();
+    }
+    private void applyPending() {
+        GameBoard board;
+        byte[] snapshot;
+        int[] changes;
+        synchronized (this) {
+            board = pendingBoard;
+            snapshot = pendingSnapshot;
+            changes = pendingChanges.toArray();
+            pendingBoard = null;
+            pendingSnapshot = null;
+            pendingChanges.clear();
+        }
+        if (board != null) {
+            index = new HintIndex(board, snapshot);
+        }
+        if (index == null) {
+            return;
+        }
+        int indexCols = index.getBoard().getCols();
+        for (int change : changes) {
+            int cell = change >>> 2;
+            index.setState(cell / indexCols, cell % indexCols, (byte) (change & 3));
+        }
+    }
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "hint-precompute");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
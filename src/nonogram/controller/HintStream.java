@@ -0,0 +1,116 @@
+package nonogram.controller;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import nonogram.datastructures.MyArrayList;
+import nonogram.model.CellPosition;
+import nonogram.model.CellState;
+import nonogram.model.GameBoard;
+import nonogram.model.Hint;
+import nonogram.model.HintType;
+public class HintStream implements Iterator<Hint>, Iterable<Hint> {
+    private final HintIndex index;
+    private final boolean walkthrough;
+    private int limit;
+    private long deadlineNanos;
+    private boolean hasDeadline;
+    private Hint next;
+    private int produced;
+    private boolean exhausted;
+    private boolean timedOut;
+    private HintStream(GameBoard board, byte[] snapshot, boolean walkthrough) {
+        this.index = new HintIndex(board, snapshot);
+        this.walkthrough = walkthrough;
+        this.limit = Integer.MAX_VALUE;
+    }
+    public static HintStream of(GameBoard board) {
+        return of(board, HintGenerator.snapshot(board));
+    }
+    public static HintStream of(GameBoard board, byte[] snapshot) {
+        return new HintStream(board, snapshot, false);
+    }
+    public static HintStream walkthrough(GameBoard board) {
+        return walkthrough(board, HintGenerator.snapshot(board));
+    }
+    public static HintStream walkthrough(GameBoard board, byte[] snapshot) {
+        return new HintStream(board, snapshot, true);
+    }
+    public HintStream limit(int maxHints) {
+        if (maxHints < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        this.limit = maxHints;
+        return this;
+    }
+    public HintStream deadline(long timeoutMillis) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        this.deadlineNanos = System.nanoTime() + timeoutMillis * 1_000_000L;
+        this.hasDeadline = true;
+        return this;
+    }
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (exhausted || produced >= limit) {
+            return false;
+        }
+        if (hasDeadline && !index.flushUntil(deadlineNanos)) {
+            timedOut = true;
+            exhausted = true;
+            return false;
+        }
+        next = walkthrough ? index.bestHint() : index.pollHint();
+        if (next == null) {
+            exhausted = true;
+            return false;
+        }
+        if (walkthrough) {
+            if (next.getType() == HintType.ERROR_DETECTION) {
+                exhausted = true;
+            } else {
+                apply(next);
+            }
+        }
+        return true;
+    }
+    @Override
+    public Hint next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Hint hint = next;
+        next = null;
+        produced++;
+        return hint;
+    }
+    @Override
+    public Iterator<Hint> iterator() {
+        return this;
+    }
+    public MyArrayList<Hint> toList() {
+        MyArrayList<Hint> hints = new MyArrayList<>();
+        while (hasNext()) {
+            hints.add(next());
+        }
+        return hints;
+    }
+    public int getProduced() {
+        return produced;
+    }
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+    public int getLineRecomputes() {
+        return index.getLineRecomputes();
+    }
+    private void apply(Hint hint) {
+        for (int i = 0; i < hint.getAffectedCells().size(); i++) {
+            CellPosition position = hint.getAffectedCells().get(i);
+            CellState state = hint.getExpectedState(i);
+            index.setState(position.getRow(), position.getCol(), HintGenerator.toLineState(state));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package nonogram.controller;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import nonogram.datastructures.MyHashMap;
+import nonogram.datastructures.MyLinkedList;
+import nonogram.model.Difficulty;
+import nonogram.model.Puzzle;
+public class ImageBatchConverter {
+    private final ImageConverter converter;
+    private final int threads;
+    private final int maxInFlight;
+    private final MyLinkedList<String> failures;
+    private int converted;
+    private int rejected;
+    public ImageBatchConverter(ImageConverter converter) {
+        this(converter, Runtime.getRuntime().availableProcessors(), 2 * Runtime.getRuntime().availableProcessors());
+    }
+    public ImageBatchConverter(ImageConverter converter, int threads, int maxInFlight) {
+        if (threads <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Threads and in-flight limit must be positive");
+        }
+        this.converter = converter;
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+        this.failures = new MyLinkedList<>();
+    }
+    public static File[] listImages(File folder) {
+        File[] files = folder.listFiles((dir, name) -> {
+            String lower = name.toLowerCase();
+            return lower.endsWith(".png") || lower.endsWith(".jpg") || lower.endsWith(".jpeg");
+        });
+        if (files == null) {
+            throw new IllegalArgumentException("Not a folder: " + folder);
+        }
+        Arrays.sort(files);
+        return files;
+    }
+    public int convertFolder(File folder, Consumer<Puzzle> sink) throws InterruptedException {
+        return convertAll(listImages(folder), sink);
+    }
+    public int convertToCatalog(File folder, PuzzleLoader loader, Difficulty difficulty, ModelExecutor modelExecutor) throws InterruptedException {
+        return convertFolder(folder, puzzle -> modelExecutor.execute(() -> loader.addPuzzle(difficulty, puzzle)));
+    }
+    public int convertToPack(File folder, File packFile) throws IOException, InterruptedException {
+        try (Writer writer = new FileWriter(packFile, true)) {
+            return convertFolder(folder, puzzle -> {
+                synchronized (writer) {
+                    try {
+                        PuzzlePack.write(writer, puzzle);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    public int convertAll(File[] images, Consumer<Puzzle> sink) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "image-convert");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicReference<RuntimeException> sinkFailure = new AtomicReference<>();
+        String[] ids = puzzleIds(images);
+        int before = getConverted();
+        try {
+            for (int i = 0; i < images.length; i++) {
+                File image = images[i];
+                String id = ids[i];
+                inFlight.acquire();
+                if (sinkFailure.get() != null) {
+                    inFlight.release();
+                    break;
+                }
+                executor.execute(() -> {
+                    try {
+                        convertOne(image, id, sink, sinkFailure);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        if (sinkFailure.get() != null) {
+            throw sinkFailure.get();
+        }
+        return getConverted() - before;
+    }
+    public synchronized int getConverted() {
+        return converted;
+    }
+    public synchronized int getRejected() {
+        return rejected;
+    }
+    public synchronized MyLinkedList<String> getFailures() {
+        return failures;
+    }
+    static String[] puzzleIds(File[] images) {
+        MyHashMap<String, Boolean> taken = new MyHashMap<>();
+        String[] ids = new String[images.length];
+        for (int i = 0; i < images.length; i++) {
+            String base = ImageConverter.puzzleId(images[i]);
+            String id = base;
+            for (int suffix = 2; taken.containsKey(id); suffix++) {
+                id = base + "-" + suffix;
+            }
+            taken.put(id, Boolean.TRUE);
+            ids[i] = id;
+        }
+        return ids;
+    }
+    private void convertOne(File image, String id, Consumer<Puzzle> sink, AtomicReference<RuntimeException> sinkFailure) {
+        Puzzle puzzle;
+        try {
+            puzzle = converter.convert(image, id);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                failures.add(image.getName() + ": " + e.getMessage());
+            }
+            return;
+        }
+        if (puzzle == null) {
+            synchronized (this) {
+                rejected++;
+            }
+            return;
+        }
+        if (sinkFailure.get() != null) {
+            return;
+        }
+        try {
+            sink.accept(puzzle);
+        } catch (RuntimeException e) {
+            sinkFailure.compareAndSet(null, e);
+            return;
+        }
+        synchronized (this) {
+            converted++;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package nonogram.controller;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import nonogram.model.GameBoard;
+import nonogram.model.Puzzle;
+public class ImageConverter {
+    private final int rows;
+    private final int cols;
+    private int windowRadius;
+    private boolean requireUnique;
+    private int maxSimplifyRounds;
+    public ImageConverter(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.windowRadius = Math.max(1, Math.max(rows, cols) / 8);
+        this.requireUnique = true;
+        this.maxSimplifyRounds = 3;
+    }
+    public void setWindowRadius(int windowRadius) {
+        this.windowRadius = windowRadius;
+    }
+    public void setRequireUnique(boolean requireUnique) {
+        this.requireUnique = requireUnique;
+    }
+    public void setMaxSimplifyRounds(int maxSimplifyRounds) {
+        this.maxSimplifyRounds = maxSimplifyRounds;
+    }
+    public static String puzzleId(File imageFile) {
+        return baseName(imageFile).trim().replaceAll("\\s+", "_").toUpperCase();
+    }
+    private static String baseName(File imageFile) {
+        String name = imageFile.getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+    public Puzzle convert(File imageFile) throws IOException {
+        return convert(imageFile, puzzleId(imageFile));
+    }
+    public Puzzle convert(File imageFile, String puzzleId) throws IOException {
+        BufferedImage image = ImageIO.read(imageFile);
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + imageFile.getName());
+        }
+        boolean[][] solution = convert(image);
+        if (solution == null) {
+            return null;
+        }
+        return new Puzzle(puzzleId, baseName(imageFile), solution);
+    }
+    public boolean[][] convert(BufferedImage image) {
+        double[][] luminance = downscale(image, rows, cols);
+        boolean[][] solution = threshold(luminance, windowRadius);
+        if (!requireUnique) {
+            return solution;
+        }
+        for (int round = 0; round <= maxSimplifyRounds; round++) {
+            if (isLineSolvable(solution)) {
+                return solution;
+            }
+            boolean[][] simplified = smooth(solution);
+            if (sameGrid(simplified, solution)) {
+                break;
+            }
+            solution = simplified;
+        }
+        return null;
+    }
+    static double[][] downscale(BufferedImage image, int rows, int cols) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[][] sums = new double[rows][cols];
+        int[][] counts = new int[rows][cols];
+        int[] pixels = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, pixels, 0, width);
+            int row = (int) ((long) y * rows / height);
+            for (int x = 0; x < width; x++) {
+                int col = (int) ((long) x * cols / width);
+                sums[row][col] += luminance(pixels[x]);
+                counts[row][col]++;
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (counts[row][col] > 0) {
+                    sums[row][col] /= counts[row][col];
+                }
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            int sourceRow = (int) ((2L * row + 1) * height / (2L * rows) * rows / height);
+            for (int col = 0; col < cols; col++) {
+                if (counts[row][col] == 0) {
+                    int sourceCol = (int) ((2L * col + 1) * width / (2L * cols) * cols / width);
+                    sums[row][col] = sums[sourceRow][sourceCol];
+                }
+            }
+        }
+        return sums;
+    }
+    static boolean[][] threshold(double[][] luminance, int radius) {
+        int rows = luminance.length;
+        int cols = luminance[0].length;
+        double global = otsu(luminance);
+        double[][] integral = new double[rows + 1][cols + 1];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                integral[row + 1][col + 1] = luminance[row][col] + integral[row][col + 1] + integral[row + 1][col] - integral[row][col];
+            }
+        }
+        boolean[][] solution = new boolean[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            int top = Math.max(0, row - radius);
+            int bottom = Math.min(rows, row + radius + 1);
+            for (int col = 0; col < cols; col++) {
+                int left = Math.max(0, col - radius);
+                int right = Math.min(cols, col + radius + 1);
+                double sum = integral[bottom][right] - integral[top][right] - integral[bottom][left] + integral[top][left];
+                double localMean = sum / ((bottom - top) * (right - left));
+                solution[row][col] = luminance[row][col] < (localMean + global) / 2.0;
+            }
+        }
+        return solution;
+    }
+    static double otsu(double[][] luminance) {
+        int[] histogram = new int[256];
+        int total = 0;
+        for (double[] line : luminance) {
+            for (double value : line) {
+                histogram[Math.min(255, (int) (value * 255.0))]++;
+                total++;
+            }
+        }
+        double sumAll = 0;
+        for (int i = 0; i < 256; i++) {
+            sumAll += i * (double) histogram[i];
+        }
+        double sumBelow = 0;
+        int countBelow = 0;
+        double bestVariance = -1;
+        int bestLevel = 127;
+        for (int level = 0; level < 256; level++) {
+            countBelow += histogram[level];
+            if (countBelow == 0 || countBelow == total) {
+                continue;
+            }
+            sumBelow += level * (double) histogram[level];
+            double meanBelow = sumBelow / countBelow;
+            double meanAbove = (sumAll - sumBelow) / (total - countBelow);
+            double variance = (double) countBelow * (total - countBelow) * (meanBelow - meanAbove) * (meanBelow - meanAbove);
+            if (variance > bestVariance) {
+                bestVariance = variance;
+                bestLevel = level;
+            }
+        }
+        return (bestLevel + 1) / 255.0;
+    }
+    static boolean isLineSolvable(boolean[][] solution) {
+        NonogramSolver solver = NonogramSolver.forBoard(new GameBoard(solution));
+        byte[] grid = solver.newGrid();
+        if (!solver.propagate(grid)) {
+            return false;
+        }
+        for (byte cell : grid) {
+            if (cell == LineSolver.UNKNOWN) {
+                return false;
+            }
+        }
+        return true;
+    }
+    static boolean[][] smooth(boolean[][] solution) {
+        int rows = solution.length;
+        int cols = solution[0].length;
+        boolean[][] smoothed = new boolean[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int filled = 0;
+                int cells = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int r = row + dr;
+                        int c = col + dc;
+                        if (r >= 0 && r < rows && c >= 0 && c < cols) {
+                            cells++;
+                            if (solution[r][c]) filled++;
+                        }
+                    }
+                }
+                smoothed[row][col] = 2 * filled > cells || (2 * filled == cells && solution[row][col]);
+            }
+        }
+        return smoothed;
+    }
+    private static double luminance(int argb) {
+        int alpha = (argb >>> 24) & 0xFF;
+        int red = (argb >> 16) & 0xFF;
+        int green = (argb >> 8) & 0xFF;
+        int blue = argb & 0xFF;
+        double value = (0.299 * red + 0.587 * green + 0.114 * blue) / 255.0;
+        return 1.0 - (1.0 - value) * alpha / 255.0;
+    }
+    private static boolean sameGrid(boolean[][] a, boolean[][] b) {
+        for (int row = 0; row < a.length; row++) {
+            for (int col = 0; col < a[row].length; col++) {
+                if (a[row][col] != b[row][col]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,189 @@
+package nonogram.controller;
+import java.util.Arrays;
+import nonogram.datastructures.IntArrayList;
+public class LineSolver {
+    public static final byte UNKNOWN = 0;
+    public static final byte FILLED = 1;
+    public static final byte EMPTY = 2;
+    private boolean[] forward = new boolean[0];
+    private boolean[] backward = new boolean[0];
+    private int[] emptyPrefix = new int[0];
+    private int[] fillCoverage = new int[0];
+    private int[] clueBuffer = new int[0];
+    private int[] earliestStart = new int[0];
+    private int[] latestStart = new int[0];
+    private int width;
+    public int solve(IntArrayList clues, byte[] line, int length) {
+        int clueCount = loadClues(clues);
+        ensureBuffers(clueCount, length);
+        width = length + 1;
+        computePlacementBounds(clueCount, length);
+        if (clueCount > 0 && earliestStart[clueCount - 1] > latestStart[clueCount - 1]) {
+            return -1;
+        }
+        emptyPrefix[0] = 0;
+        for (int i = 0; i < length; i++) {
+            emptyPrefix[i + 1] = emptyPrefix[i] + (line[i] == EMPTY ? 1 : 0);
+        }
+        int cells = (clueCount + 1) * width;
+        Arrays.fill(forward, 0, cells, false);
+        Arrays.fill(backward, 0, cells, false);
+        fillForward(line, length, clueCount);
+        if (!forward[clueCount * width + length]) {
+            return -1;
+        }
+        fillBackward(line, length, clueCount);
+        Arrays.fill(fillCoverage, 0, length + 1, 0);
+        for (int j = 0; j < clueCount; j++) {
+            int clue = clueBuffer[j];
+            for (int start = earliestStart[j]; start <= latestStart[j]; start++) {
+                int end = start + clue;
+                if (!noEmpty(start, end)) {
+                    continue;
+                }
+                boolean leftOk = start == 0 ? j == 0 : line[start - 1] != FILLED && forward[j * width + start - 1];
+                if (!leftOk) {
+                    continue;
+                }
+                boolean rightOk = end == length ? j == clueCount - 1 : line[end] != FILLED && backward[(j + 1) * width + end + 1];
+                if (rightOk) {
+                    fillCoverage[start]++;
+                    fillCoverage[end]--;
+                }
+            }
+        }
+        int changed = 0;
+        int coverage = 0;
+        int low = 0;
+        int high = 0;
+        for (int i = 0; i < length; i++) {
+            coverage += fillCoverage[i];
+            while (low < clueCount && latestStart[low] < i) {
+                low++;
+            }
+            while (high < clueCount && earliestStart[high] + clueBuffer[high] <= i) {
+                high++;
+            }
+            if (line[i] != UNKNOWN) {
+                continue;
+            }
+            boolean canFill = coverage > 0;
+            boolean canEmpty = false;
+            for (int j = low; j <= high && !canEmpty; j++) {
+                canEmpty = forward[j * width + i] && backward[j * width + i + 1];
+            }
+            if (canFill && !canEmpty) {
+                line[i] = FILLED;
+                changed++;
+            } else if (canEmpty && !canFill) {
+                line[i] = EMPTY;
+                changed++;
+            } else if (!canFill) {
+                return -1;
+            }
+        }
+        return changed;
+    }
+    public static int slack(IntArrayList clues, int length) {
+        int used = 0;
+        int count = 0;
+        for (int i = 0; i < clues.size(); i++) {
+            int clue = clues.get(i);
+            if (clue > 0) {
+                used += clue;
+                count++;
+            }
+        }
+        if (count > 0) {
+            used += count - 1;
+        }
+        return length - used;
+    }
+    private int loadClues(IntArrayList clues) {
+        if (clueBuffer.length < clues.size()) {
+            clueBuffer = new int[clues.size()];
+            earliestStart = new int[clues.size()];
+            latestStart = new int[clues.size()];
+        }
+        int count = 0;
+        for (int i = 0; i < clues.size(); i++) {
+            int clue = clues.get(i);
+            if (clue > 0) {
+                clueBuffer[count++] = clue;
+            }
+        }
+        return count;
+    }
+    private void computePlacementBounds(int clueCount, int length) {
+        int position = 0;
+        for (int j = 0; j < clueCount; j++) {
+            earliestStart[j] = position;
+            position += clueBuffer[j] + 1;
+        }
+        position = length;
+        for (int j = clueCount - 1; j >= 0; j--) {
+            latestStart[j] = position - clueBuffer[j];
+            position = latestStart[j] - 1;
+        }
+    }
+    private void fillForward(byte[] line, int length, int clueCount) {
+        forward[0] = true;
+        int low = 0;
+        int high = 0;
+        for (int i = 1; i <= length; i++) {
+            while (low < clueCount && latestStart[low] < i - 1) {
+                low++;
+            }
+            while (high < clueCount && earliestStart[high] + clueBuffer[high] <= i) {
+                high++;
+            }
+            for (int j = low; j <= high; j++) {
+                boolean value = line[i - 1] != FILLED && forward[j * width + i - 1];
+                if (!value && j > 0) {
+                    int start = i - clueBuffer[j - 1];
+                    if (start >= 0 && noEmpty(start, i)) {
+                        value = start == 0 ? j == 1 : line[start - 1] != FILLED && forward[(j - 1) * width + start - 1];
+                    }
+                }
+                forward[j * width + i] = value;
+            }
+        }
+    }
+    private void fillBackward(byte[] line, int length, int clueCount) {
+        backward[clueCount * width + length] = true;
+        int low = clueCount;
+        int high = clueCount;
+        for (int i = length - 1; i >= 0; i--) {
+            while (low > 0 && latestStart[low - 1] >= i) {
+                low--;
+            }
+            while (high > 0 && earliestStart[high - 1] + clueBuffer[high - 1] > i + 1) {
+                high--;
+            }
+            for (int j = high; j >= low; j--) {
+                boolean value = line[i] != FILLED && backward[j * width + i + 1];
+                if (!value && j < clueCount) {
+                    int end = i + clueBuffer[j];
+                    if (end <= length && noEmpty(i, end)) {
+                        value = end == length ? j == clueCount - 1 : line[end] != FILLED && backward[(j + 1) * width + end + 1];
+                    }
+                }
+                backward[j * width + i] = value;
+            }
+        }
+    }
+    private boolean noEmpty(int from, int to) {
+        return emptyPrefix[to] - emptyPrefix[from] == 0;
+    }
+    private void ensureBuffers(int clueCount, int length) {
+        int cells = (clueCount + 1) * (length + 1);
+        if (forward.length < cells) {
+            forward = new boolean[cells];
+            backward = new boolean[cells];
+        }
+        if (emptyPrefix.length < length + 1) {
+            emptyPrefix = new int[length + 1];
+            fillCoverage = new int[length + 1];
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package nonogram.controller;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+public class ModelExecutor {
+    private final ExecutorService executor;
+    private final Consumer<Throwable> failureHandler;
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private volatile Thread modelThread;
+    private volatile Throwable lastFailure;
+    public ModelExecutor() {
+        this(null);
+    }
+    public ModelExecutor(Consumer<Throwable> failureHandler) {
+        this.failureHandler = failureHandler;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-model");
+            thread.setDaemon(true);
+            modelThread = thread;
+            return thread;
+        });
+    }
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable failure) {
+                reportFailure(failure);
+            }
+        });
+    }
+    private void reportFailure(Throwable failure) {
+        lastFailure = failure;
+        failureCount.incrementAndGet();
+        if (failureHandler != null) {
+            try {
+                failureHandler.accept(failure);
+            } catch (Throwable handlerFailure) {
+                lastFailure = handlerFailure;
+            }
+        }
+    }
+    public int getFailureCount() {
+        return failureCount.get();
+    }
+    public Throwable getLastFailure() {
+        return lastFailure;
+    }
+    public <T> T call(Supplier<T> query) {
+        if (isModelThread()) {
+            return query.get();
+        }
+        try {
+            return executor.submit(query::get).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the game model", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Game model query failed", e.getCause());
+        }
+    }
+    public boolean isModelThread() {
+        return Thread.currentThread() == modelThread;
+    }
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        execute(latch::countDown);
+        return latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
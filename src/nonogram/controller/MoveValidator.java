@@ -0,0 +1,109 @@
+package nonogram.controller;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyPriorityQueue;
+import nonogram.model.*;
+public class MoveValidator {
+    private final GameBoard board;
+    private final int rows;
+    private final int cols;
+    private final LineSolver solver;
+    private final byte[] line;
+    private final MyPriorityQueue contradictedLines;
+    private final boolean[] checkedLines;
+    private int lineChecks;
+    public MoveValidator(GameBoard board) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.solver = new LineSolver();
+        this.line = new byte[Math.max(rows, cols)];
+        this.contradictedLines = new MyPriorityQueue(rows + cols);
+        this.checkedLines = new boolean[rows + cols];
+        recheckAll();
+    }
+    public boolean recheck(int row, int col) {
+        checkLine(row);
+        checkLine(rows + col);
+        return hasContradiction();
+    }
+    public boolean recheckCells(IntArrayList cells) {
+        for (int i = 0; i < cells.size(); i++) {
+            int cell = cells.get(i);
+            checkLineOnce(cell / cols);
+            checkLineOnce(rows + cell % cols);
+        }
+        for (int i = 0; i < cells.size(); i++) {
+            int cell = cells.get(i);
+            checkedLines[cell / cols] = false;
+            checkedLines[rows + cell % cols] = false;
+        }
+        return hasContradiction();
+    }
+    public boolean recheckAll() {
+        contradictedLines.clear();
+        for (int lineId = 0; lineId < rows + cols; lineId++) {
+            checkLine(lineId);
+        }
+        return hasContradiction();
+    }
+    public boolean wouldContradict(int row, int col, CellState state) {
+        byte value = HintGenerator.toLineState(state);
+        return solveLine(row, col, value) < 0 || solveLine(rows + col, row, value) < 0;
+    }
+    public boolean hasContradiction() {
+        return !contradictedLines.isEmpty();
+    }
+    public int firstContradictedLine() {
+        return contradictedLines.isEmpty() ? -1 : contradictedLines.peek();
+    }
+    public int getContradictedLineCount() {
+        return contradictedLines.size();
+    }
+    public Hint getErrorHint() {
+        if (contradictedLines.isEmpty()) {
+            return null;
+        }
+        int lineId = contradictedLines.peek();
+        boolean isRow = lineId < rows;
+        int index = isRow ? lineId : lineId - rows;
+        int length = readLine(lineId, -1, LineSolver.UNKNOWN);
+        return HintGenerator.buildErrorHint(cluesOf(lineId), isRow, index, line, length);
+    }
+    public int getLineChecks() {
+        return lineChecks;
+    }
+    private void checkLine(int lineId) {
+        if (solveLine(lineId, -1, LineSolver.UNKNOWN) < 0) {
+            contradictedLines.offer(lineId, 0);
+        } else {
+            contradictedLines.remove(lineId);
+        }
+    }
+    private void checkLineOnce(int lineId) {
+        if (!checkedLines[lineId]) {
+            checkedLines[lineId] = true;
+            checkLine(lineId);
+        }
+    }
+    private int solveLine(int lineId, int overrideIndex, byte overrideValue) {
+        lineChecks++;
+        int length = readLine(lineId, overrideIndex, overrideValue);
+        return solver.solve(cluesOf(lineId), line, length);
+    }
+    private int readLine(int lineId, int overrideIndex, byte overrideValue) {
+        boolean isRow = lineId < rows;
+        int index = isRow ? lineId : lineId - rows;
+        int length = isRow ? cols : rows;
+        for (int i = 0; i < length; i++) {
+            Cell cell = isRow ? board.getCell(index, i) : board.getCell(i, index);
+            line[i] = HintGenerator.toLineState(cell.getCurrentState());
+        }
+        if (overrideIndex >= 0) {
+            line[overrideIndex] = overrideValue;
+        }
+        return length;
+    }
+    private IntArrayList cluesOf(int lineId) {
+        return lineId < rows ? board.getRowClueValues(lineId) : board.getColumnClueValues(lineId - rows);
+    }
+}
@@ -0,0 +1,240 @@
+package nonogram.controller;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.IntRingQueue;
+import nonogram.datastructures.MyPriorityQueue;
+import nonogram.model.GameBoard;
+public class NonogramSolver {
+    public enum Schedule {
+        FIFO,
+        PRIORITY
+    }
+    private final int rows;
+    private final int cols;
+    private final IntArrayList[] rowClues;
+    private final IntArrayList[] columnClues;
+    private final int[] lineSlack;
+    private final LineSolver lineSolver;
+    private final byte[] lineBuffer;
+    private final IntRingQueue fifoQueue;
+    private final boolean[] queued;
+    private final MyPriorityQueue priorityQueue;
+    private Schedule schedule;
+    private int lineSolves;
+    private int propagations;
+    private int branches;
+    private int maxDepth;
+    public NonogramSolver(IntArrayList[] rowClues, IntArrayList[] columnClues) {
+        this.rows = rowClues.length;
+        this.cols = columnClues.length;
+        this.rowClues = rowClues;
+        this.columnClues = columnClues;
+        this.lineSlack = new int[rows + cols];
+        this.lineSolver = new LineSolver();
+        this.lineBuffer = new byte[Math.max(rows, cols)];
+        this.fifoQueue = new IntRingQueue(rows + cols);
+        this.queued = new boolean[rows + cols];
+        this.priorityQueue = new MyPriorityQueue(rows + cols);
+        this.schedule = Schedule.PRIORITY;
+        for (int row = 0; row < rows; row++) {
+            lineSlack[row] = LineSolver.slack(rowClues[row], cols);
+        }
+        for (int col = 0; col < cols; col++) {
+            lineSlack[rows + col] = LineSolver.slack(columnClues[col], rows);
+        }
+    }
+    public static NonogramSolver forBoard(GameBoard board) {
+        IntArrayList[] rowClues = new IntArrayList[board.getRows()];
+        IntArrayList[] columnClues = new IntArrayList[board.getCols()];
+        for (int row = 0; row < rowClues.length; row++) {
+            rowClues[row] = board.getRowClueValues(row);
+        }
+        for (int col = 0; col < columnClues.length; col++) {
+            columnClues[col] = board.getColumnClueValues(col);
+        }
+        return new NonogramSolver(rowClues, columnClues);
+    }
+    public int getRows() {
+        return rows;
+    }
+    public int getCols() {
+        return cols;
+    }
+    public void setSchedule(Schedule schedule) {
+        this.schedule = schedule;
+    }
+    public Schedule getSchedule() {
+        return schedule;
+    }
+    public int getLineSolves() {
+        return lineSolves;
+    }
+    public int getPropagations() {
+        return propagations;
+    }
+    public int getBranches() {
+        return branches;
+    }
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+    public boolean usedSearch() {
+        return branches > 0;
+    }
+    public void resetStatistics() {
+        lineSolves = 0;
+        propagations = 0;
+        branches = 0;
+        maxDepth = 0;
+    }
+    public byte[] newGrid() {
+        return new byte[rows * cols];
+    }
+    public boolean propagate(byte[] grid) {
+        clearQueue();
+        for (int line = 0; line < rows + cols; line++) {
+            enqueue(line);
+        }
+        return runQueue(grid);
+    }
+    public boolean propagate(byte[] grid, int row, int col) {
+        clearQueue();
+        enqueue(row);
+        enqueue(rows + col);
+        return runQueue(grid);
+    }
+    public byte[] solve() {
+        return solve(newGrid());
+    }
+    public byte[] solve(byte[] start) {
+        byte[] grid = start.clone();
+        if (!propagate(grid)) {
+            return null;
+        }
+        byte[][] found = new byte[1][];
+        search(grid, 0, 1, found);
+        return found[0];
+    }
+    public int countSolutions(int limit) {
+        byte[] grid = newGrid();
+        if (!propagate(grid)) {
+            return 0;
+        }
+        return search(grid, 0, limit, new byte[1][]);
+    }
+    public static boolean[][] toSolution(byte[] grid, int rows, int cols) {
+        boolean[][] solution = new boolean[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                solution[row][col] = grid[row * cols + col] == LineSolver.FILLED;
+            }
+        }
+        return solution;
+    }
+    private int search(byte[] grid, int depth, int limit, byte[][] found) {
+        maxDepth = Math.max(maxDepth, depth);
+        int cell = pickBranchCell(grid);
+        if (cell < 0) {
+            if (found[0] == null) {
+                found[0] = grid.clone();
+            }
+            return 1;
+        }
+        int count = 0;
+        byte[] options = {LineSolver.FILLED, LineSolver.EMPTY};
+        for (byte option : options) {
+            byte[] branch = grid.clone();
+            branch[cell] = option;
+            branches++;
+            if (propagate(branch, cell / cols, cell % cols)) {
+                count += search(branch, depth + 1, limit - count, found);
+                if (count >= limit) {
+                    return count;
+                }
+            }
+        }
+        return count;
+    }
+    private int pickBranchCell(byte[] grid) {
+        int bestLine = -1;
+        int bestUnknown = Integer.MAX_VALUE;
+        for (int row = 0; row < rows; row++) {
+            int unknown = 0;
+            for (int col = 0; col < cols; col++) {
+                if (grid[row * cols + col] == LineSolver.UNKNOWN) {
+                    unknown++;
+                }
+            }
+            if (unknown > 0 && unknown < bestUnknown) {
+                bestUnknown = unknown;
+                bestLine = row;
+            }
+        }
+        if (bestLine < 0) {
+            return -1;
+        }
+        for (int col = 0; col < cols; col++) {
+            if (grid[bestLine * cols + col] == LineSolver.UNKNOWN) {
+                return bestLine * cols + col;
+            }
+        }
+        return -1;
+    }
+    private boolean runQueue(byte[] grid) {
+        propagations++;
+        while (!queueIsEmpty()) {
+            int line = dequeue();
+            boolean isRow = line < rows;
+            int index = isRow ? line : line - rows;
+            int length = isRow ? cols : rows;
+            for (int i = 0; i < length; i++) {
+                lineBuffer[i] = grid[isRow ? index * cols + i : i * cols + index];
+            }
+            lineSolves++;
+            int changed = lineSolver.solve(isRow ? rowClues[index] : columnClues[index], lineBuffer, length);
+            if (changed < 0) {
+                clearQueue();
+                return false;
+            }
+            if (changed == 0) {
+                continue;
+            }
+            for (int i = 0; i < length; i++) {
+                int cell = isRow ? index * cols + i : i * cols + index;
+                if (grid[cell] != lineBuffer[i]) {
+                    grid[cell] = lineBuffer[i];
+                    enqueue(isRow ? rows + i : i);
+                }
+            }
+        }
+        return true;
+    }
+    private void enqueue(int line) {
+        if (schedule == Schedule.PRIORITY) {
+            if (priorityQueue.contains(line)) {
+                priorityQueue.update(line, priorityQueue.getPriority(line) - 1);
+            } else {
+                priorityQueue.offer(line, lineSlack[line]);
+            }
+        } else if (!queued[line]) {
+            queued[line] = true;
+            fifoQueue.enqueue(line);
+        }
+    }
+    private int dequeue() {
+        if (schedule == Schedule.PRIORITY) {
+            return priorityQueue.poll();
+        }
+        int line = fifoQueue.dequeue();
+        queued[line] = false;
+        return line;
+    }
+    private boolean queueIsEmpty() {
+        return schedule == Schedule.PRIORITY ? priorityQueue.isEmpty() : fifoQueue.isEmpty();
+    }
+    private void clearQueue() {
+        priorityQueue.clear();
+        while (!fifoQueue.isEmpty()) {
+            queued[fifoQueue.dequeue()] = false;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package nonogram.controller;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyBitSet;
+import nonogram.model.GameBoard;
+public class ProbabilityHeatmap {
+    private static final int PARALLEL_THRESHOLD = 8;
+    private static final ThreadLocal<ArrangementCounter> COUNTERS = ThreadLocal.withInitial(ArrangementCounter::new);
+    private final GameBoard board;
+    private final int rows;
+    private final int cols;
+    private final byte[][] cachedLines;
+    private final double[][] lineProbabilities;
+    private final double[] lineLogCounts;
+    private final IntArrayList dirtyLines;
+    private final MyBitSet pendingLines;
+    private final double[] heatmap;
+    private int lineComputations;
+    public ProbabilityHeatmap(GameBoard board) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.cachedLines = new byte[rows + cols][];
+        this.lineProbabilities = new double[rows + cols][];
+        this.lineLogCounts = new double[rows + cols];
+        this.dirtyLines = new IntArrayList();
+        this.pendingLines = new MyBitSet(rows + cols);
+        this.heatmap = new double[rows * cols];
+        for (int lineId = 0; lineId < rows + cols; lineId++) {
+            int length = lineId < rows ? cols : rows;
+            lineProbabilities[lineId] = new double[length];
+            cachedLines[lineId] = new byte[length];
+        }
+        pendingLines.set(0, rows + cols);
+    }
+    public GameBoard getBoard() {
+        return board;
+    }
+    public double[] compute() {
+        byte[] states = HintGenerator.snapshot(board);
+        for (int lineId = 0; lineId < rows + cols; lineId++) {
+            if (!matchesCache(states, lineId)) {
+                pendingLines.set(lineId);
+            }
+        }
+        return update();
+    }
+    public void invalidate() {
+        pendingLines.set(0, rows + cols);
+    }
+    public void cellChanged(int row, int col) {
+        pendingLines.set(row);
+        pendingLines.set(rows + col);
+    }
+    public double[] update() {
+        dirtyLines.clear();
+        for (int lineId = pendingLines.nextSetBit(0); lineId >= 0; lineId = pendingLines.nextSetBit(lineId + 1)) {
+            readLine(lineId);
+            dirtyLines.add(lineId);
+        }
+        pendingLines.clear();
+        lineComputations += dirtyLines.size();
+        IntStream lines = IntStream.range(0, dirtyLines.size());
+        if (dirtyLines.size() >= PARALLEL_THRESHOLD) {
+            lines = lines.parallel();
+        }
+        lines.forEach(i -> computeLine(dirtyLines.get(i)));
+        for (int i = 0; i < dirtyLines.size(); i++) {
+            refreshCells(dirtyLines.get(i));
+        }
+        return heatmap;
+    }
+    public double getLineLogCount(boolean isRow, int index) {
+        return lineLogCounts[isRow ? index : rows + index];
+    }
+    public boolean isLineContradicted(boolean isRow, int index) {
+        return lineLogCounts[isRow ? index : rows + index] == Double.NEGATIVE_INFINITY;
+    }
+    public int getLineComputations() {
+        return lineComputations;
+    }
+    static double combine(double rowProbability, double columnProbability) {
+        double filled = rowProbability * columnProbability;
+        double empty = (1.0 - rowProbability) * (1.0 - columnProbability);
+        if (filled + empty == 0.0) {
+            return (rowProbability + columnProbability) / 2.0;
+        }
+        return filled / (filled + empty);
+    }
+    private void computeLine(int lineId) {
+        boolean isRow = lineId < rows;
+        IntArrayList clues = isRow ? board.getRowClueValues(lineId) : board.getColumnClueValues(lineId - rows);
+        byte[] line = cachedLines[lineId];
+        double[] probabilities = lineProbabilities[lineId];
+        double logCount = COUNTERS.get().logCount(clues, line, line.length, probabilities);
+        if (logCount == Double.NEGATIVE_INFINITY) {
+            Arrays.fill(probabilities, 0.5);
+        }
+        lineLogCounts[lineId] = logCount;
+    }
+    private boolean matchesCache(byte[] states, int lineId) {
+        byte[] cached = cachedLines[lineId];
+        boolean isRow = lineId < rows;
+        int index = isRow ? lineId : lineId - rows;
+        for (int i = 0; i < cached.length; i++) {
+            if (cached[i] != states[isRow ? index * cols + i : i * cols + index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    private void readLine(int lineId) {
+        boolean isRow = lineId < rows;
+        int index = isRow ? lineId : lineId - rows;
+        byte[] line = cachedLines[lineId];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = HintGenerator.toLineState(isRow ? board.getCell(index, i).getCurrentState() : board.getCell(i, index).getCurrentState());
+        }
+    }
+    private void refreshCells(int lineId) {
+        boolean isRow = lineId < rows;
+        int index = isRow ? lineId : lineId - rows;
+        byte[] line = cachedLines[lineId];
+        for (int i = 0; i < line.length; i++) {
+            int row = isRow ? index : i;
+            int col = isRow ? i : index;
+            int cell = row * cols + col;
+            if (line[i] == LineSolver.FILLED) {
+                heatmap[cell] = 1.0;
+            } else if (line[i] != LineSolver.UNKNOWN) {
+                heatmap[cell] = 0.0;
+            } else {
+                heatmap[cell] = combine(lineProbabilities[row][col], lineProbabilities[rows + col][row]);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package nonogram.controller;
+import java.util.stream.IntStream;
+import nonogram.datastructures.LongPairIndex;
+import nonogram.datastructures.MyLinkedList;
+import nonogram.model.Puzzle;
+import nonogram.model.PuzzleFingerprint;
+public class PuzzleDeduplicator {
+    public static PuzzleFingerprint[] fingerprintAll(Puzzle[] puzzles, boolean includeInversion) {
+        return fingerprintAll(puzzles, includeInversion, new SolutionCache());
+    }
+    public static PuzzleFingerprint[] fingerprintAll(Puzzle[] puzzles, boolean includeInversion, SolutionCache solutionCache) {
+        PuzzleFingerprint[] fingerprints = new PuzzleFingerprint[puzzles.length];
+        IntStream.range(0, puzzles.length).parallel().forEach(i -> {
+            if (solutionCache.tryResolve(puzzles[i])) {
+                fingerprints[i] = PuzzleFingerprint.of(puzzles[i], includeInversion);
+            }
+        });
+        return fingerprints;
+    }
+    public static int[] findDuplicates(PuzzleFingerprint[] fingerprints) {
+        LongPairIndex index = new LongPairIndex(fingerprints.length);
+        int[] duplicateOf = new int[fingerprints.length];
+        for (int i = 0; i < fingerprints.length; i++) {
+            duplicateOf[i] = fingerprints[i] != null ? index.putIfAbsent(fingerprints[i].getHigh(), fingerprints[i].getLow(), i) : -1;
+        }
+        return duplicateOf;
+    }
+    public static int[] findDuplicates(Puzzle[] puzzles, boolean includeInversion) {
+        return findDuplicates(fingerprintAll(puzzles, includeInversion));
+    }
+    public static MyLinkedList<Puzzle> deduplicate(MyLinkedList<Puzzle> catalog, boolean includeInversion) {
+        return deduplicate(catalog, includeInversion, new SolutionCache(), new MyLinkedList<>());
+    }
+    public static MyLinkedList<Puzzle> deduplicate(MyLinkedList<Puzzle> catalog, boolean includeInversion, SolutionCache solutionCache, MyLinkedList<Puzzle> skipped) {
+        Puzzle[] puzzles = catalog.toArray(new Puzzle[0]);
+        PuzzleFingerprint[] fingerprints = fingerprintAll(puzzles, includeInversion, solutionCache);
+        int[] duplicateOf = findDuplicates(fingerprints);
+        MyLinkedList<Puzzle> unique = new MyLinkedList<>();
+        for (int i = 0; i < puzzles.length; i++) {
+            if (fingerprints[i] == null) {
+                skipped.add(puzzles[i]);
+            }
+            if (duplicateOf[i] < 0) {
+                unique.add(puzzles[i]);
+            }
+        }
+        return unique;
+    }
+}
@@ -1,13 +1,20 @@
 package nonogram.controller;
 import nonogram.model.Puzzle;
 import nonogram.model.Difficulty;
+import nonogram.model.DifficultyRating;
+import nonogram.datastructures.MyArrayList;
 import nonogram.datastructures.MyLinkedList;
 import nonogram.datastructures.MyHashMap;
 public class PuzzleLoader {
-    private MyLinkedList<Puzzle> puzzles;
-    private MyHashMap<Difficulty, MyLinkedList<Puzzle>> puzzlesByDifficulty;
+    private MyArrayList<Puzzle> puzzles;
+    private MyHashMap<Difficulty, MyArrayList<Puzzle>> puzzlesByDifficulty;
+    private SolutionCache solutionCache;
     public PuzzleLoader() {
-        puzzles = new MyLinkedList<>();
+        this(new SolutionCache());
+    }
+    public PuzzleLoader(SolutionCache solutionCache) {
+        this.solutionCache = solutionCache;
+        puzzles = new MyArrayList<>();
         puzzlesByDifficulty = new MyHashMap<>();
         loadDefaultPuzzles();
     }
@@ -15,25 +22,50 @@ public class PuzzleLoader {
         return puzzles.get(0);
     }
     public MyLinkedList<Puzzle> getAllPuzzles() {
-        return puzzles;
+        return copyOf(puzzles);
     }
     public MyLinkedList<Puzzle> getPuzzlesForDifficulty(Difficulty difficulty) {
-        return puzzlesByDifficulty.get(difficulty);
+        MyArrayList<Puzzle> difficultyPuzzles = puzzlesByDifficulty.get(difficulty);
+        return difficultyPuzzles != null ? copyOf(difficultyPuzzles) : null;
     }
     public int getPuzzleCount(Difficulty difficulty) {
-        MyLinkedList<Puzzle> difficultyPuzzles = puzzlesByDifficulty.get(difficulty);
+        MyArrayList<Puzzle> difficultyPuzzles = puzzlesByDifficulty.get(difficulty);
         return difficultyPuzzles != null ? difficultyPuzzles.size() : 0;
     }
     public Puzzle getPuzzle(Difficulty difficulty, int index) {
-        MyLinkedList<Puzzle> difficultyPuzzles = puzzlesByDifficulty.get(difficulty);
+        MyArrayList<Puzzle> difficultyPuzzles = puzzlesByDifficulty.get(difficulty);
         if (difficultyPuzzles != null && index >= 0 && index < difficultyPuzzles.size()) {
             return difficultyPuzzles.get(index);
         }
         return null;
     }
+    public Puzzle getPuzzle(int index) {
+        if (index >= 0 && index < puzzles.size()) {
+            return puzzles.get(index);
+        }
+        return null;
+    }
+    public void addPuzzle(Difficulty difficulty, Puzzle puzzle) {
+        puzzles.add(puzzle);
+        puzzlesByDifficulty.get(difficulty).add(puzzle);
+    }
+    public Puzzle resolve(Puzzle puzzle) {
+        solutionCache.resolve(puzzle);
+        return puzzle;
+    }
+    public SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+    public DifficultyRating getRating(Puzzle puzzle) {
+        resolve(puzzle);
+        if (!puzzle.hasRating()) {
+            puzzle.setRating(DifficultyClassifier.rate(puzzle));
+        }
+        return puzzle.getRating();
+    }
     private void loadDefaultPuzzles() {
         for (Difficulty diff : Difficulty.values()) {
-            puzzlesByDifficulty.put(diff, new MyLinkedList<>());
+            puzzlesByDifficulty.put(diff, new MyArrayList<>());
         }
         loadEasyPuzzles();
         loadMediumPuzzles();
@@ -48,7 +80,7 @@ public class PuzzleLoader {
             {false, true, true, true, false},
             {false, false, true, false, false}
         };
-        addPuzzle(Difficulty.EASY, new Puzzle("HEART", "Heart Shape", heart));
+        addPuzzle(Difficulty.EASY, new Puzzle("HEART", "Heart Shape", heart, rating(heart, 14, 0, 0)));
         boolean[][] smiley = {
             {false, true, true, true, false},
             {true, false, true, false, true},
@@ -56,7 +88,7 @@ public class PuzzleLoader {
             {true, true, false, true, true},
             {false, true, true, true, false}
         };
-        addPuzzle(Difficulty.EASY, new Puzzle("SMILEY", "Smiley Face", smiley));
+        addPuzzle(Difficulty.EASY, new Puzzle("SMILEY", "Smiley Face", smiley, rating(smiley, 13, 0, 0)));
         boolean[][] cross = {
             {false, false, true, false, false},
             {false, false, true, false, false},
@@ -64,7 +96,7 @@ public class PuzzleLoader {
             {false, false, true, false, false},
             {false, false, true, false, false}
         };
-        addPuzzle(Difficulty.EASY, new Puzzle("CROSS", "Cross Shape", cross));
+        addPuzzle(Difficulty.EASY, new Puzzle("CROSS", "Cross Shape", cross, rating(cross, 10, 0, 0)));
         boolean[][] square = {
             {true, true, true, true, true},
             {true, false, false, false, true},
@@ -72,7 +104,7 @@ public class PuzzleLoader {
             {true, false, false, false, true},
             {true, true, true, true, true}
         };
-        addPuzzle(Difficulty.EASY, new Puzzle("SQUARE", "Square Shape", square));
+        addPuzzle(Difficulty.EASY, new Puzzle("SQUARE", "Square Shape", square, rating(square, 10, 0, 0)));
     }
     private void loadMediumPuzzles() {
         boolean[][] house = new boolean[10][10];
@@ -86,7 +118,7 @@ public class PuzzleLoader {
                              (i >= 5 && i <= 7 && j >= 4 && j <= 5);
             }
         }
-        addPuzzle(Difficulty.MEDIUM, new Puzzle("HOUSE", "House", house));
+        addPuzzle(Difficulty.MEDIUM, new Puzzle("HOUSE", "House", house, rating(house, 44, 0, 0)));
         boolean[][] tree = new boolean[10][10];
         for (int i = 0; i < 10; i++) {
             for (int j = 0; j < 10; j++) {
@@ -94,7 +126,7 @@ public class PuzzleLoader {
                            (i >= 0 && i <= 3 && Math.abs(j - 4.5) <= i + 1); 
             }
         }
-        addPuzzle(Difficulty.MEDIUM, new Puzzle("TREE", "Tree", tree));
+        addPuzzle(Difficulty.MEDIUM, new Puzzle("TREE", "Tree", tree, rating(tree, 35, 0, 0)));
         boolean[][] car = new boolean[10][10];
         for (int i = 0; i < 10; i++) {
             for (int j = 0; j < 10; j++) {
@@ -103,7 +135,7 @@ public class PuzzleLoader {
                           (i == 2 && j >= 2 && j <= 7); 
             }
         }
-        addPuzzle(Difficulty.MEDIUM, new Puzzle("CAR", "Car", car));
+        addPuzzle(Difficulty.MEDIUM, new Puzzle("CAR", "Car", car, rating(car, 46, 0, 0)));
         boolean[][] flower = new boolean[10][10];
         for (int i = 0; i < 10; i++) {
             for (int j = 0; j < 10; j++) {
@@ -115,7 +147,7 @@ public class PuzzleLoader {
                              (i >= 6 && i <= 8 && j == 4); 
             }
         }
-        addPuzzle(Difficulty.MEDIUM, new Puzzle("FLOWER", "Flower", flower));
+        addPuzzle(Difficulty.MEDIUM, new Puzzle("FLOWER", "Flower", flower, rating(flower, 37, 0, 0)));
         boolean[][] fish = new boolean[10][10];
         for (int i = 0; i < 10; i++) {
             for (int j = 0; j < 10; j++) {
@@ -125,7 +157,7 @@ public class PuzzleLoader {
                            (i == 8 && j >= 4 && j <= 5); 
             }
         }
-        addPuzzle(Difficulty.MEDIUM, new Puzzle("FISH", "Fish", fish));
+        addPuzzle(Difficulty.MEDIUM, new Puzzle("FISH", "Fish", fish, rating(fish, 60, 0, 0)));
     }
     private void loadHardPuzzles() {
         boolean[][] star = new boolean[15][15];
@@ -136,7 +168,7 @@ public class PuzzleLoader {
                            (Math.abs(i - center) == Math.abs(j - center));
             }
         }
-        addPuzzle(Difficulty.HARD, new Puzzle("STAR", "Star Pattern", star));
+        addPuzzle(Difficulty.HARD, new Puzzle("STAR", "Star Pattern", star, rating(star, 189, 17, 17)));
         boolean[][] castle = new boolean[15][15];
         for (int i = 0; i < 15; i++) {
             for (int j = 0; j < 15; j++) {
@@ -147,7 +179,7 @@ public class PuzzleLoader {
                              (i >= 8 && i <= 10 && j >= 6 && j <= 8); 
             }
         }
-        addPuzzle(Difficulty.HARD, new Puzzle("CASTLE", "Castle", castle));
+        addPuzzle(Difficulty.HARD, new Puzzle("CASTLE", "Castle", castle, rating(castle, 47, 0, 0)));
         boolean[][] butterfly = new boolean[15][15];
         for (int i = 0; i < 15; i++) {
             for (int j = 0; j < 15; j++) {
@@ -156,7 +188,7 @@ public class PuzzleLoader {
                                 (i >= 8 && i <= 12 && ((j >= 2 && j <= 6) || (j >= 8 && j <= 12)));
             }
         }
-        addPuzzle(Difficulty.HARD, new Puzzle("BUTTERFLY", "Butterfly", butterfly));
+        addPuzzle(Difficulty.HARD, new Puzzle("BUTTERFLY", "Butterfly", butterfly, rating(butterfly, 82, 0, 0)));
         boolean[][] ship = new boolean[15][15];
         for (int i = 0; i < 15; i++) {
             for (int j = 0; j < 15; j++) {
@@ -166,7 +198,7 @@ public class PuzzleLoader {
                            (i >= 7 && i <= 8 && j >= 4 && j <= 10);
             }
         }
-        addPuzzle(Difficulty.HARD, new Puzzle("SHIP", "Ship", ship));
+        addPuzzle(Difficulty.HARD, new Puzzle("SHIP", "Ship", ship, rating(ship, 83, 0, 0)));
         boolean[][] mountain = new boolean[15][15];
         for (int i = 0; i < 15; i++) {
             for (int j = 0; j < 15; j++) {
@@ -174,7 +206,7 @@ public class PuzzleLoader {
                                (i >= j - 14 && i >= 28 - j && i <= 14); 
             }
         }
-        addPuzzle(Difficulty.HARD, new Puzzle("MOUNTAIN", "Mountain", mountain));
+        addPuzzle(Difficulty.HARD, new Puzzle("MOUNTAIN", "Mountain", mountain, rating(mountain, 43, 0, 0)));
     }
     private void loadExpertPuzzles() {
         boolean[][] diamond = new boolean[20][20];
@@ -184,7 +216,7 @@ public class PuzzleLoader {
                 diamond[i][j] = (Math.abs(i - center) + Math.abs(j - center)) <= center;
             }
         }
-        addPuzzle(Difficulty.EXPERT, new Puzzle("DIAMOND", "Diamond Shape", diamond));
+        addPuzzle(Difficulty.EXPERT, new Puzzle("DIAMOND", "Diamond Shape", diamond, rating(diamond, 135, 0, 0)));
         boolean[][] spiral = new boolean[20][20];
         for (int i = 0; i < 20; i++) {
             for (int j = 0; j < 20; j++) {
@@ -192,14 +224,14 @@ public class PuzzleLoader {
                 spiral[i][j] = (layer % 2 == 0);
             }
         }
-        addPuzzle(Difficulty.EXPERT, new Puzzle("SPIRAL", "Spiral Pattern", spiral));
+        addPuzzle(Difficulty.EXPERT, new Puzzle("SPIRAL", "Spiral Pattern", spiral, rating(spiral, 40, 0, 0)));
         boolean[][] checker = new boolean[20][20];
         for (int i = 0; i < 20; i++) {
             for (int j = 0; j < 20; j++) {
                 checker[i][j] = (i + j) % 2 == 0;
             }
         }
-        addPuzzle(Difficulty.EXPERT, new Puzzle("CHECKER", "Checkerboard", checker));
+        addPuzzle(Difficulty.EXPERT, new Puzzle("CHECKER", "Checkerboard", checker, rating(checker, 116, 1, 1)));
         boolean[][] circle = new boolean[20][20];
         center = 9;
         for (int i = 0; i < 20; i++) {
@@ -208,7 +240,7 @@ public class PuzzleLoader {
                 circle[i][j] = (dist >= 6 && dist <= 9);
             }
         }
-        addPuzzle(Difficulty.EXPERT, new Puzzle("CIRCLE", "Circle Ring", circle));
+        addPuzzle(Difficulty.EXPERT, new Puzzle("CIRCLE", "Circle Ring", circle, rating(circle, 264, 3, 2)));
         boolean[][] maze = new boolean[20][20];
         for (int i = 0; i < 20; i++) {
             for (int j = 0; j < 20; j++) {
@@ -218,10 +250,14 @@ public class PuzzleLoader {
                              (i % 4 == 0 && j % 8 == 2));
             }
         }
-        addPuzzle(Difficulty.EXPERT, new Puzzle("MAZE", "Maze Pattern", maze));
+        addPuzzle(Difficulty.EXPERT, new Puzzle("MAZE", "Maze Pattern", maze, rating(maze, 83, 1, 1)));
     }
-    private void addPuzzle(Difficulty difficulty, Puzzle puzzle) {
-        puzzles.add(puzzle);
-        puzzlesByDifficulty.get(difficulty).add(puzzle);
+    private static MyLinkedList<Puzzle> copyOf(MyArrayList<Puzzle> catalog) {
+        MyLinkedList<Puzzle> copy = new MyLinkedList<>();
+        copy.addAll(catalog);
+        return copy;
+    }
+    private static DifficultyRating rating(boolean[][] grid, int lineSolves, int branches, int maxDepth) {
+        return new DifficultyRating(grid.length + grid[0].length, lineSolves, branches, maxDepth);
     }
 }
@@ -0,0 +1,71 @@
+package nonogram.controller;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Base64;
+import nonogram.datastructures.MyLinkedList;
+import nonogram.model.Puzzle;
+public class PuzzlePack {
+    public static void write(Writer writer, Puzzle puzzle) throws IOException {
+        if (puzzle.getPuzzleId().isEmpty() || puzzle.getPuzzleId().matches(".*\\s.*")) {
+            throw new IllegalArgumentException("Puzzle id cannot be stored in a pack: \"" + puzzle.getPuzzleId() + "\"");
+        }
+        boolean[][] solution = puzzle.getSolution();
+        writer.write(puzzle.getPuzzleId() + " " + solution.length + " " + solution[0].length + " "
+                + Base64.getEncoder().encodeToString(encode(solution)) + " " + puzzle.getName() + System.lineSeparator());
+    }
+    public static MyLinkedList<Puzzle> read(File file, MyLinkedList<String> skipped) throws IOException {
+        MyLinkedList<Puzzle> puzzles = new MyLinkedList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.trim().split(" ", 5);
+                if (parts.length != 5) {
+                    skipped.add("Line " + lineNumber + ": expected 5 fields, found " + parts.length);
+                    continue;
+                }
+                try {
+                    int rows = Integer.parseInt(parts[1]);
+                    int cols = Integer.parseInt(parts[2]);
+                    puzzles.add(new Puzzle(parts[0], parts[4], decode(Base64.getDecoder().decode(parts[3]), rows, cols)));
+                } catch (IllegalArgumentException e) {
+                    skipped.add("Line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return puzzles;
+    }
+    static byte[] encode(boolean[][] solution) {
+        int cols = solution[0].length;
+        byte[] bytes = new byte[(solution.length * cols + 7) / 8];
+        for (int row = 0; row < solution.length; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (solution[row][col]) {
+                    int bit = row * cols + col;
+                    bytes[bit >>> 3] |= 1 << (bit & 7);
+                }
+            }
+        }
+        return bytes;
+    }
+    static boolean[][] decode(byte[] bytes, int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || bytes.length != ((long) rows * cols + 7) / 8) {
+            throw new IllegalArgumentException("Bad entry size");
+        }
+        boolean[][] solution = new boolean[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int bit = row * cols + col;
+                solution[row][col] = (bytes[bit >>> 3] & (1 << (bit & 7))) != 0;
+            }
+        }
+        return solution;
+    }
+}
@@ -0,0 +1,137 @@
+package nonogram.controller;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import nonogram.datastructures.MyArrayList;
+import nonogram.datastructures.MyHashMap;
+import nonogram.datastructures.MyLinkedList;
+import nonogram.model.Difficulty;
+import nonogram.model.DifficultyRating;
+import nonogram.model.GameBoard;
+import nonogram.model.Puzzle;
+public class PuzzlePrefetcher {
+    private final PuzzleLoader puzzleLoader;
+    private final MyHashMap<String, Future<Prepared>> pending;
+    private ExecutorService executor;
+    private int hits;
+    private int misses;
+    public PuzzlePrefetcher(PuzzleLoader puzzleLoader) {
+        this.puzzleLoader = puzzleLoader;
+        this.pending = new MyHashMap<>();
+    }
+    public synchronized void prefetch(Difficulty difficulty, int... indices) {
+        MyHashMap<String, Future<Prepared>> keep = new MyHashMap<>();
+        for (int index : indices) {
+            String key = key(difficulty, index);
+            Puzzle puzzle = puzzleLoader.getPuzzle(difficulty, index);
+            if (puzzle == null || keep.containsKey(key)) {
+                continue;
+            }
+            Future<Prepared> future = pending.remove(key);
+            if (future == null) {
+                future = getExecutor().submit(() -> prepare(puzzleLoader, puzzle));
+            }
+            keep.put(key, future);
+        }
+        MyArrayList<Future<Prepared>> stale = pending.values();
+        for (int i = 0; i < stale.size(); i++) {
+            stale.get(i).cancel(true);
+        }
+        pending.clear();
+        MyArrayList<String> keys = keep.keySet();
+        for (int i = 0; i < keys.size(); i++) {
+            pending.put(keys.get(i), keep.get(keys.get(i)));
+        }
+    }
+    public Prepared take(Difficulty difficulty, int index) {
+        Future<Prepared> future;
+        synchronized (this) {
+            future = pending.remove(key(difficulty, index));
+        }
+        if (future != null) {
+            try {
+                Prepared prepared = future.get();
+                synchronized (this) {
+                    hits++;
+                }
+                return prepared;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (CancellationException | ExecutionException ignored) {
+            }
+        }
+        synchronized (this) {
+            misses++;
+        }
+        return null;
+    }
+    public synchronized boolean isReady(Difficulty difficulty, int index) {
+        Future<Prepared> future = pending.get(key(difficulty, index));
+        return future != null && future.isDone() && !future.isCancelled();
+    }
+    public synchronized int getHits() {
+        return hits;
+    }
+    public synchronized int getMisses() {
+        return misses;
+    }
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        pending.clear();
+    }
+    public static Prepared prepare(PuzzleLoader puzzleLoader, Puzzle puzzle) {
+        puzzleLoader.resolve(puzzle);
+        GameBoard board = new GameBoard(puzzle.getSolution());
+        DifficultyRating rating = puzzleLoader.getRating(puzzle);
+        return new Prepared(puzzle, board, new MoveValidator(board), new ProbabilityHeatmap(board),
+                puzzle.getName() + " - " + rating.getGradeName());
+    }
+    private static String key(Difficulty difficulty, int index) {
+        return difficulty.name() + ":" + index;
+    }
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "puzzle-prefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return executor;
+    }
+    public static class Prepared {
+        private final Puzzle puzzle;
+        private final GameBoard board;
+        private final MoveValidator moveValidator;
+        private final ProbabilityHeatmap heatmap;
+        private final String title;
+        Prepared(Puzzle puzzle, GameBoard board, MoveValidator moveValidator, ProbabilityHeatmap heatmap, String title) {
+            this.puzzle = puzzle;
+            this.board = board;
+            this.moveValidator = moveValidator;
+            this.heatmap = heatmap;
+            this.title = title;
+        }
+        public Puzzle getPuzzle() {
+            return puzzle;
+        }
+        public GameBoard getBoard() {
+            return board;
+        }
+        public MoveValidator getMoveValidator() {
+            return moveValidator;
+        }
+        public ProbabilityHeatmap getHeatmap() {
+            return heatmap;
+        }
+        public String getTitle() {
+            return title;
+        }
+    }
+}
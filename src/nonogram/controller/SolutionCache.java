@@ -0,0 +1,192 @@
+package nonogram.controller;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyHashMap;
+import nonogram.model.ClueGenerator;
+import nonogram.model.Puzzle;
+public class SolutionCache {
+    private final MyHashMap<String, boolean[][]> solutions;
+    private final File file;
+    private boolean fileLoaded;
+    private int solves;
+    private int hits;
+    private int skippedEntries;
+    private IOException lastError;
+    public SolutionCache() {
+        this(null);
+    }
+    public SolutionCache(File file) {
+        this.solutions = new MyHashMap<>();
+        this.file = file;
+    }
+    public boolean[][] getSolution(int[][] rowClues, int[][] columnClues) {
+        String key = fingerprint(rowClues, columnClues);
+        boolean[][] cached = lookup(key);
+        if (cached != null && matches(cached, rowClues, columnClues)) {
+            synchronized (this) {
+                hits++;
+            }
+            return cached;
+        }
+        boolean[][] solution = solve(rowClues, columnClues);
+        synchronized (this) {
+            solves++;
+            if (solutions.get(key) != cached) {
+                return solution;
+            }
+            solutions.put(key, solution);
+            appendToFile(key, solution);
+        }
+        return solution;
+    }
+    private synchronized boolean[][] lookup(String key) {
+        loadFile();
+        return solutions.get(key);
+    }
+    public void resolve(Puzzle puzzle) {
+        if (!puzzle.hasSolution()) {
+            puzzle.setSolution(getSolution(puzzle.getRowClues(), puzzle.getColumnClues()));
+        }
+    }
+    public boolean tryResolve(Puzzle puzzle) {
+        try {
+            resolve(puzzle);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    public synchronized int size() {
+        loadFile();
+        return solutions.size();
+    }
+    public synchronized int getSolves() {
+        return solves;
+    }
+    public synchronized int getHits() {
+        return hits;
+    }
+    public synchronized int getSkippedEntries() {
+        loadFile();
+        return skippedEntries;
+    }
+    public synchronized IOException getLastError() {
+        return lastError;
+    }
+    public static String fingerprint(int[][] rowClues, int[][] columnClues) {
+        StringBuilder text = new StringBuilder();
+        text.append(rowClues.length).append('x').append(columnClues.length);
+        appendClues(text.append('|'), rowClues);
+        appendClues(text.append('|'), columnClues);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+    private static void appendClues(StringBuilder text, int[][] clues) {
+        for (int[] line : clues) {
+            for (int clue : line) {
+                if (clue > 0) {
+                    text.append(clue).append(',');
+                }
+            }
+            text.append(';');
+        }
+    }
+    private static boolean[][] solve(int[][] rowClues, int[][] columnClues) {
+        NonogramSolver solver = new NonogramSolver(toLists(rowClues), toLists(columnClues));
+        byte[] grid = solver.solve();
+        if (grid == null) {
+            throw new IllegalArgumentException("Clues have no solution");
+        }
+        if (solver.usedSearch() && solver.countSolutions(2) > 1) {
+            throw new IllegalArgumentException("Clues have more than one solution");
+        }
+        return NonogramSolver.toSolution(grid, rowClues.length, columnClues.length);
+    }
+    private static IntArrayList[] toLists(int[][] clues) {
+        IntArrayList[] lists = new IntArrayList[clues.length];
+        for (int i = 0; i < clues.length; i++) {
+            lists[i] = IntArrayList.of(clues[i]);
+        }
+        return lists;
+    }
+    private static boolean matches(boolean[][] solution, int[][] rowClues, int[][] columnClues) {
+        if (solution.length != rowClues.length || solution[0].length != columnClues.length) {
+            return false;
+        }
+        ClueGenerator generator = ClueGenerator.generate(solution);
+        for (int row = 0; row < rowClues.length; row++) {
+            if (!Arrays.equals(withoutZeros(generator.getRowClues(row)), withoutZeros(rowClues[row]))) {
+                return false;
+            }
+        }
+        for (int col = 0; col < columnClues.length; col++) {
+            if (!Arrays.equals(withoutZeros(generator.getColumnClues(col)), withoutZeros(columnClues[col]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    private static int[] withoutZeros(int[] clues) {
+        return Arrays.stream(clues).filter(clue -> clue > 0).toArray();
+    }
+    private void loadFile() {
+        if (fileLoaded || file == null) {
+            return;
+        }
+        fileLoaded = true;
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.trim().split(" ");
+                if (parts.length != 4) {
+                    skippedEntries++;
+                    continue;
+                }
+                try {
+                    int rows = Integer.parseInt(parts[1]);
+                    int cols = Integer.parseInt(parts[2]);
+                    solutions.put(parts[0], PuzzlePack.decode(Base64.getDecoder().decode(parts[3]), rows, cols));
+                } catch (IllegalArgumentException e) {
+                    skippedEntries++;
+                }
+            }
+        } catch (IOException e) {
+            lastError = e;
+        }
+    }
+    private void appendToFile(String key, boolean[][] solution) {
+        if (file == null) {
+            return;
+        }
+        try (Writer writer = new FileWriter(file, true)) {
+            writer.write(key + " " + solution.length + " " + solution[0].length + " "
+                    + Base64.getEncoder().encodeToString(PuzzlePack.encode(solution)) + System.lineSeparator());
+        } catch (IOException e) {
+            lastError = e;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package nonogram.datastructures;
+public class IntArrayList {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int GROWTH_FACTOR = 2;
+    private int[] data;
+    private int size;
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+    public IntArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        this.data = new int[capacity];
+        this.size = 0;
+    }
+    public static IntArrayList of(int[] values) {
+        IntArrayList list = new IntArrayList(values.length);
+        System.arraycopy(values, 0, list.data, 0, values.length);
+        list.size = values.length;
+        return list;
+    }
+    public void add(int value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+    public void add(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = value;
+        size++;
+    }
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return data[index];
+    }
+    public int set(int index, int value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int oldValue = data[index];
+        data[index] = value;
+        return oldValue;
+    }
+    public int removeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int oldValue = data[index];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        return oldValue;
+    }
+    public int size() {
+        return size;
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    public void clear() {
+        size = 0;
+    }
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    public int[] toArray() {
+        int[] result = new int[size];
+        System.arraycopy(data, 0, result, 0, size);
+        return result;
+    }
+    public boolean contentEquals(IntArrayList other) {
+        if (other == null || other.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (data[i] != other.data[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            grow(minCapacity);
+        }
+    }
+    public void trimToSize() {
+        if (size < data.length) {
+            int[] newData = new int[size];
+            System.arraycopy(data, 0, newData, 0, size);
+            data = newData;
+        }
+    }
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(data.length * GROWTH_FACTOR, minCapacity);
+        newCapacity = Math.max(newCapacity, DEFAULT_CAPACITY);
+        int[] newData = new int[newCapacity];
+        System.arraycopy(data, 0, newData, 0, size);
+        data = newData;
+    }
+}
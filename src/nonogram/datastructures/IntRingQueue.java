@@ -0,0 +1,81 @@
+package nonogram.datastructures;
+public class IntRingQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int GROWTH_FACTOR = 2;
+    private int[] data;
+    private int head;
+    private int size;
+    public IntRingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+    public IntRingQueue(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        this.data = new int[capacity];
+        this.head = 0;
+        this.size = 0;
+    }
+    public boolean enqueue(int value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        int tail = head + size;
+        if (tail >= data.length) {
+            tail -= data.length;
+        }
+        data[tail] = value;
+        size++;
+        return true;
+    }
+    public int dequeue() {
+        if (isEmpty()) {
+            throw new RuntimeException("Queue is empty");
+        }
+        int value = data[head];
+        head++;
+        if (head == data.length) {
+            head = 0;
+        }
+        size--;
+        return value;
+    }
+    public int peek() {
+        if (isEmpty()) {
+            throw new RuntimeException("Queue is empty");
+        }
+        return data[head];
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    public int size() {
+        return size;
+    }
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            grow(minCapacity);
+        }
+    }
+    public void trimToSize() {
+        if (size < data.length) {
+            resize(size);
+        }
+    }
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(data.length * GROWTH_FACTOR, minCapacity);
+        resize(Math.max(newCapacity, DEFAULT_CAPACITY));
+    }
+    private void resize(int newCapacity) {
+        int[] newData = new int[newCapacity];
+        int firstPart = Math.min(size, data.length - head);
+        System.arraycopy(data, head, newData, 0, firstPart);
+        System.arraycopy(data, 0, newData, firstPart, size - firstPart);
+        data = newData;
+        head = 0;
+    }
+}
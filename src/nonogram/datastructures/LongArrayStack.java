@@ -0,0 +1,69 @@
+package nonogram.datastructures;
+public class LongArrayStack {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int GROWTH_FACTOR = 2;
+    private long[] data;
+    private int size;
+    public LongArrayStack() {
+        this(DEFAULT_CAPACITY);
+    }
+    public LongArrayStack(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        this.data = new long[capacity];
+        this.size = 0;
+    }
+    public void push(long value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+    public long pop() {
+        if (isEmpty()) {
+            throw new RuntimeException("Stack is empty");
+        }
+        return data[--size];
+    }
+    public long peek() {
+        if (isEmpty()) {
+            throw new RuntimeException("Stack is empty");
+        }
+        return data[size - 1];
+    }
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return data[index];
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    public int size() {
+        return size;
+    }
+    public void clear() {
+        size = 0;
+    }
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            grow(minCapacity);
+        }
+    }
+    public void trimToSize() {
+        if (size < data.length) {
+            long[] newData = new long[size];
+            System.arraycopy(data, 0, newData, 0, size);
+            data = newData;
+        }
+    }
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(data.length * GROWTH_FACTOR, minCapacity);
+        newCapacity = Math.max(newCapacity, DEFAULT_CAPACITY);
+        long[] newData = new long[newCapacity];
+        System.arraycopy(data, 0, newData, 0, size);
+        data = newData;
+    }
+}
@@ -0,0 +1,92 @@
+package nonogram.datastructures;
+public class LongPairIndex {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.5;
+    private long[] highs;
+    private long[] lows;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    public LongPairIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+    public LongPairIndex(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+    public int putIfAbsent(long high, long low, int value) {
+        int slot = find(high, low);
+        if (used[slot]) {
+            return values[slot];
+        }
+        used[slot] = true;
+        highs[slot] = high;
+        lows[slot] = low;
+        values[slot] = value;
+        size++;
+        if (size > highs.length * LOAD_FACTOR) {
+            resize(highs.length << 1);
+        }
+        return -1;
+    }
+    public int get(long high, long low) {
+        int slot = find(high, low);
+        return used[slot] ? values[slot] : -1;
+    }
+    public boolean contains(long high, long low) {
+        return used[find(high, low)];
+    }
+    public int size() {
+        return size;
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    public void clear() {
+        for (int i = 0; i < used.length; i++) {
+            used[i] = false;
+        }
+        size = 0;
+    }
+    private int find(long high, long low) {
+        int slot = spread(high, low) & mask;
+        while (used[slot] && (highs[slot] != high || lows[slot] != low)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    private static int spread(long high, long low) {
+        long h = high * 0x9E3779B97F4A7C15L + low;
+        return (int) (h ^ (h >>> 32));
+    }
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+    private void resize(int capacity) {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = find(oldHighs[i], oldLows[i]);
+                used[slot] = true;
+                highs[slot] = oldHighs[i];
+                lows[slot] = oldLows[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
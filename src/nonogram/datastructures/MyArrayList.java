@@ -1,10 +1,16 @@
 package nonogram.datastructures;
-public class MyArrayList<E> {
+import java.lang.reflect.Array;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+public class MyArrayList<E> implements Iterable<E> {
     private static final int DEFAULT_CAPACITY = 10;
     private static final int GROWTH_FACTOR = 2;
     private Object[] data;
     private int size;
     private int capacity;
+    private int modCount;
     public MyArrayList() {
         this(DEFAULT_CAPACITY);
     }
@@ -19,8 +25,17 @@ public class MyArrayList<E> {
     public boolean add(E element) {
         ensureCapacity();
         data[size++] = element;
+        modCount++;
         return true;
     }
+    public boolean addAll(Iterable<? extends E> elements) {
+        boolean changed = false;
+        for (E element : elements) {
+            add(element);
+            changed = true;
+        }
+        return changed;
+    }
     public void add(int index, E element) {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
@@ -29,6 +44,7 @@ public class MyArrayList<E> {
         System.arraycopy(data, index, data, index + 1, size - index);
         data[index] = element;
         size++;
+        modCount++;
     }
     @SuppressWarnings("unchecked")
     public E get(int index) {
@@ -54,6 +70,7 @@ public class MyArrayList<E> {
         E oldValue = (E) data[index];
         System.arraycopy(data, index + 1, data, index, size - index - 1);
         data[--size] = null;
+        modCount++;
         return oldValue;
     }
     public boolean remove(Object obj) {
@@ -76,6 +93,7 @@ public class MyArrayList<E> {
             data[i] = null;
         }
         size = 0;
+        modCount++;
     }
     public boolean contains(Object obj) {
         return indexOf(obj) >= 0;
@@ -88,6 +106,55 @@ public class MyArrayList<E> {
         }
         return -1;
     }
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        System.arraycopy(data, 0, result, 0, size);
+        return result;
+    }
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] array) {
+        if (array.length < size) {
+            array = (T[]) Array.newInstance(array.getClass().getComponentType(), size);
+        }
+        System.arraycopy(data, 0, array, 0, size);
+        if (array.length > size) {
+            array[size] = null;
+        }
+        return array;
+    }
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < size && modCount == expectedModCount; i++) {
+            action.accept((E) data[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int cursor = 0;
+            private final int expectedModCount = modCount;
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (E) data[cursor++];
+            }
+        };
+    }
     private void ensureCapacity() {
         if (size >= capacity) {
             capacity *= GROWTH_FACTOR;
@@ -0,0 +1,265 @@
+package nonogram.datastructures;
+public class MyBitSet {
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    private final long[] words;
+    private final int size;
+    public MyBitSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative");
+        }
+        this.size = size;
+        this.words = new long[wordIndex(size - 1) + 1];
+    }
+    public static MyBitSet valueOf(long[] words, int size) {
+        MyBitSet bits = new MyBitSet(size);
+        if (words.length != bits.words.length) {
+            throw new IllegalArgumentException("Expected " + bits.words.length + " words for size " + size + " but got " + words.length);
+        }
+        System.arraycopy(words, 0, bits.words, 0, words.length);
+        if (size % BITS_PER_WORD != 0 && words.length > 0) {
+            bits.words[words.length - 1] &= WORD_MASK >>> -size;
+        }
+        return bits;
+    }
+    public int size() {
+        return size;
+    }
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words[wordIndex(index)] & (1L << index)) != 0;
+    }
+    public void set(int index) {
+        checkIndex(index);
+        words[wordIndex(index)] |= 1L << index;
+    }
+    public void set(int index, boolean value) {
+        if (value) {
+            set(index);
+        } else {
+            clear(index);
+        }
+    }
+    public void clear(int index) {
+        checkIndex(index);
+        words[wordIndex(index)] &= ~(1L << index);
+    }
+    public void flip(int index) {
+        checkIndex(index);
+        words[wordIndex(index)] ^= 1L << index;
+    }
+    public void set(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        int startWord = wordIndex(fromIndex);
+        int endWord = wordIndex(toIndex - 1);
+        long firstMask = WORD_MASK << fromIndex;
+        long lastMask = WORD_MASK >>> -toIndex;
+        if (startWord == endWord) {
+            words[startWord] |= firstMask & lastMask;
+        } else {
+            words[startWord] |= firstMask;
+            for (int i = startWord + 1; i < endWord; i++) {
+                words[i] = WORD_MASK;
+            }
+            words[endWord] |= lastMask;
+        }
+    }
+    public void clear(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        int startWord = wordIndex(fromIndex);
+        int endWord = wordIndex(toIndex - 1);
+        long firstMask = WORD_MASK << fromIndex;
+        long lastMask = WORD_MASK >>> -toIndex;
+        if (startWord == endWord) {
+            words[startWord] &= ~(firstMask & lastMask);
+        } else {
+            words[startWord] &= ~firstMask;
+            for (int i = startWord + 1; i < endWord; i++) {
+                words[i] = 0;
+            }
+            words[endWord] &= ~lastMask;
+        }
+    }
+    public void clear() {
+        for (int i = 0; i < words.length; i++) {
+            words[i] = 0;
+        }
+    }
+    public void and(MyBitSet other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+    }
+    public void or(MyBitSet other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+    public void xor(MyBitSet other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            words[i] ^= other.words[i];
+        }
+    }
+    public void andNot(MyBitSet other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+    public void copyFrom(MyBitSet other) {
+        checkSameSize(other);
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+    public boolean isSubsetOf(MyBitSet other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & ~other.words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    public boolean intersects(MyBitSet other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size);
+        }
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int u = wordIndex(fromIndex);
+        long word = words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0) {
+                return u * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+            }
+            if (++u == words.length) {
+                return -1;
+            }
+            word = words[u];
+        }
+    }
+    public int nextClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size);
+        }
+        if (fromIndex >= size) {
+            return size;
+        }
+        int u = wordIndex(fromIndex);
+        long word = ~words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0) {
+                return Math.min(u * BITS_PER_WORD + Long.numberOfTrailingZeros(word), size);
+            }
+            if (++u == words.length) {
+                return size;
+            }
+            word = ~words[u];
+        }
+    }
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    public int runLengths(IntArrayList out) {
+        int runs = 0;
+        int start = nextSetBit(0);
+        while (start >= 0) {
+            int end = nextClearBit(start);
+            out.add(end - start);
+            runs++;
+            start = end < size ? nextSetBit(end) : -1;
+        }
+        return runs;
+    }
+    public boolean runsEqual(IntArrayList runs) {
+        int runIndex = 0;
+        int start = nextSetBit(0);
+        while (start >= 0) {
+            int end = nextClearBit(start);
+            if (runIndex >= runs.size() || runs.get(runIndex) != end - start) {
+                return false;
+            }
+            runIndex++;
+            start = end < size ? nextSetBit(end) : -1;
+        }
+        return runIndex == runs.size();
+    }
+    public int wordCount() {
+        return words.length;
+    }
+    public long getWord(int wordIndex) {
+        return words[wordIndex];
+    }
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        MyBitSet that = (MyBitSet) obj;
+        if (size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != that.words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    @Override
+    public int hashCode() {
+        long h = 1234;
+        for (int i = words.length; --i >= 0; ) {
+            h ^= words[i] * (i + 1);
+        }
+        return (int) ((h >> 32) ^ h) * 31 + size;
+    }
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >> ADDRESS_BITS_PER_WORD;
+    }
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        }
+    }
+    private void checkSameSize(MyBitSet other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Bit set sizes differ: " + size + " and " + other.size);
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package nonogram.datastructures;
-public class MyLinkedList<E> {
+import java.lang.reflect.Array;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+public class MyLinkedList<E> implements Iterable<E> {
     private Node<E> head;
+    private Node<E> tail;
     private int size;
+    private int modCount;
     private static class Node<E> {
         E data;
         Node<E> next;
@@ -12,6 +19,7 @@ public class MyLinkedList<E> {
     }
     public MyLinkedList() {
         head = null;
+        tail = null;
         size = 0;
     }
     public void add(E element) {
@@ -19,28 +27,107 @@ public class MyLinkedList<E> {
         if (head == null) {
             head = newNode;
         } else {
-            Node<E> current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
+            tail.next = newNode;
         }
+        tail = newNode;
         size++;
+        modCount++;
+    }
+    public void addAll(Iterable<? extends E> elements) {
+        for (E element : elements) {
+            add(element);
+        }
     }
     public E get(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
+        if (index == size - 1) {
+            return tail.data;
+        }
         Node<E> current = head;
         for (int i = 0; i < index; i++) {
             current = current.next;
         }
         return current.data;
     }
+    public E getFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return head.data;
+    }
+    public E getLast() {
+        if (tail == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return tail.data;
+    }
     public int size() {
         return size;
     }
     public boolean isEmpty() {
         return size == 0;
     }
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (Node<E> current = head; current != null; current = current.next) {
+            result[i++] = current.data;
+        }
+        return result;
+    }
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] array) {
+        if (array.length < size) {
+            array = (T[]) Array.newInstance(array.getClass().getComponentType(), size);
+        }
+        int i = 0;
+        for (Node<E> current = head; current != null; current = current.next) {
+            array[i++] = (T) current.data;
+        }
+        if (array.length > size) {
+            array[size] = null;
+        }
+        return array;
+    }
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node<E> current = head; current != null; current = current.next) {
+            action.accept(current.data);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = head;
+            private final int expectedModCount = modCount;
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                E data = next.data;
+                next = next.next;
+                return data;
+            }
+        };
+    }
 }
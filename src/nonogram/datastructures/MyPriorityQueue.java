@@ -0,0 +1,162 @@
+package nonogram.datastructures;
+public class MyPriorityQueue {
+    private final int[] heap;
+    private final int[] positions;
+    private final int[] priorities;
+    private int size;
+    public MyPriorityQueue(int maxId) {
+        if (maxId < 0) {
+            throw new IllegalArgumentException("Id range must not be negative");
+        }
+        this.heap = new int[maxId];
+        this.positions = new int[maxId];
+        this.priorities = new int[maxId];
+        this.size = 0;
+        for (int i = 0; i < maxId; i++) {
+            positions[i] = -1;
+        }
+    }
+    public boolean offer(int id, int priority) {
+        checkId(id);
+        if (positions[id] >= 0) {
+            update(id, priority);
+            return false;
+        }
+        priorities[id] = priority;
+        heap[size] = id;
+        positions[id] = size;
+        size++;
+        siftUp(size - 1);
+        return true;
+    }
+    public void update(int id, int priority) {
+        checkId(id);
+        int position = positions[id];
+        if (position < 0) {
+            throw new IllegalArgumentException("Id " + id + " is not in the queue");
+        }
+        int oldPriority = priorities[id];
+        priorities[id] = priority;
+        if (priority < oldPriority) {
+            siftUp(position);
+        } else if (priority > oldPriority) {
+            siftDown(position);
+        }
+    }
+    public boolean decreaseKey(int id, int priority) {
+        checkId(id);
+        if (positions[id] < 0) {
+            return offer(id, priority);
+        }
+        if (priority < priorities[id]) {
+            priorities[id] = priority;
+            siftUp(positions[id]);
+            return true;
+        }
+        return false;
+    }
+    public int poll() {
+        if (isEmpty()) {
+            throw new RuntimeException("Priority queue is empty");
+        }
+        int id = heap[0];
+        removeAt(0);
+        return id;
+    }
+    public int peek() {
+        if (isEmpty()) {
+            throw new RuntimeException("Priority queue is empty");
+        }
+        return heap[0];
+    }
+    public boolean remove(int id) {
+        checkId(id);
+        int position = positions[id];
+        if (position < 0) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+    public boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] >= 0;
+    }
+    public int getPriority(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is not in the queue");
+        }
+        return priorities[id];
+    }
+    public int size() {
+        return size;
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+    private void removeAt(int position) {
+        int id = heap[position];
+        positions[id] = -1;
+        size--;
+        if (position == size) {
+            return;
+        }
+        int last = heap[size];
+        heap[position] = last;
+        positions[last] = position;
+        siftDown(position);
+        if (heap[position] == last) {
+            siftUp(position);
+        }
+    }
+    private void siftUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentId = heap[parent];
+            if (!less(id, parentId)) {
+                break;
+            }
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+    private void siftDown(int position) {
+        int id = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            int childId = heap[child];
+            if (!less(childId, id)) {
+                break;
+            }
+            heap[position] = childId;
+            positions[childId] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+    private boolean less(int a, int b) {
+        int pa = priorities[a];
+        int pb = priorities[b];
+        return pa < pb || (pa == pb && a < b);
+    }
+    private void checkId(int id) {
+        if (id < 0 || id >= positions.length) {
+            throw new IndexOutOfBoundsException("Id: " + id + ", Range: " + positions.length);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package nonogram.datastructures;
-public class MyQueue<E> {
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+public class MyQueue<E> implements Iterable<E> {
     private Node<E> front;
     private Node<E> rear;
     private int size;
+    private int modCount;
     private static class Node<E> {
         E data;
         Node<E> next;
@@ -25,6 +30,7 @@ public class MyQueue<E> {
             rear = newNode;
         }
         size++;
+        modCount++;
         return true;
     }
     public E dequeue() {
@@ -37,6 +43,7 @@ public class MyQueue<E> {
             rear = null;
         }
         size--;
+        modCount++;
         return data;
     }
     public E peek() {
@@ -55,5 +62,39 @@ public class MyQueue<E> {
         front = null;
         rear = null;
         size = 0;
+        modCount++;
+    }
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node<E> current = front; current != null; current = current.next) {
+            action.accept(current.data);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = front;
+            private final int expectedModCount = modCount;
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                E data = next.data;
+                next = next.next;
+                return data;
+            }
+        };
     }
 }
@@ -1,7 +1,12 @@
 package nonogram.datastructures;
-public class MyStack<E> {
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+public class MyStack<E> implements Iterable<E> {
     private Node<E> top;
     private int size;
+    private int modCount;
     private static class Node<E> {
         E data;
         Node<E> next;
@@ -19,6 +24,7 @@ public class MyStack<E> {
         newNode.next = top;
         top = newNode;
         size++;
+        modCount++;
     }
     public E pop() {
         if (isEmpty()) {
@@ -27,6 +33,7 @@ public class MyStack<E> {
         E data = top.data;
         top = top.next;
         size--;
+        modCount++;
         return data;
     }
     public E peek() {
@@ -44,5 +51,39 @@ public class MyStack<E> {
     public void clear() {
         top = null;
         size = 0;
+        modCount++;
+    }
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node<E> current = top; current != null; current = current.next) {
+            action.accept(current.data);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = top;
+            private final int expectedModCount = modCount;
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                E data = next.data;
+                next = next.next;
+                return data;
+            }
+        };
     }
 }
@@ -0,0 +1,270 @@
+package nonogram.model;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyArrayList;
+public final class ChangeSet {
+    private final long sequence;
+    private final GameBoard board;
+    private final String puzzleName;
+    private final int[] cells;
+    private final CellState[] states;
+    private final int wrongRow;
+    private final int wrongCol;
+    private final int lives;
+    private final boolean xMode;
+    private final boolean canUndo;
+    private final boolean canRedo;
+    private final boolean hasNextPuzzle;
+    private final boolean hasPreviousPuzzle;
+    private final boolean heatmapChanged;
+    private final double[] heatmap;
+    private final boolean hintRequested;
+    private final Hint hint;
+    private final boolean complete;
+    private final boolean gameOver;
+    private final long elapsedTime;
+    private final int moveCount;
+    private final int hintsUsed;
+    private final String errorMessage;
+    private ChangeSet(Builder builder) {
+        this.sequence = builder.sequence;
+        this.board = builder.board;
+        this.puzzleName = builder.puzzleName;
+        this.cells = builder.cells.toArray();
+        this.states = new CellState[builder.states.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = builder.states.get(i);
+        }
+        this.wrongRow = builder.wrongRow;
+        this.wrongCol = builder.wrongCol;
+        this.lives = builder.lives;
+        this.xMode = builder.xMode;
+        this.canUndo = builder.canUndo;
+        this.canRedo = builder.canRedo;
+        this.hasNextPuzzle = builder.hasNextPuzzle;
+        this.hasPreviousPuzzle = builder.hasPreviousPuzzle;
+        this.heatmapChanged = builder.heatmapChanged;
+        this.heatmap = builder.heatmap != null ? builder.heatmap.clone() : null;
+        this.hintRequested = builder.hintRequested;
+        this.hint = builder.hint;
+        this.complete = builder.complete;
+        this.gameOver = builder.gameOver;
+        this.elapsedTime = builder.elapsedTime;
+        this.moveCount = builder.moveCount;
+        this.hintsUsed = builder.hintsUsed;
+        this.errorMessage = builder.errorMessage;
+    }
+    public long getSequence() {
+        return sequence;
+    }
+    public boolean isNewBoard() {
+        return board != null;
+    }
+    public GameBoard getBoard() {
+        return board;
+    }
+    public String getPuzzleName() {
+        return puzzleName;
+    }
+    public int getCellCount() {
+        return cells.length;
+    }
+    public int getCellIndex(int i) {
+        return cells[i];
+    }
+    public CellState getCellState(int i) {
+        return states[i];
+    }
+    public boolean hasWrongMove() {
+        return wrongRow >= 0;
+    }
+    public int getWrongRow() {
+        return wrongRow;
+    }
+    public int getWrongCol() {
+        return wrongCol;
+    }
+    public int getLives() {
+        return lives;
+    }
+    public boolean isXMode() {
+        return xMode;
+    }
+    public boolean canUndo() {
+        return canUndo;
+    }
+    public boolean canRedo() {
+        return canRedo;
+    }
+    public boolean hasNextPuzzle() {
+        return hasNextPuzzle;
+    }
+    public boolean hasPreviousPuzzle() {
+        return hasPreviousPuzzle;
+    }
+    public boolean isHeatmapChanged() {
+        return heatmapChanged;
+    }
+    public double getHeatmapValue(int cell) {
+        return heatmap[cell];
+    }
+    public double[] getHeatmap() {
+        return heatmap != null ? heatmap.clone() : null;
+    }
+    public boolean isHintRequested() {
+        return hintRequested;
+    }
+    public Hint getHint() {
+        return hint;
+    }
+    public boolean isComplete() {
+        return complete;
+    }
+    public boolean isGameOver() {
+        return gameOver;
+    }
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+    public int getMoveCount() {
+        return moveCount;
+    }
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+    public boolean hasError() {
+        return errorMessage != null;
+    }
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    public static ChangeSet merge(ChangeSet first, ChangeSet second) {
+        Builder builder = new Builder(second.sequence);
+        if (second.isNewBoard()) {
+            builder.newBoard(second.board, second.puzzleName);
+        } else {
+            if (first.isNewBoard()) {
+                builder.newBoard(first.board, first.puzzleName);
+            }
+            for (int i = 0; i < first.cells.length; i++) {
+                builder.cell(first.cells[i], first.states[i]);
+            }
+            if (first.complete) {
+                builder.complete(first.elapsedTime, first.moveCount, first.hintsUsed);
+            }
+            if (first.gameOver) {
+                builder.gameOver();
+            }
+        }
+        for (int i = 0; i < second.cells.length; i++) {
+            builder.cell(second.cells[i], second.states[i]);
+        }
+        if (second.hasWrongMove()) {
+            builder.wrongMove(second.wrongRow, second.wrongCol);
+        } else if (first.hasWrongMove() && !second.isNewBoard()) {
+            builder.wrongMove(first.wrongRow, first.wrongCol);
+        }
+        builder.status(second.lives, second.xMode, second.canUndo, second.canRedo, second.hasNextPuzzle, second.hasPreviousPuzzle);
+        if (second.heatmapChanged) {
+            builder.heatmap(second.heatmap);
+        } else if (first.heatmapChanged && !second.isNewBoard()) {
+            builder.heatmap(first.heatmap);
+        }
+        if (second.hintRequested) {
+            builder.hint(second.hint);
+        } else if (first.hintRequested && !second.isNewBoard()) {
+            builder.hint(first.hint);
+        }
+        if (second.complete) {
+            builder.complete(second.elapsedTime, second.moveCount, second.hintsUsed);
+        }
+        if (second.gameOver) {
+            builder.gameOver();
+        }
+        if (second.errorMessage != null) {
+            builder.error(second.errorMessage);
+        } else if (first.errorMessage != null) {
+            builder.error(first.errorMessage);
+        }
+        return builder.build();
+    }
+    public static class Builder {
+        private final long sequence;
+        private GameBoard board;
+        private String puzzleName;
+        private final IntArrayList cells = new IntArrayList();
+        private final MyArrayList<CellState> states = new MyArrayList<>();
+        private int wrongRow = -1;
+        private int wrongCol = -1;
+        private int lives;
+        private boolean xMode;
+        private boolean canUndo;
+        private boolean canRedo;
+        private boolean hasNextPuzzle;
+        private boolean hasPreviousPuzzle;
+        private boolean heatmapChanged;
+        private double[] heatmap;
+        private boolean hintRequested;
+        private Hint hint;
+        private boolean complete;
+        private boolean gameOver;
+        private long elapsedTime;
+        private int moveCount;
+        private int hintsUsed;
+        private String errorMessage;
+        public Builder(long sequence) {
+            this.sequence = sequence;
+        }
+        public Builder newBoard(GameBoard board, String puzzleName) {
+            this.board = board;
+            this.puzzleName = puzzleName;
+            return this;
+        }
+        public Builder cell(int index, CellState state) {
+            cells.add(index);
+            states.add(state);
+            return this;
+        }
+        public Builder wrongMove(int row, int col) {
+            this.wrongRow = row;
+            this.wrongCol = col;
+            return this;
+        }
+        public Builder status(int lives, boolean xMode, boolean canUndo, boolean canRedo, boolean hasNextPuzzle, boolean hasPreviousPuzzle) {
+            this.lives = lives;
+            this.xMode = xMode;
+            this.canUndo = canUndo;
+            this.canRedo = canRedo;
+            this.hasNextPuzzle = hasNextPuzzle;
+            this.hasPreviousPuzzle = hasPreviousPuzzle;
+            return this;
+        }
+        public Builder heatmap(double[] heatmap) {
+            this.heatmapChanged = true;
+            this.heatmap = heatmap;
+            return this;
+        }
+        public Builder hint(Hint hint) {
+            this.hintRequested = true;
+            this.hint = hint;
+            return this;
+        }
+        public Builder complete(long elapsedTime, int moveCount, int hintsUsed) {
+            this.complete = true;
+            this.elapsedTime = elapsedTime;
+            this.moveCount = moveCount;
+            this.hintsUsed = hintsUsed;
+            return this;
+        }
+        public Builder gameOver() {
+            this.gameOver = true;
+            return this;
+        }
+        public Builder error(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+        public ChangeSet build() {
+            return new ChangeSet(this);
+        }
+    }
+}
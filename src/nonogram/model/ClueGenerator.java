@@ -0,0 +1,163 @@
+package nonogram.model;
+import java.util.stream.IntStream;
+public class ClueGenerator {
+    private static final int BLOCK = 64;
+    private static final int PARALLEL_CELLS = 1 << 16;
+    private static final int[] EMPTY_LINE = {0};
+    private final int rows;
+    private final int cols;
+    private final long[][] rowBits;
+    private final long[][] columnBits;
+    private final int[][] rowClues;
+    private final int[][] columnClues;
+    private ClueGenerator(int rows, int cols, long[][] rowBits, long[][] columnBits, int[][] rowClues, int[][] columnClues) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowBits = rowBits;
+        this.columnBits = columnBits;
+        this.rowClues = rowClues;
+        this.columnClues = columnClues;
+    }
+    public static ClueGenerator generate(boolean[][] solution) {
+        int rows = solution.length;
+        int cols = rows == 0 ? 0 : solution[0].length;
+        return generate(packRows(solution, rows, cols), rows, cols);
+    }
+    public static ClueGenerator generate(long[][] rowBits, int rows, int cols) {
+        if (rowBits.length != rows) {
+            throw new IllegalArgumentException("Expected " + rows + " rows but got " + rowBits.length);
+        }
+        boolean parallel = isLarge(rows, cols);
+        long[][] columnBits = transpose(rowBits, rows, cols);
+        int[][] rowClues = new int[rows][];
+        int[][] columnClues = new int[cols][];
+        range(rows, parallel).forEach(row -> rowClues[row] = runs(rowBits[row], cols));
+        range(cols, parallel).forEach(col -> columnClues[col] = runs(columnBits[col], rows));
+        return new ClueGenerator(rows, cols, rowBits, columnBits, rowClues, columnClues);
+    }
+    public int getRows() {
+        return rows;
+    }
+    public int getCols() {
+        return cols;
+    }
+    public int[] getRowClues(int row) {
+        return rowClues[row];
+    }
+    public int[] getColumnClues(int col) {
+        return columnClues[col];
+    }
+    public long[] getRowBits(int row) {
+        return rowBits[row];
+    }
+    public long[] getColumnBits(int col) {
+        return columnBits[col];
+    }
+    static long[][] packRows(boolean[][] solution, int rows, int cols) {
+        long[][] rowBits = new long[rows][wordCount(cols)];
+        if (isLarge(rows, cols)) {
+            range(rows, true).forEach(row -> pack(solution[row], rowBits[row]));
+        } else {
+            for (int row = 0; row < rows; row++) {
+                pack(solution[row], rowBits[row]);
+            }
+        }
+        return rowBits;
+    }
+    static long[][] transpose(long[][] rowBits, int rows, int cols) {
+        long[][] columnBits = new long[cols][wordCount(rows)];
+        if (isLarge(rows, cols)) {
+            range(wordCount(cols), true).forEach(word -> transposeColumnWord(rowBits, columnBits, rows, cols, word));
+        } else {
+            for (int word = 0; word < wordCount(cols); word++) {
+                transposeColumnWord(rowBits, columnBits, rows, cols, word);
+            }
+        }
+        return columnBits;
+    }
+    static int[] runs(long[] words, int length) {
+        int count = 0;
+        long carry = 0;
+        for (int u = 0; u < words.length; u++) {
+            long word = maskedWord(words, u, length);
+            count += Long.bitCount(word & ~((word << 1) | carry));
+            carry = word >>> (BLOCK - 1);
+        }
+        if (count == 0) {
+            return EMPTY_LINE.clone();
+        }
+        int[] runs = new int[count];
+        int index = 0;
+        int start = 0;
+        boolean inRun = false;
+        carry = 0;
+        for (int u = 0; u < words.length; u++) {
+            long word = maskedWord(words, u, length);
+            long edges = word ^ ((word << 1) | carry);
+            carry = word >>> (BLOCK - 1);
+            while (edges != 0) {
+                int bit = u * BLOCK + Long.numberOfTrailingZeros(edges);
+                edges &= edges - 1;
+                if (inRun) {
+                    runs[index++] = bit - start;
+                } else {
+                    start = bit;
+                }
+                inRun = !inRun;
+            }
+        }
+        if (inRun) {
+            runs[index] = length - start;
+        }
+        return runs;
+    }
+    static void transpose64(long[] block) {
+        long mask = 0x00000000FFFFFFFFL;
+        for (int j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+            for (int k = 0; k < BLOCK; k = ((k | j) + 1) & ~j) {
+                long t = ((block[k] >>> j) ^ block[k | j]) & mask;
+                block[k] ^= t << j;
+                block[k | j] ^= t;
+            }
+        }
+    }
+    private static void transposeColumnWord(long[][] rowBits, long[][] columnBits, int rows, int cols, int word) {
+        long[] block = new long[BLOCK];
+        int colBase = word * BLOCK;
+        int colCount = Math.min(BLOCK, cols - colBase);
+        for (int rowBase = 0; rowBase < rows; rowBase += BLOCK) {
+            int rowCount = Math.min(BLOCK, rows - rowBase);
+            for (int i = 0; i < BLOCK; i++) {
+                block[i] = i < rowCount ? rowBits[rowBase + i][word] : 0L;
+            }
+            transpose64(block);
+            for (int j = 0; j < colCount; j++) {
+                columnBits[colBase + j][rowBase / BLOCK] = block[j];
+            }
+        }
+    }
+    private static void pack(boolean[] cells, long[] words) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i]) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+    private static long maskedWord(long[] words, int index, int length) {
+        long word = words[index];
+        if (index == words.length - 1 && length % BLOCK != 0) {
+            word &= -1L >>> -length;
+        }
+        return word;
+    }
+    static int wordCount(int bits) {
+        return (bits + BLOCK - 1) / BLOCK;
+    }
+    private static boolean isLarge(int rows, int cols) {
+        return (long) rows * cols >= PARALLEL_CELLS;
+    }
+    private static IntStream range(int count, boolean parallel) {
+        IntStream stream = IntStream.range(0, count);
+        return parallel ? stream.parallel() : stream;
+    }
+}
@@ -0,0 +1,56 @@
+package nonogram.model;
+public class DifficultyRating {
+    private static final String[] GRADE_NAMES = {"Trivial", "Easy", "Moderate", "Hard", "Fiendish"};
+    private static final double[] GRADE_LIMITS = {1.5, 2.5, 4.0, 15.0};
+    private final int lineSolves;
+    private final int passes;
+    private final int branches;
+    private final int maxDepth;
+    private final double score;
+    public DifficultyRating(int lineCount, int lineSolves, int branches, int maxDepth) {
+        if (lineCount <= 0) {
+            throw new IllegalArgumentException("Line count must be positive");
+        }
+        this.lineSolves = lineSolves;
+        this.passes = (lineSolves + lineCount - 1) / lineCount;
+        this.branches = branches;
+        this.maxDepth = maxDepth;
+        double value = (double) lineSolves / lineCount;
+        if (branches > 0) {
+            value += 5.0 + 2.0 * Math.log(1 + branches) / Math.log(2) + maxDepth;
+        }
+        this.score = Math.round(value * 100.0) / 100.0;
+    }
+    public int getLineSolves() {
+        return lineSolves;
+    }
+    public int getPasses() {
+        return passes;
+    }
+    public boolean usedSearch() {
+        return branches > 0;
+    }
+    public int getBranches() {
+        return branches;
+    }
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+    public double getScore() {
+        return score;
+    }
+    public int getGrade() {
+        int grade = 0;
+        while (grade < GRADE_LIMITS.length && score >= GRADE_LIMITS[grade]) {
+            grade++;
+        }
+        return grade + 1;
+    }
+    public String getGradeName() {
+        return GRADE_NAMES[getGrade() - 1];
+    }
+    @Override
+    public String toString() {
+        return getGradeName() + " (" + score + ")";
+    }
+}
@@ -1,17 +1,27 @@
 package nonogram.model;
-import nonogram.datastructures.MyLinkedList;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyArrayList;
+import nonogram.datastructures.MyBitSet;
 public class GameBoard {
     private int rows;
     private int cols;
     private Cell[][] cells;
-    private MyLinkedList<MyLinkedList<Integer>> rowClues;
-    private MyLinkedList<MyLinkedList<Integer>> columnClues;
+    private MyArrayList<IntArrayList> rowClueValues;
+    private MyArrayList<IntArrayList> columnClueValues;
+    private MyBitSet[] rowSolutions;
+    private MyBitSet[] columnSolutions;
+    private MyBitSet rowScratch;
+    private MyBitSet columnScratch;
     public GameBoard(boolean[][] solution) {
         this.rows = solution.length;
         this.cols = solution[0].length;
         this.cells = new Cell[rows][cols];
-        this.rowClues = new MyLinkedList<>();
-        this.columnClues = new MyLinkedList<>();
+        this.rowClueValues = new MyArrayList<>(rows);
+        this.columnClueValues = new MyArrayList<>(cols);
+        this.rowSolutions = new MyBitSet[rows];
+        this.columnSolutions = new MyBitSet[cols];
+        this.rowScratch = new MyBitSet(cols);
+        this.columnScratch = new MyBitSet(rows);
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
                 cells[row][col] = new Cell(row, col, solution[row][col]);
@@ -25,11 +35,11 @@ public class GameBoard {
         }
         return cells[row][col];
     }
-    public MyLinkedList<Integer> getRowClues(int rowIndex) {
-        return rowClues.get(rowIndex);
+    public IntArrayList getRowClueValues(int rowIndex) {
+        return rowClueValues.get(rowIndex);
     }
-    public MyLinkedList<Integer> getColumnClues(int colIndex) {
-        return columnClues.get(colIndex);
+    public IntArrayList getColumnClueValues(int colIndex) {
+        return columnClueValues.get(colIndex);
     }
     public boolean isPuzzleComplete() {
         for (int row = 0; row < rows; row++) {
@@ -58,15 +68,18 @@ public class GameBoard {
         return cols;
     }
     public void autoFillMarks() {
+        autoFillMarks(null);
+    }
+    public void autoFillMarks(IntArrayList changedCells) {
         for (int row = 0; row < rows; row++) {
-            autoFillRowMarks(row);
+            autoFillRowMarks(row, changedCells);
         }
         for (int col = 0; col < cols; col++) {
-            autoFillColumnMarks(col);
+            autoFillColumnMarks(col, changedCells);
         }
-        autoFillRemainingCells();
+        autoFillRemainingCells(changedCells);
     }
-    private void autoFillRemainingCells() {
+    private void autoFillRemainingCells(IntArrayList changedCells) {
         boolean allBlacksFilled = true;
         for (int row = 0; row < rows && allBlacksFilled; row++) {
             for (int col = 0; col < cols && allBlacksFilled; col++) {
@@ -79,137 +92,62 @@ public class GameBoard {
         if (allBlacksFilled) {
             for (int row = 0; row < rows; row++) {
                 for (int col = 0; col < cols; col++) {
-                    Cell cell = cells[row][col];
-                    if (cell.getCurrentState() == CellState.UNKNOWN) {
-                        cell.setState(CellState.MARKED);
-                    }
+                    markUnknown(row, col, changedCells);
                 }
             }
         }
     }
-    private void autoFillRowMarks(int row) {
-        MyLinkedList<Integer> clues = rowClues.get(row);
+    private void autoFillRowMarks(int row, IntArrayList changedCells) {
+        IntArrayList clues = rowClueValues.get(row);
         if (isRowCluesSatisfied(row, clues)) {
             for (int col = 0; col < cols; col++) {
-                if (cells[row][col].getCurrentState() == CellState.UNKNOWN) {
-                    cells[row][col].setState(CellState.MARKED);
-                }
+                markUnknown(row, col, changedCells);
             }
         }
     }
-    private void autoFillColumnMarks(int col) {
-        MyLinkedList<Integer> clues = columnClues.get(col);
+    private void autoFillColumnMarks(int col, IntArrayList changedCells) {
+        IntArrayList clues = columnClueValues.get(col);
         if (isColumnCluesSatisfied(col, clues)) {
             for (int row = 0; row < rows; row++) {
-                if (cells[row][col].getCurrentState() == CellState.UNKNOWN) {
-                    cells[row][col].setState(CellState.MARKED);
-                }
+                markUnknown(row, col, changedCells);
             }
         }
     }
-    private boolean isRowCluesSatisfied(int row, MyLinkedList<Integer> clues) {
-        for (int col = 0; col < cols; col++) {
-            if (cells[row][col].getCurrentState() == CellState.FILLED) {
-                if (!cells[row][col].getActualValue()) {
-                    return false; 
-                }
+    private void markUnknown(int row, int col, IntArrayList changedCells) {
+        if (cells[row][col].getCurrentState() == CellState.UNKNOWN) {
+            cells[row][col].setState(CellState.MARKED);
+            if (changedCells != null) {
+                changedCells.add(row * cols + col);
             }
         }
-        MyLinkedList<Integer> currentClues = new MyLinkedList<>();
-        int count = 0;
+    }
+    private boolean isRowCluesSatisfied(int row, IntArrayList clues) {
+        rowScratch.clear();
         for (int col = 0; col < cols; col++) {
             if (cells[row][col].getCurrentState() == CellState.FILLED) {
-                count++;
-            } else {
-                if (count > 0) {
-                    currentClues.add(count);
-                    count = 0;
-                }
+                rowScratch.set(col);
             }
         }
-        if (count > 0) {
-            currentClues.add(count);
-        }
-        return cluesMatch(currentClues, clues);
+        return rowScratch.isSubsetOf(rowSolutions[row]) && rowScratch.runsEqual(clues);
     }
-    private boolean isColumnCluesSatisfied(int col, MyLinkedList<Integer> clues) {
-        for (int row = 0; row < rows; row++) {
-            if (cells[row][col].getCurrentState() == CellState.FILLED) {
-                if (!cells[row][col].getActualValue()) {
-                    return false; 
-                }
-            }
-        }
-        MyLinkedList<Integer> currentClues = new MyLinkedList<>();
-        int count = 0;
+    private boolean isColumnCluesSatisfied(int col, IntArrayList clues) {
+        columnScratch.clear();
         for (int row = 0; row < rows; row++) {
             if (cells[row][col].getCurrentState() == CellState.FILLED) {
-                count++;
-            } else {
-                if (count > 0) {
-                    currentClues.add(count);
-                    count = 0;
-                }
+                columnScratch.set(row);
             }
         }
-        if (count > 0) {
-            currentClues.add(count);
-        }
-        return cluesMatch(currentClues, clues);
-    }
-    private boolean cluesMatch(MyLinkedList<Integer> current, MyLinkedList<Integer> target) {
-        if (current.size() != target.size()) {
-            return false;
-        }
-        for (int i = 0; i < current.size(); i++) {
-            if (!current.get(i).equals(target.get(i))) {
-                return false;
-            }
-        }
-        return true;
+        return columnScratch.isSubsetOf(columnSolutions[col]) && columnScratch.runsEqual(clues);
     }
     private void generateCluesFromSolution(boolean[][] solution) {
+        ClueGenerator generator = ClueGenerator.generate(solution);
         for (int row = 0; row < rows; row++) {
-            MyLinkedList<Integer> clues = new MyLinkedList<>();
-            int count = 0;
-            for (int col = 0; col < cols; col++) {
-                if (solution[row][col]) {
-                    count++;
-                } else {
-                    if (count > 0) {
-                        clues.add(count);
-                        count = 0;
-                    }
-                }
-            }
-            if (count > 0) {
-                clues.add(count);
-            }
-            if (clues.isEmpty()) {
-                clues.add(0);
-            }
-            rowClues.add(clues);
+            rowSolutions[row] = MyBitSet.valueOf(generator.getRowBits(row), cols);
+            rowClueValues.add(IntArrayList.of(generator.getRowClues(row)));
         }
         for (int col = 0; col < cols; col++) {
-            MyLinkedList<Integer> clues = new MyLinkedList<>();
-            int count = 0;
-            for (int row = 0; row < rows; row++) {
-                if (solution[row][col]) {
-                    count++;
-                } else {
-                    if (count > 0) {
-                        clues.add(count);
-                        count = 0;
-                    }
-                }
-            }
-            if (count > 0) {
-                clues.add(count);
-            }
-            if (clues.isEmpty()) {
-                clues.add(0);
-            }
-            columnClues.add(clues);
+            columnSolutions[col] = MyBitSet.valueOf(generator.getColumnBits(col), rows);
+            columnClueValues.add(IntArrayList.of(generator.getColumnClues(col)));
         }
     }
 }
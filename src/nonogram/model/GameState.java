@@ -1,18 +1,22 @@
 package nonogram.model;
-import nonogram.datastructures.MyStack;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.LongArrayStack;
+import nonogram.datastructures.MyArrayList;
 public class GameState {
+    private static final long LINKED = 1L << 63;
     private final GameBoard board;
-    private final MyStack<Move> moveHistory;
-    private final MyStack<Move> redoStack;
+    private final LongArrayStack moveHistory;
+    private final LongArrayStack redoStack;
     private boolean isComplete;
     private long startTime;
     private long endTime;
     private int hintsUsed;
     private int lives;
+    private int moveCount;
     public GameState(GameBoard board) {
         this.board = board;
-        this.moveHistory = new MyStack<>();
-        this.redoStack = new MyStack<>();
+        this.moveHistory = new LongArrayStack();
+        this.redoStack = new LongArrayStack();
         this.isComplete = false;
         this.startTime = System.currentTimeMillis();
         this.endTime = 0;
@@ -27,12 +31,33 @@ public class GameState {
         CellState oldState = cell.getCurrentState();
         if (oldState != newState) {
             Move move = new Move(position, oldState, newState);
-            moveHistory.push(move);
+            moveHistory.push(move.pack());
             redoStack.clear(); 
+            moveCount++;
             cell.setCurrentState(newState);
             checkCompletion();
         }
     }
+    public int makeMoves(MyArrayList<CellPosition> positions, CellState newState) {
+        int applied = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            CellPosition position = positions.get(i);
+            Cell cell = board.getCell(position.getRow(), position.getCol());
+            CellState oldState = cell.getCurrentState();
+            if (oldState != newState) {
+                long packed = new Move(position, oldState, newState).pack();
+                moveHistory.push(applied > 0 ? packed | LINKED : packed);
+                cell.setCurrentState(newState);
+                applied++;
+            }
+        }
+        if (applied > 0) {
+            redoStack.clear();
+            moveCount++;
+            checkCompletion();
+        }
+        return applied;
+    }
     public boolean canUndo() {
         return !moveHistory.isEmpty();
     }
@@ -40,11 +65,20 @@ public class GameState {
         return !redoStack.isEmpty();
     }
     public void undo() {
+        undo(null);
+    }
+    public void undo(IntArrayList changedCells) {
         if (canUndo()) {
-            Move move = moveHistory.pop();
-            redoStack.push(move);
-            Cell cell = board.getCell(move.getPosition().getRow(), move.getPosition().getCol());
-            cell.setCurrentState(move.getOldState());
+            long packed;
+            do {
+                packed = moveHistory.pop();
+                redoStack.push(packed);
+                Move move = Move.unpack(packed & ~LINKED);
+                Cell cell = board.getCell(move.getPosition().getRow(), move.getPosition().getCol());
+                cell.setCurrentState(move.getOldState());
+                addChangedCell(changedCells, move.getPosition());
+            } while ((packed & LINKED) != 0 && canUndo());
+            moveCount--;
             if (isComplete) {
                 isComplete = false;
                 endTime = 0;
@@ -52,11 +86,19 @@ public class GameState {
         }
     }
     public void redo() {
+        redo(null);
+    }
+    public void redo(IntArrayList changedCells) {
         if (canRedo()) {
-            Move move = redoStack.pop();
-            moveHistory.push(move);
-            Cell cell = board.getCell(move.getPosition().getRow(), move.getPosition().getCol());
-            cell.setCurrentState(move.getNewState());
+            do {
+                long packed = redoStack.pop();
+                moveHistory.push(packed);
+                Move move = Move.unpack(packed & ~LINKED);
+                Cell cell = board.getCell(move.getPosition().getRow(), move.getPosition().getCol());
+                cell.setCurrentState(move.getNewState());
+                addChangedCell(changedCells, move.getPosition());
+            } while (canRedo() && (redoStack.peek() & LINKED) != 0);
+            moveCount++;
             checkCompletion();
         }
     }
@@ -70,7 +112,7 @@ public class GameState {
         return System.currentTimeMillis() - startTime;
     }
     public int getMoveCount() {
-        return moveHistory.size();
+        return moveCount;
     }
     public int getHintsUsed() {
         return hintsUsed;
@@ -89,6 +131,11 @@ public class GameState {
     public boolean hasLives() {
         return lives > 0;
     }
+    private void addChangedCell(IntArrayList changedCells, CellPosition position) {
+        if (changedCells != null) {
+            changedCells.add(position.getRow() * board.getCols() + position.getCol());
+        }
+    }
     private void checkCompletion() {
         if (board.isSolved()) {
             isComplete = true;
@@ -96,8 +143,12 @@ public class GameState {
         }
     }
     public void reset() {
+        reset(null);
+    }
+    public void reset(IntArrayList changedCells) {
         moveHistory.clear();
         redoStack.clear();
+        moveCount = 0;
         isComplete = false;
         startTime = System.currentTimeMillis();
         endTime = 0;
@@ -105,7 +156,11 @@ public class GameState {
         lives = 3;
         for (int row = 0; row < board.getRows(); row++) {
             for (int col = 0; col < board.getCols(); col++) {
-                board.getCell(row, col).setCurrentState(CellState.UNKNOWN);
+                Cell cell = board.getCell(row, col);
+                if (changedCells != null && cell.getCurrentState() != CellState.UNKNOWN) {
+                    changedCells.add(row * board.getCols() + col);
+                }
+                cell.setCurrentState(CellState.UNKNOWN);
             }
         }
     }
@@ -4,6 +4,7 @@ public class Hint {
     private final HintType type;
     private final String message;
     private final MyArrayList<CellPosition> affectedCells;
+    private final MyArrayList<CellState> expectedStates;
     private final boolean isRowHint;
     private final int lineIndex;
     public Hint(HintType type, String message, int lineIndex, boolean isRowHint) {
@@ -12,6 +13,7 @@ public class Hint {
         this.lineIndex = lineIndex;
         this.isRowHint = isRowHint;
         this.affectedCells = new MyArrayList<>();
+        this.expectedStates = new MyArrayList<>();
     }
     public HintType getType() {
         return type;
@@ -23,7 +25,14 @@ public class Hint {
         return affectedCells;
     }
     public void addAffectedCell(CellPosition position) {
+        addAffectedCell(position, null);
+    }
+    public void addAffectedCell(CellPosition position, CellState expectedState) {
         affectedCells.add(position);
+        expectedStates.add(expectedState);
+    }
+    public CellState getExpectedState(int index) {
+        return expectedStates.get(index);
     }
     public boolean isRowHint() {
         return isRowHint;
@@ -22,6 +22,18 @@ public class Move {
     public long getTimestamp() {
         return timestamp;
     }
+    public long pack() {
+        return ((long) position.getRow() << 40)
+                | ((long) (position.getCol() & 0xFFFFFF) << 16)
+                | (oldState.ordinal() << 8)
+                | newState.ordinal();
+    }
+    public static Move unpack(long packed) {
+        int row = (int) (packed >>> 40);
+        int col = (int) ((packed >>> 16) & 0xFFFFFF);
+        CellState[] states = CellState.values();
+        return new Move(new CellPosition(row, col), states[(int) ((packed >>> 8) & 0xFF)], states[(int) (packed & 0xFF)]);
+    }
     public Move getReverse() {
         return new Move(position, newState, oldState);
     }
@@ -2,11 +2,27 @@ package nonogram.model;
 public class Puzzle {
     private String puzzleId;
     private String name;
-    private boolean[][] solution;
+    private volatile boolean[][] solution;
+    private int[][] rowClues;
+    private int[][] columnClues;
+    private volatile DifficultyRating rating;
     public Puzzle(String puzzleId, String name, boolean[][] solution) {
+        this(puzzleId, name, solution, null);
+    }
+    public Puzzle(String puzzleId, String name, boolean[][] solution, DifficultyRating rating) {
         this.puzzleId = puzzleId;
         this.name = name;
         this.solution = copyArray(solution);
+        this.rating = rating;
+    }
+    public Puzzle(String puzzleId, String name, int[][] rowClues, int[][] columnClues) {
+        if (rowClues.length == 0 || columnClues.length == 0) {
+            throw new IllegalArgumentException("Puzzle must have at least one row and one column");
+        }
+        this.puzzleId = puzzleId;
+        this.name = name;
+        this.rowClues = copyClues(rowClues);
+        this.columnClues = copyClues(columnClues);
     }
     public String getPuzzleId() {
         return puzzleId;
@@ -15,10 +31,54 @@ public class Puzzle {
         return name;
     }
     public boolean[][] getSolution() {
-        return copyArray(solution);
+        boolean[][] current = solution;
+        if (current == null) {
+            throw new IllegalStateException("Puzzle " + puzzleId + " has not been solved yet");
+        }
+        return copyArray(current);
+    }
+    public boolean hasSolution() {
+        return solution != null;
+    }
+    public void setSolution(boolean[][] solution) {
+        if (solution.length != getRows() || solution[0].length != getCols()) {
+            throw new IllegalArgumentException("Solution size does not match puzzle " + puzzleId);
+        }
+        this.solution = copyArray(solution);
+    }
+    public boolean isClueOnly() {
+        return rowClues != null;
+    }
+    public int[][] getRowClues() {
+        return rowClues == null ? null : copyClues(rowClues);
+    }
+    public int[][] getColumnClues() {
+        return columnClues == null ? null : copyClues(columnClues);
+    }
+    public int getRows() {
+        return rowClues != null ? rowClues.length : solution.length;
+    }
+    public int getCols() {
+        return columnClues != null ? columnClues.length : solution[0].length;
+    }
+    public DifficultyRating getRating() {
+        return rating;
+    }
+    public void setRating(DifficultyRating rating) {
+        this.rating = rating;
+    }
+    public boolean hasRating() {
+        return rating != null;
     }
     public int getSize() {
-        return solution.length;
+        return getRows();
+    }
+    private static int[][] copyClues(int[][] original) {
+        int[][] copy = new int[original.length][];
+        for (int i = 0; i < original.length; i++) {
+            copy[i] = original[i].clone();
+        }
+        return copy;
     }
     private boolean[][] copyArray(boolean[][] original) {
         boolean[][] copy = new boolean[original.length][original[0].length];
@@ -0,0 +1,106 @@
+package nonogram.model;
+public final class PuzzleFingerprint {
+    private static final long SEED_HIGH = 0x9E3779B97F4A7C15L;
+    private static final long SEED_LOW = 0xC2B2AE3D27D4EB4FL;
+    private static final long MULTIPLIER_HIGH = 0xFF51AFD7ED558CCDL;
+    private static final long MULTIPLIER_LOW = 0xC4CEB9FE1A85EC53L;
+    private final long high;
+    private final long low;
+    public PuzzleFingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+    public static PuzzleFingerprint of(Puzzle puzzle, boolean includeInversion) {
+        return of(puzzle.getSolution(), includeInversion);
+    }
+    public static PuzzleFingerprint of(boolean[][] solution, boolean includeInversion) {
+        int rows = solution.length;
+        int cols = solution[0].length;
+        long[][] rowBits = ClueGenerator.packRows(solution, rows, cols);
+        long[][] columnBits = ClueGenerator.transpose(rowBits, rows, cols);
+        long[] reversed = new long[ClueGenerator.wordCount(Math.max(rows, cols))];
+        long bestHigh = 0;
+        long bestLow = 0;
+        boolean found = false;
+        for (int variant = 0; variant < (includeInversion ? 16 : 8); variant++) {
+            boolean transposed = (variant & 1) != 0;
+            boolean reverseLines = (variant & 2) != 0;
+            boolean reverseBits = (variant & 4) != 0;
+            boolean inverted = (variant & 8) != 0;
+            long[][] lines = transposed ? columnBits : rowBits;
+            int length = transposed ? rows : cols;
+            long high = mix(SEED_HIGH ^ lines.length) ^ length;
+            long low = mix(SEED_LOW ^ length) ^ lines.length;
+            for (int i = 0; i < lines.length; i++) {
+                long[] line = lines[reverseLines ? lines.length - 1 - i : i];
+                int words = ClueGenerator.wordCount(length);
+                if (reverseBits) {
+                    reverse(line, length, reversed);
+                    line = reversed;
+                }
+                for (int w = 0; w < words; w++) {
+                    long word = line[w];
+                    if (inverted) {
+                        word = ~word;
+                    }
+                    if (w == words - 1 && length % 64 != 0) {
+                        word &= -1L >>> -length;
+                    }
+                    high = (high ^ mix(word)) * MULTIPLIER_HIGH;
+                    low = Long.rotateLeft(low + word * MULTIPLIER_LOW, 31) * SEED_HIGH;
+                }
+            }
+            high = mix(high ^ low);
+            low = mix(low + high);
+            if (!found || Long.compareUnsigned(high, bestHigh) < 0
+                    || (high == bestHigh && Long.compareUnsigned(low, bestLow) < 0)) {
+                bestHigh = high;
+                bestLow = low;
+                found = true;
+            }
+        }
+        return new PuzzleFingerprint(bestHigh, bestLow);
+    }
+    public long getHigh() {
+        return high;
+    }
+    public long getLow() {
+        return low;
+    }
+    static void reverse(long[] line, int length, long[] out) {
+        int words = ClueGenerator.wordCount(length);
+        int shift = words * 64 - length;
+        for (int w = 0; w < words; w++) {
+            out[w] = Long.reverse(line[words - 1 - w]);
+        }
+        if (shift > 0) {
+            for (int w = 0; w < words; w++) {
+                long next = w + 1 < words ? out[w + 1] : 0L;
+                out[w] = (out[w] >>> shift) | (next << (64 - shift));
+            }
+        }
+    }
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= MULTIPLIER_HIGH;
+        value ^= value >>> 33;
+        value *= MULTIPLIER_LOW;
+        value ^= value >>> 33;
+        return value;
+    }
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PuzzleFingerprint that = (PuzzleFingerprint) obj;
+        return high == that.high && low == that.low;
+    }
+    @Override
+    public int hashCode() {
+        return (int) (high ^ (high >>> 32));
+    }
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
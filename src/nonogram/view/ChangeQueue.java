@@ -0,0 +1,43 @@
+package nonogram.view;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import nonogram.datastructures.MpscQueue;
+import nonogram.model.ChangeSet;
+public class ChangeQueue {
+    private final MpscQueue<ChangeSet> queue;
+    private final AtomicReference<ChangeSet> overflow;
+    private final AtomicInteger merged;
+    public ChangeQueue(int capacity) {
+        this.queue = new MpscQueue<>(capacity);
+        this.overflow = new AtomicReference<>();
+        this.merged = new AtomicInteger();
+    }
+    public boolean post(ChangeSet changes) {
+        if (overflow.get() == null && queue.offer(changes)) {
+            return true;
+        }
+        if (overflow.getAndAccumulate(changes, (older, newer) -> older == null ? newer : ChangeSet.merge(older, newer)) != null) {
+            merged.incrementAndGet();
+        }
+        return false;
+    }
+    public int drain(Consumer<ChangeSet> consumer) {
+        ChangeSet pendingOverflow = overflow.get();
+        int count = queue.drain(consumer, queue.capacity());
+        if (pendingOverflow != null && queue.isEmpty()) {
+            consumer.accept(overflow.getAndSet(null));
+            count++;
+        }
+        return count;
+    }
+    public boolean isEmpty() {
+        return queue.isEmpty() && overflow.get() == null;
+    }
+    public int capacity() {
+        return queue.capacity();
+    }
+    public int getMergedCount() {
+        return merged.get();
+    }
+}
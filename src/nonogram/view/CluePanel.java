@@ -1,63 +1,122 @@
 package nonogram.view;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
 import nonogram.model.GameBoard;
-import nonogram.datastructures.MyLinkedList;
+import nonogram.datastructures.IntArrayList;
 public class CluePanel extends JPanel {
+    private static final int MIN_TEXT_CELL_SIZE = 10;
     private GameBoard board;
     private boolean isRowClues;
     private int cellSize;
+    private Font font;
+    private GlyphVector[] layouts;
+    private int[] layoutX;
+    private int[] layoutY;
+    private int[] lineStart;
+    private int layoutWidth;
+    private FontRenderContext layoutContext;
     public CluePanel(GameBoard board, boolean isRowClues, int cellSize) {
         this.board = board;
         this.isRowClues = isRowClues;
+        applyCellSize(cellSize);
+        setBackground(Color.WHITE);
+    }
+    public void setBoard(GameBoard board, int cellSize) {
+        this.board = board;
+        applyCellSize(cellSize);
+        invalidateLayouts();
+    }
+    public void setCellSize(int cellSize) {
+        if (cellSize != this.cellSize) {
+            applyCellSize(cellSize);
+            invalidateLayouts();
+            revalidate();
+        }
+    }
+    private void applyCellSize(int cellSize) {
         this.cellSize = cellSize;
+        this.font = new Font("Arial", Font.BOLD, Math.max(cellSize / 3, 12));
+        int depth = Math.max(cellSize, MIN_TEXT_CELL_SIZE) * 2;
         if (isRowClues) {
-            setPreferredSize(new Dimension(cellSize * 2, board.getRows() * cellSize));
+            setPreferredSize(new Dimension(depth, board.getRows() * cellSize));
         } else {
-            setPreferredSize(new Dimension(board.getCols() * cellSize, cellSize * 2));
+            setPreferredSize(new Dimension(board.getCols() * cellSize, depth));
         }
-        setBackground(Color.WHITE);
+    }
+    public void invalidateLayouts() {
+        layouts = null;
+        repaint();
     }
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        g.setColor(Color.BLACK);
-        int fontSize = Math.max(cellSize / 3, 12);
-        g.setFont(new Font("Arial", Font.BOLD, fontSize));
-        if (isRowClues) {
-            drawRowClues(g);
-        } else {
-            drawColumnClues(g);
+        if (cellSize < MIN_TEXT_CELL_SIZE) {
+            return;
         }
-    }
-    private void drawRowClues(Graphics g) {
-        int startY = 0; 
-        for (int row = 0; row < board.getRows(); row++) {
-            MyLinkedList<Integer> clues = board.getRowClues(row);
-            StringBuilder clueText = new StringBuilder();
-            for (int i = 0; i < clues.size(); i++) {
-                if (i > 0) clueText.append(" ");
-                clueText.append(clues.get(i));
-            }
-            int y = startY + row * cellSize + cellSize / 2 + (cellSize / 8);
-            FontMetrics fm = g.getFontMetrics();
-            int textWidth = fm.stringWidth(clueText.toString());
-            int x = getWidth() - textWidth - (cellSize / 8);
-            g.drawString(clueText.toString(), x, y);
+        Graphics2D g2d = (Graphics2D) g;
+        if (layouts == null || layoutWidth != getWidth() || !g2d.getFontRenderContext().equals(layoutContext)) {
+            buildLayouts(g2d);
+        }
+        Rectangle clip = g.getClipBounds();
+        int lines = lineStart.length - 1;
+        int first = 0;
+        int last = lines - 1;
+        if (clip != null) {
+            int low = isRowClues ? clip.y : clip.x;
+            int high = low + (isRowClues ? clip.height : clip.width);
+            first = Math.max(0, low / cellSize);
+            last = Math.min(lines - 1, high / cellSize);
+        }
+        if (first > last) {
+            return;
+        }
+        g2d.setColor(Color.BLACK);
+        for (int i = lineStart[first]; i < lineStart[last + 1]; i++) {
+            g2d.drawGlyphVector(layouts[i], layoutX[i], layoutY[i]);
         }
     }
-    private void drawColumnClues(Graphics g) {
-        for (int col = 0; col < board.getCols(); col++) {
-            MyLinkedList<Integer> clues = board.getColumnClues(col);
-            int x = col * cellSize + cellSize / 2;
+    private void buildLayouts(Graphics2D g2d) {
+        int lines = isRowClues ? board.getRows() : board.getCols();
+        lineStart = new int[lines + 1];
+        for (int line = 0; line < lines; line++) {
+            lineStart[line + 1] = lineStart[line] + (isRowClues ? 1 : board.getColumnClueValues(line).size());
+        }
+        int count = lineStart[lines];
+        layouts = new GlyphVector[count];
+        layoutX = new int[count];
+        layoutY = new int[count];
+        layoutWidth = getWidth();
+        layoutContext = g2d.getFontRenderContext();
+        if (isRowClues) {
+            for (int row = 0; row < lines; row++) {
+                IntArrayList clues = board.getRowClueValues(row);
+                StringBuilder clueText = new StringBuilder();
+                for (int i = 0; i < clues.size(); i++) {
+                    if (i > 0) clueText.append(" ");
+                    clueText.append(clues.get(i));
+                }
+                layouts[row] = font.createGlyphVector(layoutContext, clueText.toString());
+                layoutX[row] = layoutWidth - textWidth(layouts[row]) - (cellSize / 8);
+                layoutY[row] = row * cellSize + cellSize / 2 + (cellSize / 8);
+            }
+        } else {
             int y = Math.max(cellSize / 4, 15);
             int lineSpacing = Math.max(cellSize / 3, 18);
-            for (int i = 0; i < clues.size(); i++) {
-                String clueStr = clues.get(i).toString();
-                FontMetrics fm = g.getFontMetrics();
-                int textWidth = fm.stringWidth(clueStr);
-                g.drawString(clueStr, x - textWidth / 2, y + i * lineSpacing);
+            for (int col = 0; col < lines; col++) {
+                IntArrayList clues = board.getColumnClueValues(col);
+                int x = col * cellSize + cellSize / 2;
+                for (int i = 0; i < clues.size(); i++) {
+                    int index = lineStart[col] + i;
+                    layouts[index] = font.createGlyphVector(layoutContext, Integer.toString(clues.get(i)));
+                    layoutX[index] = x - textWidth(layouts[index]) / 2;
+                    layoutY[index] = y + i * lineSpacing;
+                }
             }
         }
     }
+    private static int textWidth(GlyphVector glyphs) {
+        return (int) Math.round(glyphs.getLogicalBounds().getWidth());
+    }
 }
@@ -2,21 +2,28 @@ package nonogram.view;
 import javax.swing.*;
 import java.awt.*;
 import nonogram.controller.GameController;
+import nonogram.model.ChangeSet;
 import nonogram.model.GameBoard;
 public class GamePanel extends JPanel {
+    private static final double ZOOM_STEP = 1.25;
     private GridPanel gridPanel;
+    private JScrollPane scrollPane;
     private CluePanel rowCluePanel;
     private CluePanel columnCluePanel;
     private GameBoard board;
     private String puzzleName;
     private JButton xButton;
+    private JLabel titleLabel;
     private JLabel livesLabel;
     public GamePanel(GameBoard board, GameController controller, String puzzleName) {
+        this(board, controller, puzzleName, new RenderScheduler());
+    }
+    public GamePanel(GameBoard board, GameController controller, String puzzleName, RenderScheduler scheduler) {
         this.board = board;
         this.puzzleName = puzzleName;
         setLayout(new BorderLayout());
         JPanel topPanel = new JPanel(new BorderLayout());
-        JLabel titleLabel = new JLabel(puzzleName, JLabel.CENTER);
+        titleLabel = new JLabel(puzzleName, JLabel.CENTER);
         titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
         titleLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         livesLabel = new JLabel("Lives: 3", JLabel.RIGHT);
@@ -25,31 +32,34 @@ public class GamePanel extends JPanel {
         topPanel.add(titleLabel, BorderLayout.CENTER);
         topPanel.add(livesLabel, BorderLayout.EAST);
         add(topPanel, BorderLayout.NORTH);
-        gridPanel = new GridPanel(board, controller);
+        gridPanel = new GridPanel(board, controller, scheduler);
         int cellSize = gridPanel.getCellSize();
         rowCluePanel = new CluePanel(board, true, cellSize);
         columnCluePanel = new CluePanel(board, false, cellSize);
         xButton = new JButton("X");
-        int buttonSize = Math.max(cellSize - 5, 25);
-        xButton.setPreferredSize(new Dimension(buttonSize, buttonSize));
+        resizeXButton(cellSize);
         xButton.setFont(new Font("Arial", Font.BOLD, 12));
         xButton.setMargin(new Insets(0, 0, 0, 0));
         xButton.addActionListener(e -> controller.toggleXMode());
-        JPanel mainGamePanel = new JPanel(new BorderLayout());
-        mainGamePanel.setBackground(Color.WHITE);
-        JPanel gridAndColumnPanel = new JPanel(new BorderLayout());
-        gridAndColumnPanel.setBackground(Color.WHITE);
-        gridAndColumnPanel.add(gridPanel, BorderLayout.CENTER);
-        gridAndColumnPanel.add(columnCluePanel, BorderLayout.SOUTH);
-        JPanel leftPanel = new JPanel(new BorderLayout());
-        leftPanel.setBackground(Color.WHITE);
         JPanel xButtonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 2, 0));
         xButtonPanel.setBackground(Color.WHITE);
         xButtonPanel.add(xButton);
-        leftPanel.add(xButtonPanel, BorderLayout.WEST);
-        leftPanel.add(rowCluePanel, BorderLayout.CENTER);
-        mainGamePanel.add(leftPanel, BorderLayout.WEST);
-        mainGamePanel.add(gridAndColumnPanel, BorderLayout.CENTER);
+        scrollPane = new JScrollPane(gridPanel);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.setRowHeaderView(rowCluePanel);
+        scrollPane.setColumnHeaderView(columnCluePanel);
+        scrollPane.setCorner(JScrollPane.UPPER_LEFT_CORNER, xButtonPanel);
+        scrollPane.getViewport().setBackground(Color.WHITE);
+        gridPanel.addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                zoom(e.getWheelRotation() < 0 ? ZOOM_STEP : 1.0 / ZOOM_STEP, e.getPoint());
+            } else {
+                scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(gridPanel, e, scrollPane));
+            }
+        });
+        JPanel mainGamePanel = new JPanel(new BorderLayout());
+        mainGamePanel.setBackground(Color.WHITE);
+        mainGamePanel.add(scrollPane, BorderLayout.CENTER);
         JPanel centerWrapper = new JPanel(new GridBagLayout());
         centerWrapper.setBackground(Color.WHITE);
         GridBagConstraints gbc = new GridBagConstraints();
@@ -63,6 +73,24 @@ public class GamePanel extends JPanel {
     public GameBoard getBoard() {
         return board;
     }
+    public void setBoard(GameBoard board, String puzzleName) {
+        this.board = board;
+        this.puzzleName = puzzleName;
+        titleLabel.setText(puzzleName);
+        updateLivesDisplay(3);
+        gridPanel.setBoard(board);
+        int cellSize = gridPanel.getCellSize();
+        rowCluePanel.setBoard(board, cellSize);
+        columnCluePanel.setBoard(board, cellSize);
+        resizeXButton(cellSize);
+        scrollPane.getViewport().setViewPosition(new Point(0, 0));
+        revalidate();
+        repaint();
+    }
+    private void resizeXButton(int cellSize) {
+        int buttonSize = Math.max(cellSize - 5, 25);
+        xButton.setPreferredSize(new Dimension(buttonSize, buttonSize));
+    }
     public void updateXButton(boolean xMode) {
         if (xMode) {
             xButton.setBackground(Color.LIGHT_GRAY);
@@ -72,8 +100,53 @@ public class GamePanel extends JPanel {
             xButton.setText("X");
         }
     }
-    public void showWrongMove(int row, int col) {
-        gridPanel.showWrongMove(row, col);
+    public void zoomIn() {
+        zoom(ZOOM_STEP, null);
+    }
+    public void zoomOut() {
+        zoom(1.0 / ZOOM_STEP, null);
+    }
+    public void zoom(double factor, Point anchor) {
+        int oldSize = gridPanel.getCellSize();
+        int newSize = (int) Math.round(oldSize * factor);
+        if (newSize == oldSize) {
+            newSize += factor > 1.0 ? 1 : -1;
+        }
+        JViewport viewport = scrollPane.getViewport();
+        Point position = viewport.getViewPosition();
+        if (anchor == null) {
+            anchor = new Point(position.x + viewport.getExtentSize().width / 2, position.y + viewport.getExtentSize().height / 2);
+        }
+        gridPanel.setCellSize(newSize);
+        newSize = gridPanel.getCellSize();
+        if (newSize == oldSize) {
+            return;
+        }
+        rowCluePanel.setCellSize(newSize);
+        columnCluePanel.setCellSize(newSize);
+        scrollPane.validate();
+        Dimension view = gridPanel.getPreferredSize();
+        Dimension extent = viewport.getExtentSize();
+        int x = (int) ((long) anchor.x * newSize / oldSize) - (anchor.x - position.x);
+        int y = (int) ((long) anchor.y * newSize / oldSize) - (anchor.y - position.y);
+        x = Math.max(0, Math.min(x, view.width - extent.width));
+        y = Math.max(0, Math.min(y, view.height - extent.height));
+        viewport.setViewPosition(new Point(x, y));
+    }
+    public void applyChanges(ChangeSet changes) {
+        for (int i = 0; i < changes.getCellCount(); i++) {
+            gridPanel.setCellState(changes.getCellIndex(i), changes.getCellState(i));
+        }
+        gridPanel.clearStroke();
+        gridPanel.setXMode(changes.isXMode());
+        if (changes.isHeatmapChanged()) {
+            gridPanel.setHeatmap(changes.getHeatmap());
+        }
+        updateXButton(changes.isXMode());
+        updateLivesDisplay(changes.getLives());
+        if (changes.hasWrongMove()) {
+            gridPanel.showWrongMove(changes.getWrongRow(), changes.getWrongCol());
+        }
     }
     public void updateLivesDisplay(int lives) {
         livesLabel.setText("Lives: " + lives);
@@ -3,99 +3,422 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
 import nonogram.controller.GameController;
 import nonogram.model.GameBoard;
-import nonogram.model.Cell;
 import nonogram.model.CellState;
-public class GridPanel extends JPanel {
+public class GridPanel extends JPanel implements Scrollable {
+    public static final int MIN_CELL_SIZE = 1;
+    public static final int MAX_CELL_SIZE = 80;
+    private static final int DETAIL_CELL_SIZE = 6;
+    private static final long WRONG_MOVE_NANOS = 1000000000L;
     private GameBoard board;
     private GameController controller;
+    private final RenderScheduler scheduler;
     private int cellSize;
+    private final Dimension maxViewportSize;
     private int wrongRow = -1;
     private int wrongCol = -1;
+    private long wrongDeadline;
+    private boolean flashRunning;
+    private double[] heatmap;
+    private CellState[] displayStates;
+    private boolean xMode;
+    private boolean stroking;
+    private boolean strokePending;
+    private boolean strokeVertical;
+    private int strokeStartRow;
+    private int strokeStartCol;
+    private int strokeEndRow;
+    private int strokeEndCol;
+    private CellState strokeFrom;
+    private CellState strokeState;
+    private BufferedImage gridLayer;
+    private BufferedImage filledTile;
+    private BufferedImage markedTile;
+    private BufferedImage wrongTile;
+    private BufferedImage detailImage;
+    private int[] detailPixels;
     public GridPanel(GameBoard board, GameController controller) {
+        this(board, controller, new RenderScheduler());
+    }
+    public GridPanel(GameBoard board, GameController controller, RenderScheduler scheduler) {
         this.board = board;
         this.controller = controller;
+        this.scheduler = scheduler;
         Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
         int maxWidth = (int)(screenSize.width * 0.6); 
         int maxHeight = (int)(screenSize.height * 0.7); 
-        int cellSizeByWidth = maxWidth / board.getCols();
-        int cellSizeByHeight = maxHeight / board.getRows();
-        this.cellSize = Math.min(cellSizeByWidth, cellSizeByHeight);
-        this.cellSize = Math.max(this.cellSize, 30); 
-        int width = board.getCols() * cellSize;
-        int height = board.getRows() * cellSize;
-        setPreferredSize(new Dimension(width, height));
+        this.maxViewportSize = new Dimension(maxWidth, maxHeight);
+        this.cellSize = fitCellSize(board);
+        this.displayStates = newDisplayStates(board);
+        setPreferredSize(new Dimension(board.getCols() * cellSize, board.getRows() * cellSize));
         setBackground(Color.WHITE);
         setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-        addMouseListener(new MouseAdapter() {
+        MouseAdapter strokeListener = new MouseAdapter() {
             @Override
-            public void mouseClicked(MouseEvent e) {
+            public void mousePressed(MouseEvent e) {
                 int row = e.getY() / cellSize;
                 int col = e.getX() / cellSize;
-                if (row >= 0 && row < board.getRows() && col >= 0 && col < board.getCols()) {
-                    controller.handleCellClick(row, col);
+                if (row >= 0 && row < GridPanel.this.board.getRows() && col >= 0 && col < GridPanel.this.board.getCols()) {
+                    startStroke(row, col);
+                }
+            }
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (stroking) {
+                    extendStroke(e.getY() / cellSize, e.getX() / cellSize);
+                    scrollRectToVisible(new Rectangle(e.getX(), e.getY(), 1, 1));
                 }
             }
-        });
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (stroking) {
+                    finishStroke();
+                }
+            }
+        };
+        addMouseListener(strokeListener);
+        addMouseMotionListener(strokeListener);
+    }
+    private void startStroke(int row, int col) {
+        if (strokePending) {
+            repaintStroke();
+        }
+        stroking = true;
+        strokePending = false;
+        strokeStartRow = row;
+        strokeStartCol = col;
+        strokeEndRow = row;
+        strokeEndCol = col;
+        strokeFrom = displayStates[row * board.getCols() + col];
+        if (strokeFrom.isAnswered()) {
+            strokeState = strokeFrom;
+        } else {
+            strokeState = xMode ? CellState.MARKED : strokeFrom.getNextState();
+        }
+        repaintCell(row, col);
+    }
+    private void extendStroke(int row, int col) {
+        row = Math.max(0, Math.min(board.getRows() - 1, row));
+        col = Math.max(0, Math.min(board.getCols() - 1, col));
+        if (strokeEndRow == strokeStartRow && strokeEndCol == strokeStartCol) {
+            strokeVertical = Math.abs(row - strokeStartRow) > Math.abs(col - strokeStartCol);
+        }
+        if (strokeVertical) {
+            col = strokeStartCol;
+        } else {
+            row = strokeStartRow;
+        }
+        if (row == strokeEndRow && col == strokeEndCol) {
+            return;
+        }
+        repaintStroke();
+        strokeEndRow = row;
+        strokeEndCol = col;
+        repaintStroke();
+    }
+    private void finishStroke() {
+        stroking = false;
+        if (strokeEndRow == strokeStartRow && strokeEndCol == strokeStartCol) {
+            repaintCell(strokeStartRow, strokeStartCol);
+            controller.handleCellClick(strokeStartRow, strokeStartCol);
+        } else {
+            strokePending = true;
+            controller.handleStroke(strokeStartRow, strokeStartCol, strokeEndRow, strokeEndCol);
+        }
+    }
+    public void clearStroke() {
+        if (strokePending) {
+            strokePending = false;
+            repaintStroke();
+        }
+    }
+    public boolean isStroking() {
+        return stroking;
+    }
+    public void setXMode(boolean xMode) {
+        this.xMode = xMode;
+    }
+    private void repaintStroke() {
+        int row = Math.min(strokeStartRow, strokeEndRow);
+        int col = Math.min(strokeStartCol, strokeEndCol);
+        int rows = Math.abs(strokeEndRow - strokeStartRow) + 1;
+        int cols = Math.abs(strokeEndCol - strokeStartCol) + 1;
+        scheduler.markDirty(this, col * cellSize, row * cellSize, cols * cellSize, rows * cellSize);
+    }
+    private CellState stateAt(int row, int col) {
+        CellState state = displayStates[row * board.getCols() + col];
+        if ((stroking || strokePending) && state == strokeFrom
+                && row >= Math.min(strokeStartRow, strokeEndRow) && row <= Math.max(strokeStartRow, strokeEndRow)
+                && col >= Math.min(strokeStartCol, strokeEndCol) && col <= Math.max(strokeStartCol, strokeEndCol)) {
+            return strokeState;
+        }
+        return state;
     }
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        for (int row = 0; row < board.getRows(); row++) {
-            for (int col = 0; col < board.getCols(); col++) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        int gridWidth = board.getCols() * cellSize;
+        int gridHeight = board.getRows() * cellSize;
+        if (clip.x + clip.width > gridWidth || clip.y + clip.height > gridHeight) {
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        }
+        int firstRow = Math.max(0, clip.y / cellSize);
+        int lastRow = Math.min(board.getRows() - 1, (clip.y + clip.height - 1) / cellSize);
+        int firstCol = Math.max(0, clip.x / cellSize);
+        int lastCol = Math.min(board.getCols() - 1, (clip.x + clip.width - 1) / cellSize);
+        if (firstRow > lastRow || firstCol > lastCol) {
+            return;
+        }
+        if (cellSize < DETAIL_CELL_SIZE) {
+            paintLevelOfDetail(g, firstRow, lastRow, firstCol, lastCol);
+            return;
+        }
+        int visibleRows = lastRow - firstRow + 1;
+        int visibleCols = lastCol - firstCol + 1;
+        if (gridLayer == null || gridLayer.getWidth() < visibleCols * cellSize || gridLayer.getHeight() < visibleRows * cellSize) {
+            gridLayer = createGridLayer(visibleRows, visibleCols);
+        }
+        Graphics boardGraphics = g.create();
+        boardGraphics.clipRect(0, 0, gridWidth, gridHeight);
+        boardGraphics.drawImage(gridLayer, firstCol * cellSize, firstRow * cellSize, null);
+        boardGraphics.dispose();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
                 drawCell(g, row, col);
             }
         }
-        g.setColor(Color.BLACK);
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setStroke(new BasicStroke(2)); 
-        for (int i = 0; i <= board.getRows(); i++) {
-            g2d.drawLine(0, i * cellSize, board.getCols() * cellSize, i * cellSize);
+    }
+    public void repaintCell(int row, int col) {
+        scheduler.markDirty(this, col * cellSize, row * cellSize, cellSize, cellSize);
+    }
+    public void invalidateLayers() {
+        gridLayer = null;
+        filledTile = null;
+        markedTile = null;
+        wrongTile = null;
+        detailImage = null;
+        detailPixels = null;
+        repaint();
+    }
+    public void setBoard(GameBoard board) {
+        this.board = board;
+        cellSize = fitCellSize(board);
+        wrongRow = -1;
+        wrongCol = -1;
+        heatmap = null;
+        stroking = false;
+        strokePending = false;
+        displayStates = newDisplayStates(board);
+        setPreferredSize(new Dimension(board.getCols() * cellSize, board.getRows() * cellSize));
+        invalidateLayers();
+    }
+    public void setCellState(int cell, CellState state) {
+        if (displayStates[cell] != state) {
+            displayStates[cell] = state;
+            repaintCell(cell / board.getCols(), cell % board.getCols());
         }
-        for (int i = 0; i <= board.getCols(); i++) {
-            g2d.drawLine(i * cellSize, 0, i * cellSize, board.getRows() * cellSize);
+    }
+    private static CellState[] newDisplayStates(GameBoard board) {
+        CellState[] states = new CellState[board.getRows() * board.getCols()];
+        Arrays.fill(states, CellState.UNKNOWN);
+        return states;
+    }
+    private int fitCellSize(GameBoard board) {
+        int cellSizeByWidth = maxViewportSize.width / board.getCols();
+        int cellSizeByHeight = maxViewportSize.height / board.getRows();
+        return Math.max(Math.min(cellSizeByWidth, cellSizeByHeight), 30);
+    }
+    public void setCellSize(int size) {
+        size = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, size));
+        if (size == cellSize) {
+            return;
         }
+        cellSize = size;
+        setPreferredSize(new Dimension(board.getCols() * cellSize, board.getRows() * cellSize));
+        invalidateLayers();
+        revalidate();
+    }
+    public boolean isLevelOfDetail() {
+        return cellSize < DETAIL_CELL_SIZE;
+    }
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension preferred = getPreferredSize();
+        return new Dimension(Math.min(preferred.width, maxViewportSize.width), Math.min(preferred.height, maxViewportSize.height));
+    }
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return cellSize;
+    }
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        int extent = orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+        return Math.max(cellSize, extent - cellSize);
+    }
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+    private void paintLevelOfDetail(Graphics g, int firstRow, int lastRow, int firstCol, int lastCol) {
+        int visibleRows = lastRow - firstRow + 1;
+        int visibleCols = lastCol - firstCol + 1;
+        if (detailImage == null || detailImage.getWidth() < visibleCols || detailImage.getHeight() < visibleRows) {
+            detailImage = new BufferedImage(visibleCols, visibleRows, BufferedImage.TYPE_INT_RGB);
+            detailPixels = ((DataBufferInt) detailImage.getRaster().getDataBuffer()).getData();
+        }
+        int stride = detailImage.getWidth();
+        for (int row = firstRow; row <= lastRow; row++) {
+            int offset = (row - firstRow) * stride - firstCol;
+            for (int col = firstCol; col <= lastCol; col++) {
+                detailPixels[offset + col] = detailColor(row, col);
+            }
+        }
+        int x = firstCol * cellSize;
+        int y = firstRow * cellSize;
+        g.drawImage(detailImage, x, y, x + visibleCols * cellSize, y + visibleRows * cellSize,
+                0, 0, visibleCols, visibleRows, null);
+    }
+    private int detailColor(int row, int col) {
+        if (row == wrongRow && col == wrongCol) {
+            return Color.RED.getRGB();
+        }
+        switch (stateAt(row, col)) {
+            case FILLED:
+                return Color.BLACK.getRGB();
+            case MARKED:
+                return Color.LIGHT_GRAY.getRGB();
+            default:
+                return heatmap != null ? heatColor(heatmap[row * board.getCols() + col]).getRGB() : Color.WHITE.getRGB();
+        }
+    }
+    private BufferedImage createGridLayer(int visibleRows, int visibleCols) {
+        int width = (visibleCols + 1) * cellSize;
+        int height = (visibleRows + 1) * cellSize;
+        BufferedImage layer = createImage(width, height, Transparency.OPAQUE);
+        Graphics2D g2d = layer.createGraphics();
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, width, height);
+        g2d.setColor(Color.BLACK);
+        for (int i = 0; i <= visibleRows + 1; i++) {
+            g2d.fillRect(0, i * cellSize - 1, width, 2);
+        }
+        for (int i = 0; i <= visibleCols + 1; i++) {
+            g2d.fillRect(i * cellSize - 1, 0, 2, height);
+        }
+        g2d.dispose();
+        return layer;
+    }
+    private BufferedImage createTile(CellState state, boolean wrong) {
+        int size = cellSize - 2;
+        BufferedImage tile = createImage(size, size, Transparency.OPAQUE);
+        Graphics2D g2d = tile.createGraphics();
+        if (wrong) {
+            g2d.setColor(Color.RED);
+            g2d.fillRect(0, 0, size, size);
+        } else if (state == CellState.FILLED) {
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(0, 0, size, size);
+        } else {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, size, size);
+            g2d.setColor(Color.RED);
+            int margin = cellSize / 6;
+            g2d.drawLine(margin - 1, margin - 1, cellSize - margin - 1, cellSize - margin - 1);
+            g2d.drawLine(margin - 1, cellSize - margin - 1, cellSize - margin - 1, margin - 1);
+        }
+        g2d.dispose();
+        return tile;
+    }
+    private BufferedImage createImage(int width, int height, int transparency) {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration != null) {
+            return configuration.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
     }
     private void drawCell(Graphics g, int row, int col) {
-        Cell cell = board.getCell(row, col);
-        int x = col * cellSize;
-        int y = row * cellSize;
+        int x = col * cellSize + 1;
+        int y = row * cellSize + 1;
         if (row == wrongRow && col == wrongCol) {
-            g.setColor(Color.RED);
-            g.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+            if (wrongTile == null) {
+                wrongTile = createTile(null, true);
+            }
+            g.drawImage(wrongTile, x, y, null);
             return;
         }
-        switch (cell.getCurrentState()) {
+        switch (stateAt(row, col)) {
             case UNKNOWN:
-                g.setColor(Color.WHITE);
-                g.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+                if (heatmap != null) {
+                    g.setColor(heatColor(heatmap[row * board.getCols() + col]));
+                    g.fillRect(x, y, cellSize - 2, cellSize - 2);
+                }
                 break;
             case FILLED:
-                g.setColor(Color.BLACK);
-                g.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+                if (filledTile == null) {
+                    filledTile = createTile(CellState.FILLED, false);
+                }
+                g.drawImage(filledTile, x, y, null);
                 break;
             case MARKED:
-                g.setColor(Color.WHITE);
-                g.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                g.setColor(Color.RED);
-                int margin = cellSize / 6;
-                g.drawLine(x + margin, y + margin, x + cellSize - margin, y + cellSize - margin);
-                g.drawLine(x + margin, y + cellSize - margin, x + cellSize - margin, y + margin);
+                if (markedTile == null) {
+                    markedTile = createTile(CellState.MARKED, false);
+                }
+                g.drawImage(markedTile, x, y, null);
                 break;
         }
     }
+    private static Color heatColor(double probability) {
+        int shade = 255 - (int) Math.round(probability * 160);
+        return new Color(shade, shade, 255);
+    }
+    public void setHeatmap(double[] heatmap) {
+        if (heatmap == null && this.heatmap == null) {
+            return;
+        }
+        this.heatmap = heatmap;
+        scheduler.markDirty(this);
+    }
     public void showWrongMove(int row, int col) {
+        if (wrongRow >= 0) {
+            repaintCell(wrongRow, wrongCol);
+        }
         wrongRow = row;
         wrongCol = col;
-        repaint();
-        Timer timer = new Timer(1000, e -> {
-            wrongRow = -1;
-            wrongCol = -1;
-            repaint();
-        });
-        timer.setRepeats(false);
-        timer.start();
+        wrongDeadline = System.nanoTime() + WRONG_MOVE_NANOS;
+        repaintCell(row, col);
+        if (!flashRunning) {
+            flashRunning = true;
+            scheduler.animate(this::tickWrongMove);
+        }
+    }
+    private boolean tickWrongMove(long now) {
+        if (wrongRow < 0) {
+            flashRunning = false;
+            return false;
+        }
+        if (now - wrongDeadline < 0) {
+            return true;
+        }
+        repaintCell(wrongRow, wrongCol);
+        wrongRow = -1;
+        wrongCol = -1;
+        flashRunning = false;
+        return false;
+    }
+    public RenderScheduler getScheduler() {
+        return scheduler;
     }
     public int getCellSize() {
         return cellSize;
@@ -4,6 +4,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
 import nonogram.controller.GameController;
 import nonogram.model.*;
 public class MainFrame extends JFrame {
@@ -13,6 +14,12 @@ public class MainFrame extends JFrame {
     private JMenuItem redoItem;
     private JMenuItem nextPuzzleItem;
     private JMenuItem previousPuzzleItem;
+    private static final int CHANGE_QUEUE_CAPACITY = 1024;
+    private ChangeSet lastChanges;
+    private final ChangeQueue pendingChanges = new ChangeQueue(CHANGE_QUEUE_CAPACITY);
+    private final AtomicBoolean drainRequested = new AtomicBoolean(false);
+    private boolean draining;
+    private final RenderScheduler renderScheduler = new RenderScheduler(Integer.getInteger("nonogram.frameRate", RenderScheduler.DEFAULT_FRAME_RATE));
     public MainFrame() {
         setTitle("Nonogram Puzzle Game");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -99,6 +106,7 @@ public class MainFrame extends JFrame {
         clearAll.setMnemonic(KeyEvent.VK_C);
         JMenuItem autoFill = new JMenuItem("Auto Fill");
         autoFill.setMnemonic(KeyEvent.VK_A);
+        JCheckBoxMenuItem showHeatmap = new JCheckBoxMenuItem("Show Heatmap");
         JMenuItem getHint = new JMenuItem("Get Hint");
         getHint.setMnemonic(KeyEvent.VK_H);
         getHint.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_H, ActionEvent.CTRL_MASK));
@@ -121,9 +129,8 @@ public class MainFrame extends JFrame {
             }
         });
         autoFill.addActionListener(e -> {
-            if (gamePanel != null && gamePanel.getBoard() != null) {
-                gamePanel.getBoard().autoFillMarks();
-                updateDisplay();
+            if (controller != null) {
+                controller.autoFill();
             }
         });
         getHint.addActionListener(e -> {
@@ -131,6 +138,11 @@ public class MainFrame extends JFrame {
                 controller.getHint();
             }
         });
+        showHeatmap.addActionListener(e -> {
+            if (controller != null) {
+                controller.setHeatmapVisible(showHeatmap.isSelected());
+            }
+        });
         editMenu.add(undoItem);
         editMenu.add(redoItem);
         editMenu.addSeparator();
@@ -138,6 +150,25 @@ public class MainFrame extends JFrame {
         editMenu.add(autoFill);
         editMenu.addSeparator();
         editMenu.add(getHint);
+        editMenu.add(showHeatmap);
+        JMenu viewMenu = new JMenu("View");
+        viewMenu.setMnemonic(KeyEvent.VK_V);
+        JMenuItem zoomIn = new JMenuItem("Zoom In");
+        zoomIn.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_EQUALS, ActionEvent.CTRL_MASK));
+        JMenuItem zoomOut = new JMenuItem("Zoom Out");
+        zoomOut.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_MINUS, ActionEvent.CTRL_MASK));
+        zoomIn.addActionListener(e -> {
+            if (gamePanel != null) {
+                gamePanel.zoomIn();
+            }
+        });
+        zoomOut.addActionListener(e -> {
+            if (gamePanel != null) {
+                gamePanel.zoomOut();
+            }
+        });
+        viewMenu.add(zoomIn);
+        viewMenu.add(zoomOut);
         JMenu helpMenu = new JMenu("Help");
         helpMenu.setMnemonic(KeyEvent.VK_H);
         JMenuItem howToPlay = new JMenuItem("How to Play");
@@ -148,22 +179,24 @@ public class MainFrame extends JFrame {
         helpMenu.add(about);
         menuBar.add(gameMenu);
         menuBar.add(editMenu);
+        menuBar.add(viewMenu);
         menuBar.add(helpMenu);
         setJMenuBar(menuBar);
         updateMenuStates();
     }
     private void updateMenuStates() {
-        if (controller != null) {
-            undoItem.setEnabled(controller.canUndo());
-            redoItem.setEnabled(controller.canRedo());
-            nextPuzzleItem.setEnabled(controller.hasNextPuzzle());
-            previousPuzzleItem.setEnabled(controller.hasPreviousPuzzle());
+        if (lastChanges != null) {
+            undoItem.setEnabled(lastChanges.canUndo());
+            redoItem.setEnabled(lastChanges.canRedo());
+            nextPuzzleItem.setEnabled(lastChanges.hasNextPuzzle());
+            previousPuzzleItem.setEnabled(lastChanges.hasPreviousPuzzle());
         }
     }
     private void showHowToPlay() {
         String message = "How to Play Nonogram:\n\n" +
                 "1. Click cells to cycle through states:\n" +
-                "   • Empty → Filled (Black) → Marked (X) → Empty\n\n" +
+                "   • Empty → Filled (Black) → Marked (X) → Empty\n" +
+                "   • Drag along a row or column to paint a whole run\n\n" +
                 "2. Numbers show consecutive filled cells in each row/column\n\n" +
                 "3. Fill cells to match the clues and reveal the picture\n\n" +
                 "4. Cross marks (X) automatically fill when clues are satisfied\n\n" +
@@ -171,6 +204,7 @@ public class MainFrame extends JFrame {
                 "• Ctrl+Z: Undo\n" +
                 "• Ctrl+Y: Redo\n" +
                 "• Ctrl+H: Get Hint\n" +
+                "• Ctrl+Plus/Minus or Ctrl+Wheel: Zoom\n" +
                 "• Ctrl+Left/Right: Previous/Next Puzzle";
         JOptionPane.showMessageDialog(this, message, "How to Play", JOptionPane.INFORMATION_MESSAGE);
     }
@@ -194,9 +228,16 @@ public class MainFrame extends JFrame {
     }
     public void initializeGame(GameBoard board, String puzzleName) {
         if (gamePanel != null) {
-            remove(gamePanel);
+            Dimension oldSize = gamePanel.getPreferredSize();
+            gamePanel.setBoard(board, puzzleName);
+            if (!gamePanel.getPreferredSize().equals(oldSize)) {
+                pack();
+                setLocationRelativeTo(null);
+            }
+            updateMenuStates();
+            return;
         }
-        gamePanel = new GamePanel(board, controller, puzzleName);
+        gamePanel = new GamePanel(board, controller, puzzleName, renderScheduler);
         add(gamePanel, BorderLayout.CENTER);
         revalidate();
         repaint();
@@ -204,18 +245,60 @@ public class MainFrame extends JFrame {
         setLocationRelativeTo(null);
         updateMenuStates();
     }
-    public void updateDisplay() {
+    public void postChanges(ChangeSet changes) {
+        pendingChanges.post(changes);
+        if (drainRequested.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::scheduleDrain);
+        }
+    }
+    private void scheduleDrain() {
+        if (!draining) {
+            draining = true;
+            renderScheduler.animate(now -> drainChanges());
+        }
+    }
+    private boolean drainChanges() {
+        drainRequested.set(false);
+        pendingChanges.drain(this::applyChanges);
+        draining = !pendingChanges.isEmpty();
+        return draining;
+    }
+    public void applyChanges(ChangeSet changes) {
+        if (changes.isNewBoard()) {
+            initializeGame(changes.getBoard(), changes.getPuzzleName());
+        }
+        lastChanges = changes;
         if (gamePanel != null) {
-            gamePanel.repaint();
+            gamePanel.applyChanges(changes);
         }
         updateMenuStates();
+        if (changes.isHintRequested() || changes.isComplete() || changes.isGameOver() || changes.hasError()) {
+            SwingUtilities.invokeLater(() -> showMessages(changes));
+        }
+    }
+    private void showMessages(ChangeSet changes) {
+        if (changes.hasError()) {
+            JOptionPane.showMessageDialog(this, changes.getErrorMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+        if (changes.isHintRequested()) {
+            if (changes.getHint() != null) {
+                showHint(changes.getHint());
+            } else {
+                showNoHintMessage();
+            }
+        }
+        if (changes.isComplete()) {
+            showCompletionMessage(changes);
+        }
+        if (changes.isGameOver()) {
+            showGameOver();
+        }
     }
-    public void showCompletionMessage() {
-        GameState gameState = controller.getGameState();
+    public void showCompletionMessage(ChangeSet changes) {
         String message = "Puzzle Complete!\n\n" +
-                "Time: " + (gameState.getElapsedTime() / 1000) + " seconds\n" +
-                "Moves: " + gameState.getMoveCount() + "\n" +
-                "Hints used: " + gameState.getHintsUsed();
+                "Time: " + (changes.getElapsedTime() / 1000) + " seconds\n" +
+                "Moves: " + changes.getMoveCount() + "\n" +
+                "Hints used: " + changes.getHintsUsed();
         JOptionPane.showMessageDialog(this, message, "Congratulations", JOptionPane.INFORMATION_MESSAGE);
         if (controller != null) {
             controller.resetPuzzle();
@@ -238,21 +321,6 @@ public class MainFrame extends JFrame {
     public void showNoHintMessage() {
         JOptionPane.showMessageDialog(this, "No hints available at this time.", "No Hint", JOptionPane.INFORMATION_MESSAGE);
     }
-    public void updateXButton(boolean xMode) {
-        if (gamePanel != null) {
-            gamePanel.updateXButton(xMode);
-        }
-    }
-    public void showWrongMove(int row, int col) {
-        if (gamePanel != null) {
-            gamePanel.showWrongMove(row, col);
-        }
-    }
-    public void updateLivesDisplay(int lives) {
-        if (gamePanel != null) {
-            gamePanel.updateLivesDisplay(lives);
-        }
-    }
     public void showGameOver() {
         JOptionPane.showMessageDialog(this, "Game Over! No lives remaining.", "Game Over", JOptionPane.ERROR_MESSAGE);
         if (controller != null) {
@@ -0,0 +1,99 @@
+package nonogram.view;
+import javax.swing.*;
+import java.awt.Rectangle;
+import nonogram.datastructures.MyArrayList;
+public class RenderScheduler {
+    public static final int DEFAULT_FRAME_RATE = 60;
+    public interface Animation {
+        boolean tick(long nowNanos);
+    }
+    private final Timer timer;
+    private final MyArrayList<JComponent> dirtyComponents;
+    private final MyArrayList<Rectangle> dirtyBounds;
+    private final MyArrayList<Animation> animations;
+    private int frameRate;
+    private int flushes;
+    private int repaintRequests;
+    public RenderScheduler() {
+        this(DEFAULT_FRAME_RATE);
+    }
+    public RenderScheduler(int frameRate) {
+        this.dirtyComponents = new MyArrayList<>();
+        this.dirtyBounds = new MyArrayList<>();
+        this.animations = new MyArrayList<>();
+        this.timer = new Timer(1000, e -> flush());
+        this.timer.setCoalesce(true);
+        setFrameRate(frameRate);
+    }
+    public void setFrameRate(int frameRate) {
+        if (frameRate <= 0) {
+            throw new IllegalArgumentException("Frame rate must be positive: " + frameRate);
+        }
+        this.frameRate = frameRate;
+        timer.setDelay(Math.max(1, 1000 / frameRate));
+        timer.setInitialDelay(timer.getDelay());
+    }
+    public int getFrameRate() {
+        return frameRate;
+    }
+    public void markDirty(JComponent component) {
+        markDirty(component, 0, 0, Math.max(1, component.getWidth()), Math.max(1, component.getHeight()));
+    }
+    public void markDirty(JComponent component, int x, int y, int width, int height) {
+        repaintRequests++;
+        for (int i = 0; i < dirtyComponents.size(); i++) {
+            if (dirtyComponents.get(i) == component) {
+                dirtyBounds.get(i).add(new Rectangle(x, y, width, height));
+                return;
+            }
+        }
+        dirtyComponents.add(component);
+        dirtyBounds.add(new Rectangle(x, y, width, height));
+        start();
+    }
+    public void animate(Animation animation) {
+        animations.add(animation);
+        start();
+    }
+    public boolean isIdle() {
+        return dirtyComponents.isEmpty() && animations.isEmpty();
+    }
+    public int getFlushes() {
+        return flushes;
+    }
+    public int getRepaintRequests() {
+        return repaintRequests;
+    }
+    public void flush() {
+        if (!animations.isEmpty()) {
+            long now = System.nanoTime();
+            for (int i = animations.size() - 1; i >= 0; i--) {
+                if (!animations.get(i).tick(now)) {
+                    animations.remove(i);
+                }
+            }
+        }
+        if (!dirtyComponents.isEmpty()) {
+            flushes++;
+            for (int i = 0; i < dirtyComponents.size(); i++) {
+                dirtyComponents.get(i).repaint(dirtyBounds.get(i));
+            }
+            dirtyComponents.clear();
+            dirtyBounds.clear();
+        }
+        if (isIdle()) {
+            timer.stop();
+        }
+    }
+    public void stop() {
+        timer.stop();
+        dirtyComponents.clear();
+        dirtyBounds.clear();
+        animations.clear();
+    }
+    private void start() {
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+}
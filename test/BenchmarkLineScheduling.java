@@ -0,0 +1,59 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import java.util.Random;
+
+public class BenchmarkLineScheduling {
+    private static final int ROUNDS = 5;
+    
+    public static void main(String[] args) {
+        System.out.println("Benchmarking line scheduling (FIFO vs priority)...");
+        
+        PuzzleLoader loader = new PuzzleLoader();
+        for (Difficulty difficulty : Difficulty.values()) {
+            int count = loader.getPuzzleCount(difficulty);
+            boolean[][][] solutions = new boolean[count][][];
+            for (int i = 0; i < count; i++) {
+                solutions[i] = loader.getPuzzle(difficulty, i).getSolution();
+            }
+            compare(difficulty.getDisplayName(), solutions, true);
+        }
+        
+        // Larger random boards are not uniquely solvable, so only line propagation is timed
+        Random random = new Random(3);
+        boolean[][][] large = new boolean[5][][];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = new boolean[50][50];
+            for (int r = 0; r < 50; r++) {
+                for (int c = 0; c < 50; c++) {
+                    large[i][r][c] = random.nextInt(10) < 6;
+                }
+            }
+        }
+        compare("Random 50x50", large, false);
+        
+        System.out.println("Benchmark complete");
+    }
+    
+    private static void compare(String label, boolean[][][] solutions, boolean fullSolve) {
+        long[] lineSolves = new long[2];
+        long[] nanos = new long[2];
+        NonogramSolver.Schedule[] schedules = NonogramSolver.Schedule.values();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int s = 0; s < schedules.length; s++) {
+                for (boolean[][] solution : solutions) {
+                    NonogramSolver solver = NonogramSolver.forBoard(new GameBoard(solution));
+                    solver.setSchedule(schedules[s]);
+                    long start = System.nanoTime();
+                    boolean solved = fullSolve ? solver.solve() != null : solver.propagate(solver.newGrid());
+                    nanos[s] += System.nanoTime() - start;
+                    assert solved : fullSolve ? "Every puzzle should be solvable" : "Propagation should not find a contradiction";
+                    lineSolves[s] += solver.getLineSolves();
+                }
+            }
+        }
+        for (int s = 0; s < schedules.length; s++) {
+            System.out.println(String.format("%-14s %-8s line solves: %7d  time: %6d us",
+                    label, schedules[s], lineSolves[s] / ROUNDS, nanos[s] / ROUNDS / 1000));
+        }
+    }
+}
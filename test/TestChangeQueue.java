@@ -0,0 +1,107 @@
+import nonogram.model.*;
+import nonogram.view.ChangeQueue;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestChangeQueue {
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Testing Change Queue...");
+
+        testMerge();
+        testOverflowMerges();
+        testConcurrentReplay();
+
+        System.out.println("All Change Queue tests passed!");
+    }
+
+    private static ChangeSet.Builder changes(long sequence) {
+        return new ChangeSet.Builder(sequence).status(3, false, true, false, true, false);
+    }
+
+    private static void testMerge() {
+        GameBoard board = new GameBoard(new boolean[2][2]);
+        ChangeSet first = changes(1).newBoard(board, "First").cell(0, CellState.FILLED).heatmap(new double[] {0.5, 0, 0, 0}).build();
+        ChangeSet second = changes(2).cell(0, CellState.MARKED).cell(3, CellState.FILLED).wrongMove(1, 1).build();
+        ChangeSet merged = ChangeSet.merge(first, second);
+        assert merged.getSequence() == 2 : "Merged set takes the later sequence";
+        assert merged.getBoard() == board && "First".equals(merged.getPuzzleName()) : "Earlier new board should be kept";
+        assert merged.getCellCount() == 3 : "Cells from both sets should be kept in order";
+        assert merged.getCellState(1) == CellState.MARKED : "Later cell state should be applied last";
+        assert merged.isHeatmapChanged() && merged.getHeatmapValue(0) == 0.5 : "Earlier heatmap survives when the later set has none";
+        assert merged.hasWrongMove() && merged.getWrongRow() == 1;
+        assert !merged.hasError();
+        ChangeSet failed = ChangeSet.merge(changes(5).error("failed").build(), changes(6).build());
+        assert failed.hasError() && "failed".equals(failed.getErrorMessage()) : "An error should survive a merge";
+
+        // A later board makes everything about the earlier board stale
+        GameBoard next = new GameBoard(new boolean[3][3]);
+        ChangeSet complete = changes(3).cell(1, CellState.FILLED).complete(1000, 4, 0).build();
+        ChangeSet switched = ChangeSet.merge(complete, changes(4).newBoard(next, "Next").build());
+        assert switched.getBoard() == next : "Later new board should win";
+        assert switched.getCellCount() == 0 && !switched.isComplete() : "Old board changes should be dropped";
+
+        System.out.println("Merge test passed");
+    }
+
+    private static void testOverflowMerges() {
+        ChangeQueue queue = new ChangeQueue(4);
+        for (int i = 1; i <= 10; i++) {
+            queue.post(changes(i).cell(i, CellState.FILLED).build());
+        }
+        assert queue.getMergedCount() == 5 : "Six sets overflow into one merged set";
+
+        List<ChangeSet> drained = new ArrayList<>();
+        int count = queue.drain(drained::add);
+        assert count == 5 && drained.size() == 5 : "Queued sets plus one merged set should drain";
+        for (int i = 0; i < 4; i++) {
+            assert drained.get(i).getSequence() == i + 1 : "Queued sets keep their order";
+        }
+        ChangeSet merged = drained.get(4);
+        assert merged.getSequence() == 10 && merged.getCellCount() == 6 : "Overflow should merge the newer sets";
+        assert queue.isEmpty();
+
+        // After the overflow drains, new sets are queued normally again
+        boolean queued = queue.post(changes(11).build());
+        assert queued : "Queue should accept sets after draining";
+
+        System.out.println("Overflow merge test passed");
+    }
+
+    private static void testConcurrentReplay() throws InterruptedException {
+        ChangeQueue queue = new ChangeQueue(8);
+        int posts = 20000;
+        int cells = 64;
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= posts; i++) {
+                queue.post(changes(i).cell(i % cells, i % 3 == 0 ? CellState.MARKED : CellState.FILLED).build());
+            }
+        });
+        producer.start();
+
+        // Drain like the EDT would, once per "frame"
+        CellState[] display = new CellState[cells];
+        long[] lastSequence = {0};
+        int[] applied = {0};
+        while (producer.isAlive() || !queue.isEmpty()) {
+            queue.drain(changes -> {
+                assert changes.getSequence() > lastSequence[0] : "Change sets must be applied in order";
+                lastSequence[0] = changes.getSequence();
+                for (int i = 0; i < changes.getCellCount(); i++) {
+                    display[changes.getCellIndex(i)] = changes.getCellState(i);
+                }
+                applied[0]++;
+            });
+            Thread.sleep(1);
+        }
+        producer.join();
+
+        assert lastSequence[0] == posts : "The last change set must arrive";
+        for (int i = posts - cells + 1; i <= posts; i++) {
+            CellState expected = i % 3 == 0 ? CellState.MARKED : CellState.FILLED;
+            assert display[i % cells] == expected : "Replayed display should match the final writes";
+        }
+        assert applied[0] < posts : "A slow consumer should see merged sets, applied " + applied[0];
+
+        System.out.println("Concurrent replay test passed (" + posts + " posts, " + applied[0] + " applied)");
+    }
+}
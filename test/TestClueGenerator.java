@@ -0,0 +1,140 @@
+import nonogram.model.*;
+import java.util.Random;
+
+public class TestClueGenerator {
+    public static void main(String[] args) {
+        System.out.println("Testing Clue Generator...");
+        
+        testMatchesNaiveClues();
+        testPackedInput();
+        testGameBoardClues();
+        testLargeSolution();
+        
+        System.out.println("All Clue Generator tests passed!");
+    }
+    
+    private static void testMatchesNaiveClues() {
+        Random random = new Random(3);
+        int[][] sizes = {{1, 1}, {1, 70}, {70, 1}, {5, 5}, {64, 64}, {65, 63}, {130, 200}, {300, 257}};
+        for (int[] size : sizes) {
+            boolean[][] solution = randomSolution(random, size[0], size[1]);
+            ClueGenerator generator = ClueGenerator.generate(solution);
+            assertMatches(generator, solution);
+        }
+        
+        // Empty lines get the clue 0
+        ClueGenerator blank = ClueGenerator.generate(new boolean[3][4]);
+        assert blank.getRowClues(0).length == 1 && blank.getRowClues(0)[0] == 0 : "Empty row should have clue 0";
+        assert blank.getColumnClues(3)[0] == 0 : "Empty column should have clue 0";
+        
+        System.out.println("Naive comparison test passed");
+    }
+    
+    private static void testPackedInput() {
+        // Bits past the last column must be ignored
+        long[][] rowBits = {{-1L}, {0L}};
+        ClueGenerator generator = ClueGenerator.generate(rowBits, 2, 10);
+        assert generator.getRowClues(0).length == 1 && generator.getRowClues(0)[0] == 10 : "Row should be clipped to 10 columns";
+        assert generator.getColumnClues(9)[0] == 1 : "Last column should have one filled cell";
+        
+        System.out.println("Packed input test passed");
+    }
+    
+    private static void testGameBoardClues() {
+        Random random = new Random(8);
+        boolean[][] solution = randomSolution(random, 37, 90);
+        GameBoard board = new GameBoard(solution);
+        for (int row = 0; row < 37; row++) {
+            assert sameClues(board.getRowClueValues(row).toArray(), naiveClues(solution, row, true)) : "Board row clues should match";
+        }
+        for (int col = 0; col < 90; col++) {
+            assert sameClues(board.getColumnClueValues(col).toArray(), naiveClues(solution, col, false)) : "Board column clues should match";
+        }
+        
+        System.out.println("GameBoard clues test passed");
+    }
+    
+    private static void testLargeSolution() {
+        Random random = new Random(13);
+        boolean[][] solution = randomSolution(random, 2000, 2000);
+        
+        // Warm up both paths before timing
+        for (int i = 0; i < 3; i++) {
+            ClueGenerator.generate(solution);
+            naiveAll(solution);
+        }
+        long start = System.nanoTime();
+        ClueGenerator generator = ClueGenerator.generate(solution);
+        long fastMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        int[][] naive = naiveAll(solution);
+        long naiveMillis = (System.nanoTime() - start) / 1_000_000;
+        for (int col = 0; col < 2000; col += 97) {
+            assert sameClues(generator.getColumnClues(col), naive[2000 + col]) : "Large column clues should match";
+            assert sameClues(generator.getRowClues(col), naive[col]) : "Large row clues should match";
+        }
+        
+        System.out.println("2000x2000 clues: blocked " + fastMillis + " ms, naive walk " + naiveMillis + " ms");
+        System.out.println("Large solution test passed");
+    }
+    
+    private static void assertMatches(ClueGenerator generator, boolean[][] solution) {
+        for (int row = 0; row < solution.length; row++) {
+            assert sameClues(generator.getRowClues(row), naiveClues(solution, row, true)) : "Row clues should match";
+        }
+        for (int col = 0; col < solution[0].length; col++) {
+            assert sameClues(generator.getColumnClues(col), naiveClues(solution, col, false)) : "Column clues should match";
+        }
+    }
+    
+    private static int[][] naiveAll(boolean[][] solution) {
+        int rows = solution.length;
+        int[][] clues = new int[rows + solution[0].length][];
+        for (int row = 0; row < rows; row++) {
+            clues[row] = naiveClues(solution, row, true);
+        }
+        for (int col = 0; col < solution[0].length; col++) {
+            clues[rows + col] = naiveClues(solution, col, false);
+        }
+        return clues;
+    }
+    
+    private static int[] naiveClues(boolean[][] solution, int index, boolean isRow) {
+        int length = isRow ? solution[0].length : solution.length;
+        int[] runs = new int[length / 2 + 1];
+        int count = 0;
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            boolean filled = isRow ? solution[index][i] : solution[i][index];
+            if (filled) {
+                run++;
+            } else if (run > 0) {
+                runs[count++] = run;
+                run = 0;
+            }
+        }
+        if (run > 0) {
+            runs[count++] = run;
+        }
+        if (count == 0) {
+            return new int[] {0};
+        }
+        int[] result = new int[count];
+        System.arraycopy(runs, 0, result, 0, count);
+        return result;
+    }
+    
+    private static boolean sameClues(int[] a, int[] b) {
+        return java.util.Arrays.equals(a, b);
+    }
+    
+    private static boolean[][] randomSolution(Random random, int rows, int cols) {
+        boolean[][] solution = new boolean[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                solution[i][j] = random.nextInt(10) < 6;
+            }
+        }
+        return solution;
+    }
+}
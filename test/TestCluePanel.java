@@ -0,0 +1,75 @@
+import nonogram.model.*;
+import nonogram.view.CluePanel;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+public class TestCluePanel {
+    public static void main(String[] args) {
+        System.out.println("Testing Clue Panel...");
+        
+        testClipBeyondContent();
+        testClipInsideContent();
+        
+        System.out.println("All Clue Panel tests passed!");
+    }
+    
+    private static GameBoard createBoard() {
+        boolean[][] solution = new boolean[5][5];
+        for (int i = 0; i < 5; i++) {
+            solution[i][i] = true;
+            solution[i][4 - i] = true;
+        }
+        return new GameBoard(solution);
+    }
+    
+    private static BufferedImage paint(CluePanel panel, int x, int y, int width, int height) {
+        BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setClip(x, y, width, height);
+        panel.paint(g2d);
+        g2d.dispose();
+        return image;
+    }
+    
+    private static boolean hasText(BufferedImage image, int x, int y, int width, int height) {
+        for (int py = y; py < y + height; py++) {
+            for (int px = x; px < x + width; px++) {
+                if ((image.getRGB(px, py) & 0xFFFFFF) == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static void testClipBeyondContent() {
+        // A small board in a large viewport stretches the header past its lines
+        CluePanel rowClues = new CluePanel(createBoard(), true, 30);
+        rowClues.setSize(60, 900);
+        paint(rowClues, 0, 300, 60, 300);
+        
+        CluePanel columnClues = new CluePanel(createBoard(), false, 30);
+        columnClues.setSize(900, 60);
+        paint(columnClues, 300, 0, 300, 60);
+        
+        System.out.println("Clip beyond content test passed");
+    }
+    
+    private static void testClipInsideContent() {
+        CluePanel rowClues = new CluePanel(createBoard(), true, 30);
+        rowClues.setSize(60, 900);
+        BufferedImage image = paint(rowClues, 0, 0, 60, 900);
+        assert hasText(image, 0, 0, 60, 150) : "Clues should be drawn for the board lines";
+        assert !hasText(image, 0, 150, 60, 750) : "Nothing should be drawn past the last line";
+        
+        // Repainting reuses the cached glyphs and draws the same pixels
+        BufferedImage again = paint(rowClues, 0, 0, 60, 900);
+        for (int y = 0; y < 150; y++) {
+            for (int x = 0; x < 60; x++) {
+                assert image.getRGB(x, y) == again.getRGB(x, y) : "Repaint should match the first paint at " + x + "," + y;
+            }
+        }
+        
+        System.out.println("Clip inside content test passed");
+    }
+}
@@ -0,0 +1,201 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+public class TestCluePuzzles {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.out.println("Testing Clue-Only Puzzles...");
+        
+        testUnsolvedPuzzle();
+        testResolveMatchesSolution();
+        testMemoryCache();
+        testFileCache();
+        testInvalidClues();
+        testWriteFailureIsRecorded();
+        testConcurrentSolves();
+        
+        System.out.println("All Clue-Only Puzzle tests passed!");
+    }
+    
+    private static final boolean[][] HEART = {
+        {false, true, false, true, false},
+        {true, true, true, true, true},
+        {true, true, true, true, true},
+        {false, true, true, true, false},
+        {false, false, true, false, false}
+    };
+    
+    private static Puzzle heartFromClues(String id) {
+        ClueGenerator clues = ClueGenerator.generate(HEART);
+        int[][] rowClues = new int[5][];
+        int[][] columnClues = new int[5][];
+        for (int i = 0; i < 5; i++) {
+            rowClues[i] = clues.getRowClues(i);
+            columnClues[i] = clues.getColumnClues(i);
+        }
+        return new Puzzle(id, "Heart from clues", rowClues, columnClues);
+    }
+    
+    private static void testUnsolvedPuzzle() {
+        Puzzle puzzle = heartFromClues("CLUE_HEART");
+        assert puzzle.isClueOnly() : "Puzzle should be clue-only";
+        assert !puzzle.hasSolution() : "Puzzle should not have a solution yet";
+        assert puzzle.getRows() == 5 && puzzle.getCols() == 5 : "Size should come from the clues";
+        boolean threw = false;
+        try {
+            puzzle.getSolution();
+        } catch (IllegalStateException e) {
+            threw = true;
+        }
+        assert threw : "Unsolved puzzle should not return a solution";
+        
+        System.out.println("Unsolved puzzle test passed");
+    }
+    
+    private static void testResolveMatchesSolution() {
+        PuzzleLoader loader = new PuzzleLoader();
+        Puzzle puzzle = heartFromClues("CLUE_HEART");
+        loader.addPuzzle(Difficulty.EASY, puzzle);
+        loader.resolve(puzzle);
+        assert puzzle.hasSolution() : "Puzzle should be solved after resolve";
+        boolean[][] solution = puzzle.getSolution();
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                assert solution[row][col] == HEART[row][col] : "Solved cell should match the picture";
+            }
+        }
+        
+        // Wrong moves and completion behave as for solution-based puzzles
+        GameBoard board = new GameBoard(puzzle.getSolution());
+        board.getCell(0, 0).setCurrentState(CellState.FILLED);
+        assert board.getCell(0, 0).isWrong() : "Filling an empty cell should be wrong";
+        board.reset();
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                board.getCell(row, col).setCurrentState(HEART[row][col] ? CellState.FILLED : CellState.MARKED);
+            }
+        }
+        assert board.isPuzzleComplete() : "Board should complete with the derived solution";
+        assert loader.getRating(puzzle) != null : "Clue-only puzzle should be rated after solving";
+        
+        System.out.println("Resolve test passed");
+    }
+    
+    private static void testMemoryCache() {
+        SolutionCache cache = new SolutionCache();
+        PuzzleLoader loader = new PuzzleLoader(cache);
+        loader.resolve(heartFromClues("A"));
+        loader.resolve(heartFromClues("B"));
+        assert cache.getSolves() == 1 : "Same clues should be solved once";
+        assert cache.getHits() == 1 : "Second load should hit the cache";
+        
+        // Resolving an already solved puzzle does not touch the cache
+        Puzzle solved = heartFromClues("C");
+        loader.resolve(solved);
+        loader.resolve(solved);
+        assert cache.getHits() == 2 : "Solved puzzle should not be looked up again";
+        
+        System.out.println("Memory cache test passed");
+    }
+    
+    private static void testFileCache() throws IOException {
+        File file = File.createTempFile("nonogram-solutions", ".cache");
+        file.delete();
+        try {
+            SolutionCache first = new SolutionCache(file);
+            first.resolve(heartFromClues("A"));
+            assert first.getSolves() == 1 : "First run should solve";
+            assert file.exists() : "Solution should be written to the file";
+            
+            // A fresh cache reads the file and skips solving
+            SolutionCache second = new SolutionCache(file);
+            Puzzle puzzle = heartFromClues("B");
+            second.resolve(puzzle);
+            assert second.getSolves() == 0 : "Second run should not solve";
+            assert second.getHits() == 1 : "Second run should hit the file cache";
+            assert puzzle.getSolution()[4][2] : "Cached solution should be restored";
+            
+            // Malformed lines are skipped and counted
+            try (FileWriter writer = new FileWriter(file, true)) {
+                writer.write("garbage line\nabc 2 2 !!!\n");
+            }
+            SolutionCache third = new SolutionCache(file);
+            assert third.size() == 1 : "Only the valid entry should load";
+            assert third.getSkippedEntries() == 2 : "Both malformed lines should be counted";
+            assert second.getSkippedEntries() == 0 : "A clean file has no skipped entries";
+            assert third.getLastError() == null : "Malformed lines are not I/O errors";
+        } finally {
+            file.delete();
+        }
+        
+        System.out.println("File cache test passed");
+    }
+    
+    private static void testWriteFailureIsRecorded() throws IOException {
+        // A directory cannot be opened for appending
+        File folder = File.createTempFile("nonogram-solutions", "");
+        folder.delete();
+        folder.mkdir();
+        try {
+            SolutionCache cache = new SolutionCache(folder);
+            Puzzle puzzle = heartFromClues("D");
+            cache.resolve(puzzle);
+            assert puzzle.getSolution()[4][2] : "Solving should still succeed";
+            assert cache.getLastError() != null : "The failed write should be recorded";
+        } finally {
+            folder.delete();
+        }
+        
+        System.out.println("Write failure test passed");
+    }
+    
+    private static void testConcurrentSolves() throws InterruptedException {
+        SolutionCache cache = new SolutionCache();
+        Puzzle template = heartFromClues("E");
+        boolean[][][] results = new boolean[4][][];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            int slot = i;
+            threads[i] = new Thread(() -> results[slot] = cache.getSolution(template.getRowClues(), template.getColumnClues()));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (boolean[][] result : results) {
+            for (int row = 0; row < 5; row++) {
+                assert java.util.Arrays.equals(result[row], HEART[row]) : "Every caller should get the solution";
+            }
+        }
+        assert cache.size() == 1 : "Concurrent solves should publish one entry";
+        assert cache.getSolves() + cache.getHits() == results.length : "Every call is either a solve or a hit";
+        
+        System.out.println("Concurrent solve test passed");
+    }
+    
+    private static void testInvalidClues() {
+        SolutionCache cache = new SolutionCache();
+        
+        // A 2x2 board with a 1 in every line has two solutions
+        boolean threw = false;
+        try {
+            cache.getSolution(new int[][] {{1}, {1}}, new int[][] {{1}, {1}});
+        } catch (IllegalArgumentException e) {
+            threw = true;
+        }
+        assert threw : "Ambiguous clues should be rejected";
+        
+        // Clues that cannot be satisfied
+        threw = false;
+        try {
+            cache.getSolution(new int[][] {{2}, {0}}, new int[][] {{0}, {0}});
+        } catch (IllegalArgumentException e) {
+            threw = true;
+        }
+        assert threw : "Contradictory clues should be rejected";
+        
+        System.out.println("Invalid clues test passed");
+    }
+}
@@ -0,0 +1,145 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import nonogram.datastructures.MyLinkedList;
+
+public class TestDifficultyClassifier {
+    public static void main(String[] args) {
+        System.out.println("Testing Difficulty Classifier...");
+        
+        testStoredRatingsMatchSolver();
+        testParallelMatchesSequential();
+        testGrades();
+        testLazyRating();
+        testClueOnlyCatalog();
+        
+        System.out.println("All Difficulty Classifier tests passed!");
+    }
+    
+    private static void testStoredRatingsMatchSolver() {
+        PuzzleLoader loader = new PuzzleLoader();
+        for (Puzzle puzzle : loader.getAllPuzzles()) {
+            assert puzzle.hasRating() : puzzle.getName() + " should ship with a rating";
+            DifficultyRating stored = puzzle.getRating();
+            DifficultyRating measured = DifficultyClassifier.rate(puzzle);
+            assert stored.getLineSolves() == measured.getLineSolves() : "Stored line solves are stale for " + puzzle.getName();
+            assert stored.getBranches() == measured.getBranches() : "Stored branches are stale for " + puzzle.getName();
+            assert stored.getMaxDepth() == measured.getMaxDepth() : "Stored depth is stale for " + puzzle.getName();
+            assert stored.getScore() == measured.getScore() : "Stored score is stale for " + puzzle.getName();
+        }
+        
+        System.out.println("Stored ratings test passed");
+    }
+    
+    private static void testParallelMatchesSequential() {
+        PuzzleLoader loader = new PuzzleLoader();
+        MyLinkedList<Puzzle> catalog = loader.getAllPuzzles();
+        DifficultyRating[] ratings = DifficultyClassifier.rateAll(catalog);
+        assert ratings.length == catalog.size() : "Should rate every puzzle";
+        int i = 0;
+        for (Puzzle puzzle : catalog) {
+            assert ratings[i].getScore() == DifficultyClassifier.rate(puzzle).getScore() : "Parallel rating should match for " + puzzle.getName();
+            i++;
+        }
+        
+        System.out.println("Parallel rating test passed");
+    }
+    
+    private static void testGrades() {
+        // A full square needs one pass of line solving and no search
+        boolean[][] full = new boolean[5][5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                full[i][j] = true;
+            }
+        }
+        DifficultyRating trivial = DifficultyClassifier.rate(full);
+        assert !trivial.usedSearch() : "Full square should not need search";
+        assert trivial.getPasses() == 1 : "Full square should take one pass";
+        assert trivial.getGrade() == 1 : "Full square should be trivial";
+        
+        // A checkerboard has two solutions for line logic and needs search
+        boolean[][] checker = new boolean[4][4];
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                checker[i][j] = (i + j) % 2 == 0;
+            }
+        }
+        DifficultyRating searched = DifficultyClassifier.rate(checker);
+        assert searched.usedSearch() : "Checkerboard should need search";
+        assert searched.getScore() > trivial.getScore() : "Search should raise the score";
+        assert searched.getGrade() > trivial.getGrade() : "Search should raise the grade";
+        
+        System.out.println("Grade test passed");
+    }
+    
+    private static void testLazyRating() {
+        PuzzleLoader loader = new PuzzleLoader();
+        boolean[][] line = {{true, false, true}};
+        Puzzle puzzle = new Puzzle("LINE", "Line", line);
+        assert !puzzle.hasRating() : "New puzzle should not have a rating";
+        DifficultyRating rating = loader.getRating(puzzle);
+        assert puzzle.hasRating() && puzzle.getRating() == rating : "Rating should be stored with the puzzle";
+        
+        System.out.println("Lazy rating test passed");
+    }
+    
+    private static void testClueOnlyCatalog() {
+        PuzzleLoader loader = new PuzzleLoader();
+        MyLinkedList<Puzzle> catalog = new MyLinkedList<>();
+        for (Puzzle puzzle : loader.getAllPuzzles()) {
+            catalog.add(clueOnly(puzzle));
+        }
+        
+        // Clue-only puzzles are solved through the cache before they are rated
+        MyLinkedList<Puzzle> skipped = new MyLinkedList<>();
+        DifficultyRating[] ratings = DifficultyClassifier.rateAll(catalog, loader.getSolutionCache(), skipped);
+        int i = 0;
+        int rated = 0;
+        for (Puzzle puzzle : loader.getAllPuzzles()) {
+            Puzzle clues = catalog.get(i);
+            if (ratings[i] != null) {
+                assert ratings[i].getScore() == puzzle.getRating().getScore() : "Clue-only rating should match for " + puzzle.getName();
+                assert clues.hasSolution() : "Rating should leave the puzzle resolved";
+                rated++;
+            } else {
+                // Clues with several solutions cannot be resolved, so they are reported instead
+                assert !clues.hasSolution() && contains(skipped, clues) : puzzle.getName() + " should be reported as skipped";
+            }
+            i++;
+        }
+        assert rated > 0 && rated + skipped.size() == catalog.size() : "Every puzzle should be rated or skipped";
+        assert loader.getSolutionCache().getSolves() == rated : "Each resolvable puzzle should be solved once";
+        
+        // Classifying rates what it can and leaves the rest unrated
+        MyLinkedList<Puzzle> unrated = new MyLinkedList<>();
+        DifficultyClassifier.classifyAll(catalog, loader.getSolutionCache(), unrated);
+        assert unrated.size() == skipped.size() : "Classifying should skip the same puzzles";
+        for (Puzzle puzzle : unrated) {
+            assert !puzzle.hasRating() : "Skipped puzzles should stay unrated";
+        }
+        
+        System.out.println("Clue-only catalog test passed");
+    }
+    
+    private static Puzzle clueOnly(Puzzle puzzle) {
+        ClueGenerator clues = ClueGenerator.generate(puzzle.getSolution());
+        int[][] rowClues = new int[puzzle.getRows()][];
+        int[][] columnClues = new int[puzzle.getCols()][];
+        for (int row = 0; row < rowClues.length; row++) {
+            rowClues[row] = clues.getRowClues(row);
+        }
+        for (int col = 0; col < columnClues.length; col++) {
+            columnClues[col] = clues.getColumnClues(col);
+        }
+        return new Puzzle(puzzle.getPuzzleId(), puzzle.getName(), rowClues, columnClues);
+    }
+    
+    private static boolean contains(MyLinkedList<Puzzle> puzzles, Puzzle target) {
+        for (Puzzle puzzle : puzzles) {
+            if (puzzle == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,12 @@
 import nonogram.model.*;
+import java.util.Random;
 import nonogram.controller.HintGenerator;
+import nonogram.controller.HintIndex;
+import nonogram.controller.LineSolver;
+import nonogram.controller.HintPrecomputer;
+import nonogram.controller.HintStream;
+import nonogram.controller.MoveValidator;
+import nonogram.datastructures.IntArrayList;
 
 public class TestHintSystem {
     public static void main(String[] args) {
@@ -8,6 +15,10 @@ public class TestHintSystem {
         testCompleteLineHint();
         testEdgeDeductionHint();
         testGameStateWithHints();
+        testHintPrecomputation();
+        testHintIndexMatchesFreshIndex();
+        testErrorDetection();
+        testHintStream();
         
         System.out.println("All Hint System tests passed!");
     }
@@ -87,4 +98,223 @@ public class TestHintSystem {
         
         System.out.println("GameState with hints test passed");
     }
+    
+    private static void testHintPrecomputation() {
+        boolean[][] solution = {
+            {true, true, true, true, true},
+            {true, false, true, false, true},
+            {false, true, true, true, false},
+            {true, false, false, false, true},
+            {false, false, true, false, false}
+        };
+        
+        GameBoard board = new GameBoard(solution);
+        HintPrecomputer precomputer = new HintPrecomputer();
+        
+        // Precomputed hint matches the synchronous result
+        precomputer.start(board);
+        Hint hint = precomputer.getHint();
+        assert hint != null : "Precomputed hint should be available";
+        assert hint.getType() == HintType.COMPLETE_LINE && hint.getLineIndex() == 0 : "Should be the first row hint";
+        
+        // Reported changes reach the worker's index before the next hint
+        for (int col = 0; col < 5; col++) {
+            board.getCell(0, col).setCurrentState(CellState.FILLED);
+            precomputer.cellChanged(0, col, CellState.FILLED);
+        }
+        precomputer.schedule();
+        Hint fresh = precomputer.getHint();
+        assert fresh != null : "Should still produce a hint";
+        assert !(fresh.isRowHint() && fresh.getLineIndex() == 0) : "Stale hint for the finished row should not be served";
+        Hint expected = HintGenerator.generateHint(board);
+        assert fresh.isRowHint() == expected.isRowHint() && fresh.getLineIndex() == expected.getLineIndex() : "Worker index should match a fresh index";
+        assert precomputer.isReady() : "Nothing is pending once the hint is served";
+        
+        // A burst of schedules cancels the superseded passes without losing changes
+        for (int i = 0; i < 100; i++) {
+            precomputer.schedule();
+        }
+        Hint afterBurst = precomputer.getHint();
+        assert afterBurst.isRowHint() == expected.isRowHint() && afterBurst.getLineIndex() == expected.getLineIndex() : "Cancelled passes should not corrupt the index";
+        
+        precomputer.shutdown();
+        
+        System.out.println("Hint precomputation test passed");
+    }
+    
+    private static void testHintIndexMatchesFreshIndex() {
+        Random random = new Random(9);
+        boolean[][] solution = new boolean[30][30];
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j < 30; j++) {
+                solution[i][j] = random.nextInt(10) < 6;
+            }
+        }
+        GameBoard board = new GameBoard(solution);
+        HintIndex index = new HintIndex(board);
+        
+        // Apply hints one cell at a time and compare with a freshly built index each step
+        int steps = 0;
+        while (true) {
+            Hint expected = HintGenerator.generateHint(board);
+            Hint actual = index.bestHint();
+            if (expected == null) {
+                assert actual == null : "Index should have no hint when a fresh index has none";
+                break;
+            }
+            assert actual != null : "Index should have a hint when a fresh index has one";
+            assert actual.getType() == expected.getType() : "Hint types should match";
+            assert actual.isRowHint() == expected.isRowHint() && actual.getLineIndex() == expected.getLineIndex() : "Hint lines should match";
+            
+            CellPosition pos = actual.getAffectedCells().get(0);
+            CellState state = actual.getExpectedState(0);
+            board.getCell(pos.getRow(), pos.getCol()).setCurrentState(state);
+            int before = index.getLineRecomputes();
+            index.setState(pos.getRow(), pos.getCol(), state == CellState.FILLED ? LineSolver.FILLED : LineSolver.EMPTY);
+            index.bestHint();
+            assert index.getLineRecomputes() - before <= 2 : "A move should only recompute its row and column";
+            steps++;
+        }
+        assert steps > 0 : "Should apply at least one hint";
+        
+        System.out.println("Hint index test passed");
+    }
+    
+    private static void testErrorDetection() {
+        boolean[][] solution = {
+            {true, true, true, true, true},
+            {true, false, true, false, true},
+            {false, true, true, true, false},
+            {true, false, false, false, true},
+            {false, false, true, false, false}
+        };
+        
+        GameBoard board = new GameBoard(solution);
+        MoveValidator validator = new MoveValidator(board);
+        assert !validator.hasContradiction() : "Empty board should have no contradiction";
+        assert validator.firstContradictedLine() == -1 : "No line should be contradicted";
+        assert validator.getErrorHint() == null : "No error hint without a contradiction";
+        
+        // Row 4 has clue [1], so two adjacent filled cells can never match it
+        board.getCell(4, 0).setCurrentState(CellState.FILLED);
+        boolean contradicted = validator.recheck(4, 0);
+        assert !contradicted : "A single filled cell still fits clue [1]";
+        assert validator.wouldContradict(4, 1, CellState.FILLED) : "Second filled cell should contradict clue [1]";
+        assert !validator.wouldContradict(4, 3, CellState.MARKED) : "Marking a cell should not contradict";
+        assert !validator.hasContradiction() : "Checking a move should not change the validator";
+        
+        board.getCell(4, 1).setCurrentState(CellState.FILLED);
+        int before = validator.getLineChecks();
+        contradicted = validator.recheck(4, 1);
+        assert contradicted : "Validator should detect the contradiction";
+        assert validator.getLineChecks() - before == 2 : "A move should only recheck its row and column";
+        assert validator.firstContradictedLine() == 4 : "Row 4 should be the earliest contradicted line";
+        assert validator.getContradictedLineCount() == 1 : "Only row 4 should be contradicted";
+        
+        Hint error = validator.getErrorHint();
+        assert error.getType() == HintType.ERROR_DETECTION : "Should be an error hint";
+        assert error.isRowHint() && error.getLineIndex() == 4 : "Error hint should point at row 4";
+        assert error.getAffectedCells().size() == 2 : "Error hint should list the two filled cells";
+        
+        // The hint generators should report the error before anything else
+        Hint hint = HintGenerator.generateHint(board);
+        assert hint.getType() == HintType.ERROR_DETECTION : "A fresh index should report the error";
+        assert hint.getLineIndex() == 4 : "A fresh index should point at row 4";
+        Hint indexed = new HintIndex(board).bestHint();
+        assert indexed.getType() == HintType.ERROR_DETECTION : "Hint index should report the error";
+        
+        // Undoing the move clears the contradiction, rechecking only the lines it touched
+        board.getCell(4, 1).setCurrentState(CellState.UNKNOWN);
+        IntArrayList changed = new IntArrayList();
+        changed.add(4 * 5 + 1);
+        before = validator.getLineChecks();
+        contradicted = validator.recheckCells(changed);
+        assert !contradicted : "Contradiction should clear after undo";
+        assert validator.getLineChecks() - before == 2 : "Undo should only recheck row 4 and column 1";
+        
+        // Cells sharing a row are checked once per line
+        board.getCell(4, 0).setCurrentState(CellState.UNKNOWN);
+        board.getCell(4, 2).setCurrentState(CellState.FILLED);
+        board.getCell(4, 3).setCurrentState(CellState.FILLED);
+        changed.clear();
+        changed.add(4 * 5);
+        changed.add(4 * 5 + 2);
+        changed.add(4 * 5 + 3);
+        before = validator.getLineChecks();
+        contradicted = validator.recheckCells(changed);
+        assert contradicted : "Two filled cells in row 4 should contradict clue [1]";
+        assert validator.getLineChecks() - before == 4 : "Three cells in one row should recheck four lines";
+        contradicted = validator.recheckAll();
+        assert contradicted : "A full recheck should agree with the partial one";
+        assert validator.getContradictedLineCount() == 1 : "Only row 4 should be contradicted";
+        
+        System.out.println("Error detection test passed");
+    }
+    
+    private static void testHintStream() {
+        boolean[][] solution = {
+            {true, true, true, true, true},
+            {true, false, true, false, true},
+            {false, true, true, true, false},
+            {true, false, false, false, true},
+            {false, false, true, false, false}
+        };
+        GameBoard board = new GameBoard(solution);
+        
+        // Hints available right now come out in priority order, one per line
+        Hint first = HintGenerator.generateHint(board);
+        HintStream stream = HintStream.of(board);
+        int lastRank = -1;
+        int count = 0;
+        boolean[] seenRows = new boolean[5];
+        boolean[] seenCols = new boolean[5];
+        for (Hint hint : stream) {
+            if (count == 0) {
+                assert hint.getType() == first.getType() && hint.getLineIndex() == first.getLineIndex() : "First streamed hint should match generateHint";
+            }
+            int rank = hint.getType() == HintType.ERROR_DETECTION ? 0 : hint.getType().ordinal() + 1;
+            assert rank >= lastRank : "Hints should come out in priority order";
+            lastRank = rank;
+            boolean[] seen = hint.isRowHint() ? seenRows : seenCols;
+            assert !seen[hint.getLineIndex()] : "Each line should be reported once";
+            seen[hint.getLineIndex()] = true;
+            count++;
+        }
+        assert count > 1 : "Should stream more than one hint";
+        assert stream.getLineRecomputes() == 10 : "Streaming should not re-scan lines";
+        
+        // A limit stops the stream early
+        assert HintStream.of(board).limit(2).toList().size() == 2 : "Limit should cap the number of hints";
+        assert !HintStream.of(board).limit(0).hasNext() : "Zero limit should yield nothing";
+        
+        // A walkthrough applies each hint before computing the next one
+        HintStream walkthrough = HintStream.walkthrough(board);
+        byte[] states = new byte[25];
+        for (Hint hint : walkthrough) {
+            assert hint.getType() != HintType.ERROR_DETECTION : "Walkthrough of a valid board should not hit an error";
+            for (int i = 0; i < hint.getAffectedCells().size(); i++) {
+                CellPosition pos = hint.getAffectedCells().get(i);
+                states[pos.getRow() * 5 + pos.getCol()] = hint.getExpectedState(i) == CellState.FILLED ? LineSolver.FILLED : LineSolver.EMPTY;
+            }
+        }
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                byte expected = solution[row][col] ? LineSolver.FILLED : LineSolver.EMPTY;
+                assert states[row * 5 + col] == expected : "Walkthrough should solve the puzzle";
+            }
+        }
+        assert board.getCell(0, 0).getCurrentState() == CellState.UNKNOWN : "Walkthrough should not change the board";
+        
+        // An expired deadline stops the stream before any work
+        HintStream late = HintStream.of(board).deadline(0);
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        assert !late.hasNext() : "Expired deadline should yield nothing";
+        assert late.isTimedOut() : "Stream should report the timeout";
+        
+        System.out.println("Hint stream test passed");
+    }
 }
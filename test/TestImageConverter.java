@@ -0,0 +1,345 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import nonogram.datastructures.MyHashMap;
+import nonogram.datastructures.MyLinkedList;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+public class TestImageConverter {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing Image Converter...");
+        
+        testRectangle();
+        testUnevenLighting();
+        testSmallImageUpscales();
+        testUniqueness();
+        testBatchToPack();
+        testPackSkipsMalformedLines();
+        testBatchStopsAfterSinkFailure();
+        testCollidingNamesGetUniqueIds();
+        testNamesWithSpacesRoundTrip();
+        testBatchToCatalog();
+        
+        System.out.println("All Image Converter tests passed!");
+    }
+    
+    private static BufferedImage rectangleImage(Color background, Color shape) {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(background);
+        g.fillRect(0, 0, 100, 100);
+        g.setColor(shape);
+        g.fillRect(20, 30, 50, 40);
+        g.dispose();
+        return image;
+    }
+    
+    private static void assertRectangle(boolean[][] grid) {
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                boolean inside = row >= 3 && row < 7 && col >= 2 && col < 7;
+                assert grid[row][col] == inside : "Cell (" + row + "," + col + ") should be " + inside;
+            }
+        }
+    }
+    
+    private static void testRectangle() {
+        ImageConverter converter = new ImageConverter(10, 10);
+        boolean[][] grid = converter.convert(rectangleImage(Color.WHITE, Color.BLACK));
+        assert grid != null : "A rectangle is line-solvable and should be accepted";
+        assertRectangle(grid);
+        
+        // Inverted colours are thresholded the other way round
+        converter.setRequireUnique(false);
+        boolean[][] inverted = converter.convert(rectangleImage(Color.BLACK, Color.WHITE));
+        assert !inverted[5][5] && inverted[0][0] : "Light shape on dark background should leave the shape empty";
+        
+        System.out.println("Rectangle test passed");
+    }
+    
+    private static void testUnevenLighting() {
+        // A darkening background with a shape that is only darker than its surroundings
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 100; y++) {
+            for (int x = 0; x < 100; x++) {
+                int level = 240 - x;
+                boolean inside = x >= 20 && x < 70 && y >= 30 && y < 70;
+                int value = inside ? level - 120 : level;
+                image.setRGB(x, y, new Color(value, value, value).getRGB());
+            }
+        }
+        ImageConverter converter = new ImageConverter(10, 10);
+        converter.setRequireUnique(false);
+        assertRectangle(converter.convert(image));
+        
+        System.out.println("Uneven lighting test passed");
+    }
+    
+    private static void testSmallImageUpscales() {
+        // A 5x5 image has fewer pixels than a 10x10 grid has cells
+        BufferedImage image = new BufferedImage(5, 5, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 5; x++) {
+                image.setRGB(x, y, x == 0 ? 0x000000 : 0xFFFFFF);
+            }
+        }
+        ImageConverter converter = new ImageConverter(10, 10);
+        converter.setRequireUnique(false);
+        boolean[][] stripe = converter.convert(image);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                assert stripe[row][col] == col < 2 : "Cell (" + row + "," + col + ") should sample its source pixel";
+            }
+        }
+        
+        BufferedImage black = new BufferedImage(5, 5, BufferedImage.TYPE_INT_RGB);
+        boolean[][] grid = converter.convert(black);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                assert grid[row][col] : "An all-black image should fill every cell, missing (" + row + "," + col + ")";
+            }
+        }
+        
+        System.out.println("Small image upscale test passed");
+    }
+    
+    private static void testUniqueness() {
+        Random random = new Random(11);
+        BufferedImage noise = new BufferedImage(60, 60, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 60; y++) {
+            for (int x = 0; x < 60; x++) {
+                noise.setRGB(x, y, random.nextBoolean() ? 0xFFFFFF : 0x000000);
+            }
+        }
+        ImageConverter converter = new ImageConverter(15, 15);
+        boolean[][] grid = converter.convert(noise);
+        if (grid != null) {
+            // Anything accepted must solve by line logic alone and match its own clues
+            NonogramSolver solver = NonogramSolver.forBoard(new GameBoard(grid));
+            byte[] solved = solver.solve();
+            assert solved != null && !solver.usedSearch() : "Accepted grids should be line-solvable";
+        }
+        
+        converter.setRequireUnique(false);
+        boolean[][] converted = converter.convert(noise);
+        assert converted != null : "Without the uniqueness check every image converts";
+        
+        System.out.println("Uniqueness test passed");
+    }
+    
+    private static File imageFolder(int images) throws IOException {
+        File folder = File.createTempFile("nonogram-images", "");
+        folder.delete();
+        folder.mkdir();
+        folder.deleteOnExit();
+        for (int i = 0; i < images; i++) {
+            BufferedImage image = new BufferedImage(80, 80, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, 80, 80);
+            g.setColor(Color.BLACK);
+            g.fillRect(8 * (i % 4), 8, 40, 24 + 8 * (i % 3));
+            g.dispose();
+            File file = new File(folder, String.format("shape%02d.png", i));
+            ImageIO.write(image, "png", file);
+            file.deleteOnExit();
+        }
+        File broken = new File(folder, "broken.png");
+        try (FileWriter writer = new FileWriter(broken)) {
+            writer.write("not an image");
+        }
+        broken.deleteOnExit();
+        File ignored = new File(folder, "notes.txt");
+        ignored.createNewFile();
+        ignored.deleteOnExit();
+        return folder;
+    }
+    
+    private static void testBatchToPack() throws Exception {
+        File folder = imageFolder(12);
+        assert ImageBatchConverter.listImages(folder).length == 13 : "Only image files should be listed";
+        
+        File pack = File.createTempFile("nonogram-pack", ".txt");
+        pack.delete();
+        pack.deleteOnExit();
+        ImageBatchConverter batch = new ImageBatchConverter(new ImageConverter(10, 10), 3, 2);
+        int count = batch.convertToPack(folder, pack);
+        assert count == 12 : "All twelve shapes should convert, got " + count;
+        assert batch.getFailures().size() == 1 : "The broken file should be reported";
+        assert batch.getRejected() == 0 : "Rectangles should not be rejected";
+        
+        MyLinkedList<String> skipped = new MyLinkedList<>();
+        MyLinkedList<Puzzle> puzzles = PuzzlePack.read(pack, skipped);
+        assert skipped.isEmpty() : "Every written line should read back";
+        assert puzzles.size() == 12 : "Pack should hold every converted puzzle";
+        ImageConverter converter = new ImageConverter(10, 10);
+        for (Puzzle puzzle : puzzles) {
+            boolean[][] expected = converter.convert(new File(folder, puzzle.getName() + ".png")).getSolution();
+            for (int row = 0; row < 10; row++) {
+                for (int col = 0; col < 10; col++) {
+                    assert puzzle.getSolution()[row][col] == expected[row][col] : "Pack round-trip should keep " + puzzle.getName();
+                }
+            }
+        }
+        
+        System.out.println("Batch to pack test passed");
+    }
+    
+    private static void testPackSkipsMalformedLines() throws Exception {
+        File pack = File.createTempFile("nonogram-pack", ".txt");
+        pack.deleteOnExit();
+        try (FileWriter writer = new FileWriter(pack)) {
+            PuzzlePack.write(writer, new Puzzle("DOT", "Dot", new boolean[][] {{true, false}, {false, true}}));
+            writer.write("\nshort line\nBAD 2 2 !!! Bad\nBIG 9 9 AA== Too big\n");
+        }
+        MyLinkedList<String> skipped = new MyLinkedList<>();
+        MyLinkedList<Puzzle> puzzles = PuzzlePack.read(pack, skipped);
+        assert puzzles.size() == 1 && "DOT".equals(puzzles.get(0).getPuzzleId()) : "The valid entry should load";
+        assert skipped.size() == 3 : "Every malformed line should be reported, got " + skipped.size();
+        assert skipped.get(0).startsWith("Line 3") : "Reports should name the line, got " + skipped.get(0);
+        
+        System.out.println("Pack malformed line test passed");
+    }
+    
+    private static void testBatchStopsAfterSinkFailure() throws Exception {
+        File folder = imageFolder(8);
+        ImageBatchConverter batch = new ImageBatchConverter(new ImageConverter(10, 10), 1, 1);
+        int[] accepted = {0};
+        boolean threw = false;
+        try {
+            batch.convertFolder(folder, puzzle -> {
+                if (++accepted[0] == 3) {
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            threw = true;
+        }
+        assert threw : "A failing sink should fail the batch";
+        assert accepted[0] == 3 : "No puzzle should be handed over after the failure, got " + accepted[0];
+        assert batch.getConverted() == 2 : "Only puzzles the sink accepted should count as converted";
+        
+        System.out.println("Sink failure test passed");
+    }
+    
+    private static void testCollidingNamesGetUniqueIds() throws Exception {
+        File folder = File.createTempFile("nonogram-images", "");
+        folder.delete();
+        folder.mkdir();
+        folder.deleteOnExit();
+        BufferedImage image = rectangleImage(Color.WHITE, Color.BLACK);
+        for (String name : new String[] {"Cat.png", "cat.jpg", "CAT-2.png", "dog.png"}) {
+            File file = new File(folder, name);
+            ImageIO.write(image, name.endsWith(".jpg") ? "jpg" : "png", file);
+            file.deleteOnExit();
+        }
+        
+        // Case-insensitive duplicates get a suffix that avoids names already in the folder
+        MyLinkedList<Puzzle> puzzles = new MyLinkedList<>();
+        ImageBatchConverter batch = new ImageBatchConverter(new ImageConverter(10, 10), 2, 2);
+        int count = batch.convertFolder(folder, puzzle -> {
+            synchronized (puzzles) {
+                puzzles.add(puzzle);
+            }
+        });
+        assert count == 4 : "Every image should convert, got " + count;
+        MyHashMap<String, String> ids = new MyHashMap<>();
+        for (Puzzle puzzle : puzzles) {
+            assert !ids.containsKey(puzzle.getPuzzleId()) : "Duplicate puzzle id " + puzzle.getPuzzleId();
+            ids.put(puzzle.getPuzzleId(), puzzle.getName());
+        }
+        assert "CAT-2".equals(ids.get("CAT-2")) : "An explicit name keeps its id";
+        assert ids.containsKey("CAT") && ids.containsKey("CAT-3") && ids.containsKey("DOG");
+        
+        System.out.println("Colliding names test passed");
+    }
+    
+    private static void testNamesWithSpacesRoundTrip() throws Exception {
+        File folder = File.createTempFile("nonogram-images", "");
+        folder.delete();
+        folder.mkdir();
+        folder.deleteOnExit();
+        File image = new File(folder, "my  big cat.png");
+        ImageIO.write(rectangleImage(Color.WHITE, Color.BLACK), "png", image);
+        image.deleteOnExit();
+        
+        File pack = File.createTempFile("nonogram-pack", ".txt");
+        pack.delete();
+        pack.deleteOnExit();
+        int count = new ImageBatchConverter(new ImageConverter(10, 10), 1, 1).convertToPack(folder, pack);
+        assert count == 1 : "The image should convert";
+        
+        MyLinkedList<String> skipped = new MyLinkedList<>();
+        MyLinkedList<Puzzle> puzzles = PuzzlePack.read(pack, skipped);
+        assert skipped.isEmpty() : "A converted name should read back, skipped " + skipped.size();
+        assert puzzles.size() == 1 : "The pack should hold the puzzle";
+        assert "MY_BIG_CAT".equals(puzzles.get(0).getPuzzleId()) : "Whitespace in ids should become underscores";
+        assert "my  big cat".equals(puzzles.get(0).getName()) : "The display name keeps its spaces";
+        
+        // Ids the pack format cannot hold are refused rather than written
+        boolean threw = false;
+        try (FileWriter writer = new FileWriter(pack, true)) {
+            PuzzlePack.write(writer, new Puzzle("MY CAT", "My cat", new boolean[][] {{true}}));
+        } catch (IllegalArgumentException e) {
+            threw = true;
+        }
+        assert threw : "Writing an id with spaces should fail";
+        
+        System.out.println("Names with spaces round trip test passed");
+    }
+    
+    private static void testBatchToCatalog() throws Exception {
+        File folder = imageFolder(5);
+        ModelExecutor modelExecutor = new ModelExecutor();
+        boolean[] onModelThread = {true};
+        PuzzleLoader loader = new PuzzleLoader() {
+            @Override
+            public void addPuzzle(Difficulty difficulty, Puzzle puzzle) {
+                onModelThread[0] &= modelExecutor.isModelThread();
+                super.addPuzzle(difficulty, puzzle);
+            }
+        };
+        int before = loader.getPuzzleCount(Difficulty.MEDIUM);
+        onModelThread[0] = true;
+        ImageBatchConverter batch = new ImageBatchConverter(new ImageConverter(10, 10), 2, 1);
+        int count = batch.convertToCatalog(folder, loader, Difficulty.MEDIUM, modelExecutor);
+        boolean idle = modelExecutor.awaitIdle(5000);
+        assert idle : "Catalog inserts should finish on the model thread";
+        assert count == 5 : "Every shape should reach the catalog";
+        assert loader.getPuzzleCount(Difficulty.MEDIUM) == before + 5 : "Catalog should grow by the converted puzzles";
+        assert onModelThread[0] : "Catalog inserts should run on the model thread";
+        modelExecutor.shutdown();
+        
+        // The controller imports through its own model thread and republishes the status
+        GameController controller = new GameController();
+        MyLinkedList<ChangeSet> published = new MyLinkedList<>();
+        controller.setChangeListener(published::add);
+        controller.setDifficulty(Difficulty.EXPERT);
+        waitForModel(controller);
+        int expertCount = 5;
+        for (int i = 0; i < expertCount - 1; i++) {
+            controller.nextPuzzle();
+        }
+        waitForModel(controller);
+        assert !controller.hasNextPuzzle() : "Last expert puzzle has no successor yet";
+        int imported = controller.importImages(new ImageBatchConverter(new ImageConverter(10, 10), 2, 1), folder, Difficulty.EXPERT);
+        waitForModel(controller);
+        assert imported == 5;
+        assert controller.hasNextPuzzle() : "Imported puzzles should follow the last one";
+        assert published.get(published.size() - 1).hasNextPuzzle() : "The view should learn about the new puzzles";
+        
+        System.out.println("Batch to catalog test passed");
+    }
+    
+    private static void waitForModel(GameController controller) throws InterruptedException {
+        boolean idle = controller.awaitIdle(5000);
+        assert idle : "Model thread should finish the queued actions";
+    }
+}
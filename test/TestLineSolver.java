@@ -0,0 +1,226 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyLinkedList;
+import java.util.Random;
+
+public class TestLineSolver {
+    public static void main(String[] args) {
+        System.out.println("Testing Line Solver...");
+        
+        testSimpleOverlap();
+        testContradiction();
+        testAgainstBruteForce();
+        testCatalogSolves();
+        testHintOnLargeBoard();
+        
+        System.out.println("All Line Solver tests passed!");
+    }
+    
+    private static IntArrayList clues(int... values) {
+        IntArrayList list = new IntArrayList();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+    
+    private static void testSimpleOverlap() {
+        LineSolver solver = new LineSolver();
+        
+        // Clue 4 in a line of 5 forces the middle 3 cells
+        byte[] line = new byte[5];
+        int changed = solver.solve(clues(4), line, 5);
+        assert changed == 3 : "Should deduce 3 cells but got " + changed;
+        assert line[0] == LineSolver.UNKNOWN && line[1] == LineSolver.FILLED && line[4] == LineSolver.UNKNOWN : "Only the overlap should be filled";
+        
+        // Clue 0 empties the whole line
+        byte[] empty = new byte[4];
+        int emptied = solver.solve(clues(0), empty, 4);
+        assert emptied == 4 : "Clue 0 should mark every cell";
+        assert empty[2] == LineSolver.EMPTY : "Cells should be empty";
+        
+        System.out.println("Simple overlap test passed");
+    }
+    
+    private static void testContradiction() {
+        LineSolver solver = new LineSolver();
+        byte[] line = {LineSolver.FILLED, LineSolver.EMPTY, LineSolver.FILLED, LineSolver.UNKNOWN};
+        int result = solver.solve(clues(3), line, 4);
+        assert result == -1 : "Line with no valid arrangement should report -1";
+        
+        System.out.println("Contradiction test passed");
+    }
+    
+    private static void testAgainstBruteForce() {
+        Random random = new Random(11);
+        LineSolver solver = new LineSolver();
+        for (int trial = 0; trial < 2000; trial++) {
+            int length = 1 + random.nextInt(12);
+            boolean[] truth = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                truth[i] = random.nextInt(3) > 0;
+            }
+            IntArrayList lineClues = runsOf(truth);
+            byte[] line = new byte[length];
+            for (int i = 0; i < length; i++) {
+                if (random.nextInt(3) == 0) {
+                    line[i] = truth[i] ? LineSolver.FILLED : LineSolver.EMPTY;
+                }
+            }
+            byte[] expected = bruteForce(lineClues, line, length);
+            byte[] actual = line.clone();
+            int changed = solver.solve(lineClues, actual, length);
+            assert changed >= 0 : "Consistent line should not report contradiction";
+            for (int i = 0; i < length; i++) {
+                assert actual[i] == expected[i] : "Mismatch with brute force at trial " + trial;
+            }
+        }
+        
+        System.out.println("Brute force comparison test passed");
+    }
+    
+    private static void testCatalogSolves() {
+        PuzzleLoader loader = new PuzzleLoader();
+        MyLinkedList<Puzzle> puzzles = loader.getAllPuzzles();
+        for (Puzzle puzzle : puzzles) {
+            GameBoard board = new GameBoard(puzzle.getSolution());
+            NonogramSolver solver = NonogramSolver.forBoard(board);
+            byte[] grid = solver.solve();
+            assert grid != null : "Solver should solve " + puzzle.getName();
+            GameBoard solved = new GameBoard(NonogramSolver.toSolution(grid, board.getRows(), board.getCols()));
+            for (int row = 0; row < board.getRows(); row++) {
+                assert solved.getRowClueValues(row).contentEquals(board.getRowClueValues(row)) : "Row clues should match for " + puzzle.getName();
+            }
+            for (int col = 0; col < board.getCols(); col++) {
+                assert solved.getColumnClueValues(col).contentEquals(board.getColumnClueValues(col)) : "Column clues should match for " + puzzle.getName();
+            }
+        }
+        
+        System.out.println("Catalog solve test passed");
+    }
+    
+    private static void testHintOnLargeBoard() {
+        Random random = new Random(5);
+        boolean[][][] solutions = new boolean[4][50][50];
+        for (boolean[][] solution : solutions) {
+            for (int i = 0; i < 50; i++) {
+                for (int j = 0; j < 50; j++) {
+                    solution[i][j] = random.nextInt(10) < 6;
+                }
+            }
+        }
+        
+        // The first board warms up the JIT; the rest are measured
+        long[] times = new long[10000];
+        int hints = 0;
+        long firstHints = 0;
+        long fullRebuilds = 0;
+        int rebuildCount = 0;
+        for (int round = 0; round < solutions.length; round++) {
+            GameBoard board = new GameBoard(solutions[round]);
+            HintIndex index = new HintIndex(board);
+            
+            // Play hints until none are left; every hint must be correct
+            boolean first = true;
+            int touchedLines = -1;
+            while (true) {
+                int recomputes = index.getLineRecomputes();
+                long start = System.nanoTime();
+                Hint hint = HintGenerator.generateHint(index);
+                long elapsed = System.nanoTime() - start;
+                int work = index.getLineRecomputes() - recomputes;
+                assert touchedLines < 0 || work <= touchedLines : "A hint should only recompute the lines the last move touched, got " + work;
+                if (hint == null) {
+                    break;
+                }
+                if (round > 0 && first) {
+                    firstHints += elapsed;
+                } else if (round > 0) {
+                    times[hints++] = elapsed;
+                    if (hints % 25 == 0) {
+                        long rebuildStart = System.nanoTime();
+                        HintGenerator.generateHint(board);
+                        fullRebuilds += System.nanoTime() - rebuildStart;
+                        rebuildCount++;
+                    }
+                }
+                first = false;
+                assert hint.getAffectedCells().size() > 0 : "Hint should list affected cells";
+                for (int i = 0; i < hint.getAffectedCells().size(); i++) {
+                    CellPosition pos = hint.getAffectedCells().get(i);
+                    Cell cell = board.getCell(pos.getRow(), pos.getCol());
+                    cell.setCurrentState(hint.getExpectedState(i));
+                    index.setState(pos.getRow(), pos.getCol(), stateOf(hint.getExpectedState(i)));
+                    assert !cell.isWrong() : "Hint should never deduce a wrong cell";
+                }
+                touchedLines = 1 + hint.getAffectedCells().size();
+            }
+        }
+        assert hints > 0 : "Should produce hints on a 50x50 board";
+        long[] sorted = java.util.Arrays.copyOf(times, hints);
+        java.util.Arrays.sort(sorted);
+        long total = 0;
+        for (long time : sorted) {
+            total += time;
+        }
+        long average = total / hints;
+        long median = sorted[hints / 2];
+        long p99 = sorted[hints * 99 / 100];
+        System.out.println("Played " + hints + " incremental hints on 50x50: average " + (average / 1000) + " us, median "
+                + (median / 1000) + " us, p99 " + (p99 / 1000) + " us, slowest " + (sorted[hints - 1] / 1000) + " us");
+        System.out.println("First hint per board " + (firstHints / (solutions.length - 1) / 1000) + " us, full rebuild "
+                + (fullRebuilds / rebuildCount / 1000) + " us");
+        assert median < 1_000_000 : "Incremental hints should take well under 1 ms, median " + (median / 1000) + " us";
+        
+        System.out.println("Large board hint test passed");
+    }
+    
+    private static byte stateOf(CellState state) {
+        return state == CellState.FILLED ? LineSolver.FILLED : state == CellState.MARKED ? LineSolver.EMPTY : LineSolver.UNKNOWN;
+    }
+    
+    private static IntArrayList runsOf(boolean[] line) {
+        IntArrayList runs = new IntArrayList();
+        int count = 0;
+        for (int i = 0; i <= line.length; i++) {
+            if (i < line.length && line[i]) {
+                count++;
+            } else if (count > 0) {
+                runs.add(count);
+                count = 0;
+            }
+        }
+        if (runs.isEmpty()) {
+            runs.add(0);
+        }
+        return runs;
+    }
+    
+    private static byte[] bruteForce(IntArrayList lineClues, byte[] line, int length) {
+        boolean seenFilled[] = new boolean[length];
+        boolean seenEmpty[] = new boolean[length];
+        for (int mask = 0; mask < (1 << length); mask++) {
+            boolean[] candidate = new boolean[length];
+            boolean consistent = true;
+            for (int i = 0; i < length; i++) {
+                candidate[i] = (mask & (1 << i)) != 0;
+                if ((line[i] == LineSolver.FILLED && !candidate[i]) || (line[i] == LineSolver.EMPTY && candidate[i])) {
+                    consistent = false;
+                }
+            }
+            if (!consistent || !runsOf(candidate).contentEquals(lineClues)) {
+                continue;
+            }
+            for (int i = 0; i < length; i++) {
+                if (candidate[i]) seenFilled[i] = true; else seenEmpty[i] = true;
+            }
+        }
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            if (seenFilled[i] && !seenEmpty[i]) result[i] = LineSolver.FILLED;
+            else if (seenEmpty[i] && !seenFilled[i]) result[i] = LineSolver.EMPTY;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,363 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.MyArrayList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TestMoveProcessing {
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Testing Move Processing...");
+        
+        testExecutorOrder();
+        testExecutorSurvivesFailures();
+        testChangeSetImmutable();
+        testClickSequence();
+        testWrongMovesAndUndo();
+        testStrokeIsOneHistoryEntry();
+        testStrokeStopsAtWrongCell();
+        testHintsFollowMoves();
+        testChangedCellReporting();
+        
+        System.out.println("All Move Processing tests passed!");
+    }
+    
+    private static void testExecutorOrder() throws InterruptedException {
+        ModelExecutor executor = new ModelExecutor();
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        boolean[] onModelThread = {true};
+        for (int i = 0; i < 10000; i++) {
+            int value = i;
+            executor.execute(() -> {
+                seen.add(value);
+                onModelThread[0] &= executor.isModelThread();
+            });
+        }
+        assert !executor.isModelThread() : "The caller is not the model thread";
+        waitForModel(executor);
+        assert seen.size() == 10000 : "No task may be dropped";
+        for (int i = 0; i < seen.size(); i++) {
+            assert seen.get(i) == i : "Tasks must run in submission order";
+        }
+        assert onModelThread[0] : "Tasks should run on the model thread";
+        executor.shutdown();
+        
+        System.out.println("Executor order test passed");
+    }
+    
+    private static void testExecutorSurvivesFailures() throws InterruptedException {
+        List<Throwable> reported = Collections.synchronizedList(new ArrayList<>());
+        ModelExecutor executor = new ModelExecutor(reported::add);
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        executor.execute(() -> seen.add(1));
+        executor.execute(() -> { throw new IllegalStateException("expected by test"); });
+        executor.execute(() -> { throw new Error("expected by test"); });
+        executor.execute(() -> seen.add(2));
+        waitForModel(executor);
+        assert seen.size() == 2 && seen.get(1) == 2 : "A failing task should not stop later ones";
+        assert executor.getFailureCount() == 2 && reported.size() == 2 : "Every failure should reach the handler";
+        assert reported.get(1) instanceof Error : "Errors should be reported rather than kill the model thread";
+        executor.shutdown();
+        
+        // A failing action is published to the view as an error change set
+        GameController controller = new GameController();
+        List<ChangeSet> published = Collections.synchronizedList(new ArrayList<>());
+        controller.setChangeListener(published::add);
+        controller.startNewGame();
+        controller.handleCellClick(-1, 0);
+        controller.handleCellClick(0, 0);
+        waitForModel(controller);
+        assert published.size() == 3 : "Actions after a failure should still be processed";
+        ChangeSet failed = published.get(1);
+        assert failed.hasError() && failed.getErrorMessage().contains("IndexOutOfBoundsException") : "Failure should be reported in a change set";
+        assert failed.getLives() == 3 : "Error change set should carry the current status";
+        assert !published.get(2).hasError();
+        
+        System.out.println("Executor failure test passed");
+    }
+    
+    private static void testChangeSetImmutable() {
+        double[] heatmap = {0.25, 0.75};
+        ChangeSet changes = new ChangeSet.Builder(7).cell(1, CellState.FILLED).heatmap(heatmap).wrongMove(0, 1).build();
+        heatmap[0] = 1.0;
+        assert changes.getHeatmapValue(0) == 0.25 : "Change set should copy the heatmap";
+        changes.getHeatmap()[1] = 0.0;
+        assert changes.getHeatmapValue(1) == 0.75 : "Heatmap getter should return a copy";
+        assert changes.getSequence() == 7 && changes.getCellCount() == 1;
+        assert changes.getCellIndex(0) == 1 && changes.getCellState(0) == CellState.FILLED;
+        assert changes.hasWrongMove() && !changes.isNewBoard() && !changes.isHintRequested();
+        
+        System.out.println("Change set immutability test passed");
+    }
+    
+    private static void testClickSequence() throws InterruptedException {
+        GameController controller = new GameController();
+        List<ChangeSet> published = Collections.synchronizedList(new ArrayList<>());
+        controller.setChangeListener(published::add);
+        controller.startNewGame();
+        waitForModel(controller);
+        GameBoard board = published.get(0).getBoard();
+        assert board != null : "First change set should bind the new board";
+        assert published.get(0).getCellCount() == board.getRows() * board.getCols() : "New board should carry every cell";
+        
+        // Fire every filled cell back to back, as a fast clicker would
+        int clicks = 0;
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                if (board.getCell(row, col).getActualValue()) {
+                    controller.handleCellClick(row, col);
+                    clicks++;
+                }
+            }
+        }
+        waitForModel(controller);
+        assert published.size() == clicks + 1 : "Each click should publish exactly one change set";
+        
+        CellState[] display = new CellState[board.getRows() * board.getCols()];
+        for (int i = 0; i < published.size(); i++) {
+            ChangeSet changes = published.get(i);
+            assert i == 0 || changes.getSequence() > published.get(i - 1).getSequence() : "Change sets must arrive in order";
+            for (int j = 0; j < changes.getCellCount(); j++) {
+                display[changes.getCellIndex(j)] = changes.getCellState(j);
+            }
+        }
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                assert display[row * board.getCols() + col] == board.getCell(row, col).getCurrentState() : "Replayed changes should match the model";
+            }
+        }
+        assert published.get(published.size() - 1).isComplete() : "Last click should complete the puzzle";
+        
+        System.out.println("Click sequence test passed");
+    }
+    
+    private static void testWrongMovesAndUndo() throws InterruptedException {
+        GameController controller = new GameController();
+        List<ChangeSet> published = Collections.synchronizedList(new ArrayList<>());
+        controller.setChangeListener(published::add);
+        controller.startNewGame();
+        waitForModel(controller);
+        GameBoard board = published.get(0).getBoard();
+        int emptyRow = -1;
+        int emptyCol = -1;
+        int filledRow = -1;
+        int filledCol = -1;
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                if (board.getCell(row, col).getActualValue()) {
+                    filledRow = row;
+                    filledCol = col;
+                } else {
+                    emptyRow = row;
+                    emptyCol = col;
+                }
+            }
+        }
+        controller.handleCellClick(emptyRow, emptyCol);
+        controller.handleCellClick(filledRow, filledCol);
+        controller.undo();
+        waitForModel(controller);
+        assert published.size() == 4 : "Wrong move, move and undo should each publish";
+        ChangeSet wrong = published.get(1);
+        assert wrong.hasWrongMove() && wrong.getWrongRow() == emptyRow && wrong.getLives() == 2 : "Wrong move should cost a life";
+        assert wrong.getCellCount() == 0 : "A rejected move changes no cells";
+        assert published.get(2).canUndo() : "A move should enable undo";
+        ChangeSet undone = published.get(3);
+        assert !undone.canUndo() && undone.canRedo() : "Undo should flip the history flags";
+        assert undone.getCellCount() >= 1 : "Undo should report the restored cell";
+        
+        System.out.println("Wrong move and undo test passed");
+    }
+    
+    private static void testStrokeIsOneHistoryEntry() throws InterruptedException {
+        GameController controller = new GameController();
+        List<ChangeSet> published = Collections.synchronizedList(new ArrayList<>());
+        controller.setChangeListener(published::add);
+        controller.startNewGame();
+        waitForModel(controller);
+        GameBoard board = published.get(0).getBoard();
+        
+        // Find the longest run of filled cells in any row
+        int runRow = -1;
+        int runStart = -1;
+        int runLength = 0;
+        for (int row = 0; row < board.getRows(); row++) {
+            int start = 0;
+            for (int col = 0; col <= board.getCols(); col++) {
+                if (col == board.getCols() || !board.getCell(row, col).getActualValue()) {
+                    if (col - start > runLength) {
+                        runRow = row;
+                        runStart = start;
+                        runLength = col - start;
+                    }
+                    start = col + 1;
+                }
+            }
+        }
+        assert runLength >= 2 : "Test puzzle needs a run of at least two cells";
+        int runEnd = runStart + runLength - 1;
+        
+        try {
+            controller.handleStroke(0, 0, 1, 1);
+            assert false : "Diagonal strokes should be rejected";
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        
+        controller.handleStroke(runRow, runEnd, runRow, runStart);
+        waitForModel(controller);
+        assert published.size() == 2 : "A stroke should publish a single change set";
+        ChangeSet stroke = published.get(1);
+        assert stroke.getCellCount() >= runLength : "Stroke should report every painted cell";
+        assert !stroke.hasWrongMove() && stroke.getLives() == 3;
+        for (int col = runStart; col <= runEnd; col++) {
+            assert board.getCell(runRow, col).getCurrentState() == CellState.FILLED : "Stroke should fill the whole run";
+        }
+        assert controller.getMoveCount() == 1 : "A stroke is one history entry";
+        
+        controller.undo();
+        waitForModel(controller);
+        for (int col = runStart; col <= runEnd; col++) {
+            assert board.getCell(runRow, col).getCurrentState() != CellState.FILLED : "One undo should revert the whole stroke";
+        }
+        assert !published.get(2).canUndo() : "Nothing is left to undo after the stroke";
+        
+        controller.redo();
+        waitForModel(controller);
+        for (int col = runStart; col <= runEnd; col++) {
+            assert board.getCell(runRow, col).getCurrentState() == CellState.FILLED : "One redo should replay the whole stroke";
+        }
+        assert !published.get(3).canRedo() && controller.getMoveCount() == 1;
+        
+        System.out.println("Stroke history test passed");
+    }
+    
+    private static void testStrokeStopsAtWrongCell() throws InterruptedException {
+        GameController controller = new GameController();
+        List<ChangeSet> published = Collections.synchronizedList(new ArrayList<>());
+        controller.setChangeListener(published::add);
+        controller.startNewGame();
+        waitForModel(controller);
+        GameBoard board = published.get(0).getBoard();
+        int strokeRow = -1;
+        int strokeCol = -1;
+        for (int row = 0; row < board.getRows() && strokeRow < 0; row++) {
+            for (int col = 0; col + 1 < board.getCols(); col++) {
+                if (board.getCell(row, col).getActualValue() && !board.getCell(row, col + 1).getActualValue()) {
+                    strokeRow = row;
+                    strokeCol = col;
+                    break;
+                }
+            }
+        }
+        assert strokeRow >= 0 : "Test puzzle needs a filled cell followed by an empty one";
+        
+        controller.handleStroke(strokeRow, strokeCol, strokeRow, strokeCol + 1);
+        waitForModel(controller);
+        ChangeSet stroke = published.get(1);
+        assert board.getCell(strokeRow, strokeCol).getCurrentState() == CellState.FILLED : "Cells before the mistake should be kept";
+        assert board.getCell(strokeRow, strokeCol + 1).getCurrentState() != CellState.FILLED : "The wrong cell must not be painted";
+        assert stroke.hasWrongMove() && stroke.getWrongCol() == strokeCol + 1 : "Stroke should flag the wrong cell";
+        assert stroke.getLives() == 2 : "A wrong stroke costs a single life";
+        
+        System.out.println("Stroke wrong cell test passed");
+    }
+    
+    private static void testHintsFollowMoves() throws InterruptedException {
+        GameController controller = new GameController();
+        List<ChangeSet> published = Collections.synchronizedList(new ArrayList<>());
+        controller.setChangeListener(published::add);
+        controller.startNewGame();
+        waitForModel(controller);
+        GameBoard board = published.get(0).getBoard();
+        
+        // Follow the served hints move by move; each must match a freshly built index
+        int followed = 0;
+        while (followed < 50) {
+            controller.getHint();
+            waitForModel(controller);
+            ChangeSet changes = published.get(published.size() - 1);
+            assert changes.isHintRequested() : "Hint request should publish a hint change set";
+            Hint hint = changes.getHint();
+            Hint expected = HintGenerator.generateHint(board);
+            if (hint == null) {
+                assert expected == null : "Controller should only run out of hints when the board does";
+                break;
+            }
+            assert expected != null && hint.getType() == expected.getType() : "Served hint type should match the board";
+            assert hint.isRowHint() == expected.isRowHint() && hint.getLineIndex() == expected.getLineIndex() : "Served hint line should match the board";
+            CellPosition pos = hint.getAffectedCells().get(0);
+            if (hint.getExpectedState(0) != CellState.FILLED) {
+                controller.toggleXMode();
+            }
+            controller.handleCellClick(pos.getRow(), pos.getCol());
+            waitForModel(controller);
+            if (published.get(published.size() - 1).isComplete()) {
+                break;
+            }
+            followed++;
+        }
+        
+        // A reset has to bring the index back to the empty board
+        controller.resetPuzzle();
+        controller.getHint();
+        waitForModel(controller);
+        Hint afterReset = published.get(published.size() - 1).getHint();
+        Hint expected = HintGenerator.generateHint(board);
+        assert afterReset != null && expected != null;
+        assert afterReset.isRowHint() == expected.isRowHint() && afterReset.getLineIndex() == expected.getLineIndex() : "Hint after reset should match the empty board";
+        
+        System.out.println("Hints follow moves test passed (" + followed + " hints followed)");
+    }
+    
+    private static void testChangedCellReporting() {
+        // Row 0 is a single block of three, row 1 is empty
+        GameBoard board = new GameBoard(new boolean[][] {{true, true, true}, {false, false, false}});
+        GameState state = new GameState(board);
+        MyArrayList<CellPosition> stroke = new MyArrayList<>();
+        for (int col = 0; col < 3; col++) {
+            stroke.add(new CellPosition(0, col));
+        }
+        state.makeMoves(stroke, CellState.FILLED);
+        
+        // Completing every black cell lets auto-fill mark the rest, and it reports exactly those cells
+        IntArrayList marked = new IntArrayList();
+        board.autoFillMarks(marked);
+        assert marked.size() == 3 : "Auto-fill should report the three marked cells, got " + marked.size();
+        for (int i = 0; i < marked.size(); i++) {
+            assert marked.get(i) >= 3 && board.getCell(1, marked.get(i) - 3).getCurrentState() == CellState.MARKED;
+        }
+        IntArrayList again = new IntArrayList();
+        board.autoFillMarks(again);
+        assert again.isEmpty() : "Nothing changes on a second auto-fill";
+        
+        IntArrayList undone = new IntArrayList();
+        state.undo(undone);
+        assert undone.size() == 3 : "Undoing a stroke should report every cell in it";
+        for (int col = 0; col < 3; col++) {
+            assert undone.contains(col) && board.getCell(0, col).getCurrentState() == CellState.UNKNOWN;
+        }
+        IntArrayList redone = new IntArrayList();
+        state.redo(redone);
+        assert redone.size() == 3 && redone.contains(0) && redone.contains(2) : "Redo should report the same cells";
+        
+        // Reset reports the filled and marked cells but not the ones that were already unknown
+        board.getCell(1, 1).setCurrentState(CellState.UNKNOWN);
+        IntArrayList cleared = new IntArrayList();
+        state.reset(cleared);
+        assert cleared.size() == 5 && cleared.contains(3) && !cleared.contains(4) : "Reset should report only non-unknown cells";
+        
+        System.out.println("Changed cell reporting test passed");
+    }
+    
+    private static void waitForModel(ModelExecutor executor) throws InterruptedException {
+        boolean idle = executor.awaitIdle(5000);
+        assert idle : "Executor should drain its queue";
+    }
+    
+    private static void waitForModel(GameController controller) throws InterruptedException {
+        boolean idle = controller.awaitIdle(5000);
+        assert idle : "Model thread should finish the queued actions";
+    }
+}
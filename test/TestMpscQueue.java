@@ -0,0 +1,132 @@
+import nonogram.datastructures.MpscQueue;
+
+public class TestMpscQueue {
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Testing MpscQueue...");
+        
+        testBasicOperations();
+        testBoundedCapacity();
+        testDrainToConsumer();
+        testConcurrentProducers();
+        
+        System.out.println("All MpscQueue tests passed!");
+    }
+    
+    private static void testBasicOperations() {
+        MpscQueue<String> queue = new MpscQueue<>(4);
+        
+        assert queue.isEmpty() : "New queue should be empty";
+        String polled = queue.poll();
+        assert polled == null : "Poll on empty queue should return null";
+        
+        queue.offer("a");
+        queue.offer("b");
+        assert queue.size() == 2 : "Size should be 2";
+        polled = queue.poll();
+        assert "a".equals(polled) : "First poll should return a";
+        
+        // Drain into an array
+        queue.offer("c");
+        String[] target = new String[8];
+        int drained = queue.drainTo(target);
+        assert drained == 2 : "Should drain 2 elements";
+        assert "b".equals(target[0]) && "c".equals(target[1]) : "Drain should keep FIFO order";
+        assert queue.isEmpty() : "Queue should be empty after drain";
+        
+        System.out.println("Basic operations test passed");
+    }
+    
+    private static void testBoundedCapacity() {
+        MpscQueue<Integer> queue = new MpscQueue<>(3);
+        assert queue.capacity() == 4 : "Capacity should round up to a power of two";
+        
+        for (int i = 0; i < 4; i++) {
+            boolean offered = queue.offer(i);
+            assert offered : "Offer within capacity should succeed";
+        }
+        boolean offered = queue.offer(99);
+        assert !offered : "Offer on full queue should fail without blocking";
+        
+        // Space is reusable after consuming
+        Integer polled = queue.poll();
+        assert polled == 0 : "Poll should return 0";
+        offered = queue.offer(4);
+        assert offered : "Offer should succeed after a poll";
+        
+        System.out.println("Bounded capacity test passed");
+    }
+    
+    private static void testDrainToConsumer() {
+        MpscQueue<Integer> queue = new MpscQueue<>(8);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        StringBuilder seen = new StringBuilder();
+        
+        // A limit bounds how much one drain consumes
+        int drained = queue.drain(seen::append, 3);
+        assert drained == 3 : "Drain should stop at the limit";
+        assert "012".equals(seen.toString()) : "Drain should keep FIFO order";
+        assert queue.size() == 2 : "Remaining elements should stay queued";
+        
+        drained = queue.drain(seen::append, 10);
+        assert drained == 2 : "Drain should stop when the queue is empty";
+        assert "01234".equals(seen.toString());
+        drained = queue.drain(seen::append, 10);
+        assert drained == 0 : "Draining an empty queue should consume nothing";
+        
+        try {
+            queue.drain(seen::append, -1);
+            assert false : "Negative limit should be rejected";
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        
+        System.out.println("Drain to consumer test passed");
+    }
+    
+    private static void testConcurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 20000;
+        final MpscQueue<Integer> queue = new MpscQueue<>(256);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        
+        // Single consumer drains in batches and checks per-producer order
+        int[] lastSeen = new int[producers];
+        for (int p = 0; p < producers; p++) {
+            lastSeen[p] = -1;
+        }
+        Integer[] batch = new Integer[64];
+        int received = 0;
+        while (received < producers * perProducer) {
+            int count = queue.drainTo(batch);
+            for (int i = 0; i < count; i++) {
+                int value = batch[i];
+                int producer = value / perProducer;
+                assert value % perProducer > lastSeen[producer] : "Per-producer order should be preserved";
+                lastSeen[producer] = value % perProducer;
+            }
+            received += count;
+            if (count == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assert queue.isEmpty() : "Queue should be empty after consuming everything";
+        
+        System.out.println("Concurrent producers test passed");
+    }
+}
@@ -40,7 +40,28 @@ public class TestMultipleDifficulties {
             MyLinkedList<Puzzle> puzzles = loader.getPuzzlesForDifficulty(diff);
             assert puzzles != null : "Should return puzzle list for " + diff;
             assert puzzles.size() == count : "Puzzle count should match list size";
+            
+            // Indexed lookups follow list order
+            int index = 0;
+            for (Puzzle puzzle : puzzles) {
+                assert loader.getPuzzle(diff, index++) == puzzle : "Indexed lookup should match list order for " + diff;
+            }
+            assert loader.getPuzzle(diff, count) == null && loader.getPuzzle(diff, -1) == null : "Out of range lookups return null";
         }
+        int index = 0;
+        for (Puzzle puzzle : loader.getAllPuzzles()) {
+            assert loader.getPuzzle(index++) == puzzle : "Catalog lookup should match catalog order";
+        }
+        assert loader.getPuzzle(index) == null : "Lookup past the catalog returns null";
+        
+        // Returned lists are copies, so changing them leaves the catalog alone
+        MyLinkedList<Puzzle> easy = loader.getPuzzlesForDifficulty(Difficulty.EASY);
+        int easyCount = easy.size();
+        easy.clear();
+        assert loader.getPuzzleCount(Difficulty.EASY) == easyCount : "Clearing a returned list should not change the catalog";
+        MyLinkedList<Puzzle> all = loader.getAllPuzzles();
+        all.add(loader.getPuzzle(0));
+        assert loader.getAllPuzzles().size() == index : "Adding to a returned list should not change the catalog";
         
         // Test getting specific puzzles
         Puzzle easyPuzzle = loader.getPuzzle(Difficulty.EASY, 0);
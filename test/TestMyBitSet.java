@@ -0,0 +1,130 @@
+import nonogram.datastructures.MyBitSet;
+import nonogram.datastructures.IntArrayList;
+import java.util.BitSet;
+import java.util.Random;
+
+public class TestMyBitSet {
+    public static void main(String[] args) {
+        System.out.println("Testing MyBitSet...");
+        
+        testSingleBits();
+        testRanges();
+        testLogicalOperations();
+        testScanning();
+        testRunLengths();
+        
+        System.out.println("All MyBitSet tests passed!");
+    }
+    
+    private static void testSingleBits() {
+        MyBitSet bits = new MyBitSet(130);
+        bits.set(0);
+        bits.set(64);
+        bits.set(129);
+        assert bits.get(0) && bits.get(64) && bits.get(129) : "Set bits should read back";
+        assert !bits.get(1) : "Unset bit should be clear";
+        assert bits.cardinality() == 3 : "Cardinality should be 3";
+        
+        bits.flip(64);
+        bits.clear(0);
+        assert bits.cardinality() == 1 : "Cardinality should be 1 after flip and clear";
+        
+        try {
+            bits.get(130);
+            assert false : "Should throw for index beyond size";
+        } catch (IndexOutOfBoundsException e) {
+            // Expected
+        }
+        
+        System.out.println("Single bits test passed");
+    }
+    
+    private static void testRanges() {
+        MyBitSet bits = new MyBitSet(200);
+        bits.set(10, 150);
+        assert bits.cardinality() == 140 : "Range set should set 140 bits";
+        assert !bits.get(9) && bits.get(10) && bits.get(149) && !bits.get(150) : "Range bounds should be exclusive";
+        
+        bits.clear(60, 70);
+        assert bits.cardinality() == 130 : "Range clear should clear 10 bits";
+        assert bits.nextClearBit(10) == 60 : "First clear bit after 10 should be 60";
+        
+        System.out.println("Ranges test passed");
+    }
+    
+    private static void testLogicalOperations() {
+        Random random = new Random(7);
+        int size = 300;
+        MyBitSet a = new MyBitSet(size);
+        MyBitSet b = new MyBitSet(size);
+        BitSet ra = new BitSet(size);
+        BitSet rb = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (random.nextBoolean()) { a.set(i); ra.set(i); }
+            if (random.nextBoolean()) { b.set(i); rb.set(i); }
+        }
+        
+        MyBitSet and = new MyBitSet(size); and.copyFrom(a); and.and(b);
+        MyBitSet or = new MyBitSet(size); or.copyFrom(a); or.or(b);
+        MyBitSet xor = new MyBitSet(size); xor.copyFrom(a); xor.xor(b);
+        MyBitSet andNot = new MyBitSet(size); andNot.copyFrom(a); andNot.andNot(b);
+        BitSet rand = (BitSet) ra.clone(); rand.and(rb);
+        BitSet ror = (BitSet) ra.clone(); ror.or(rb);
+        BitSet rxor = (BitSet) ra.clone(); rxor.xor(rb);
+        BitSet randNot = (BitSet) ra.clone(); randNot.andNot(rb);
+        
+        for (int i = 0; i < size; i++) {
+            assert and.get(i) == rand.get(i) : "AND mismatch at " + i;
+            assert or.get(i) == ror.get(i) : "OR mismatch at " + i;
+            assert xor.get(i) == rxor.get(i) : "XOR mismatch at " + i;
+            assert andNot.get(i) == randNot.get(i) : "ANDNOT mismatch at " + i;
+        }
+        assert and.isSubsetOf(a) : "AND result should be a subset of operand";
+        
+        System.out.println("Logical operations test passed");
+    }
+    
+    private static void testScanning() {
+        MyBitSet bits = new MyBitSet(128);
+        bits.set(3);
+        bits.set(70);
+        assert bits.nextSetBit(0) == 3 : "First set bit should be 3";
+        assert bits.nextSetBit(4) == 70 : "Next set bit should be 70";
+        assert bits.nextSetBit(71) == -1 : "No set bit should return -1";
+        assert bits.nextClearBit(3) == 4 : "Next clear bit should be 4";
+        
+        MyBitSet full = new MyBitSet(70);
+        full.set(0, 70);
+        assert full.nextClearBit(0) == 70 : "Full set should report size as next clear bit";
+        
+        System.out.println("Scanning test passed");
+    }
+    
+    private static void testRunLengths() {
+        // Row pattern: ##.###...#  -> clues 2 3 1
+        boolean[] row = {true, true, false, true, true, true, false, false, false, true};
+        MyBitSet bits = new MyBitSet(row.length);
+        for (int i = 0; i < row.length; i++) {
+            bits.set(i, row[i]);
+        }
+        IntArrayList runs = new IntArrayList();
+        assert bits.runLengths(runs) == 3 : "Should find 3 runs";
+        assert runs.get(0) == 2 && runs.get(1) == 3 && runs.get(2) == 1 : "Runs should be 2 3 1";
+        assert bits.runsEqual(runs) : "runsEqual should match extracted runs";
+        
+        // Runs that cross word boundaries
+        MyBitSet wide = new MyBitSet(300);
+        wide.set(60, 140);
+        wide.set(200, 300);
+        IntArrayList wideRuns = new IntArrayList();
+        wide.runLengths(wideRuns);
+        assert wideRuns.size() == 2 && wideRuns.get(0) == 80 && wideRuns.get(1) == 100 : "Wide runs should be 80 100";
+        
+        // Building from words drops bits past the size
+        MyBitSet fromWords = MyBitSet.valueOf(new long[] {-1L, -1L}, 70);
+        assert fromWords.cardinality() == 70 : "Bits past the size should be dropped";
+        assert fromWords.nextClearBit(0) == 70 : "All 70 bits should be set";
+        
+        System.out.println("Run lengths test passed");
+    }
+}
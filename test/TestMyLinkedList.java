@@ -0,0 +1,109 @@
+import nonogram.datastructures.MyLinkedList;
+import nonogram.datastructures.MyArrayList;
+import java.util.ConcurrentModificationException;
+
+public class TestMyLinkedList {
+    public static void main(String[] args) {
+        System.out.println("Testing MyLinkedList...");
+        
+        testTailAppend();
+        testIteration();
+        testFailFastIterator();
+        testBulkOperations();
+        
+        System.out.println("All MyLinkedList tests passed!");
+    }
+    
+    private static void testTailAppend() {
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        
+        // Appending many elements should keep order and track the tail
+        for (int i = 0; i < 10000; i++) {
+            list.add(i);
+        }
+        
+        assert list.size() == 10000 : "Size should be 10000";
+        assert list.getFirst() == 0 : "First element should be 0";
+        assert list.getLast() == 9999 : "Last element should be 9999";
+        assert list.get(9999) == 9999 : "get on last index should return tail";
+        assert list.get(5000) == 5000 : "Middle element should be 5000";
+        
+        // Clear resets the tail as well
+        list.clear();
+        assert list.isEmpty() : "List should be empty after clear";
+        list.add(7);
+        assert list.getFirst() == 7 && list.getLast() == 7 : "Single element should be head and tail";
+        
+        System.out.println("Tail append test passed");
+    }
+    
+    private static void testIteration() {
+        MyLinkedList<String> list = new MyLinkedList<>();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        
+        // Test for-each
+        StringBuilder sb = new StringBuilder();
+        for (String s : list) {
+            sb.append(s);
+        }
+        assert "abc".equals(sb.toString()) : "Iteration order should be abc";
+        
+        // Test forEach
+        StringBuilder sb2 = new StringBuilder();
+        list.forEach(sb2::append);
+        assert "abc".equals(sb2.toString()) : "forEach order should be abc";
+        
+        System.out.println("Iteration test passed");
+    }
+    
+    private static void testFailFastIterator() {
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        list.add(1);
+        list.add(2);
+        
+        try {
+            for (Integer value : list) {
+                list.add(value);
+            }
+            assert false : "Should throw when list is modified during iteration";
+        } catch (ConcurrentModificationException e) {
+            // Expected
+        }
+        
+        try {
+            list.forEach(value -> list.add(value));
+            assert false : "forEach should throw when list is modified";
+        } catch (ConcurrentModificationException e) {
+            // Expected
+        }
+        
+        System.out.println("Fail-fast iterator test passed");
+    }
+    
+    private static void testBulkOperations() {
+        MyArrayList<Integer> source = new MyArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            source.add(i);
+        }
+        
+        // Test addAll from another structure
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        list.addAll(source);
+        assert list.size() == 5 : "Size should be 5 after addAll";
+        assert list.getLast() == 4 : "Last element should be 4";
+        
+        // Test toArray
+        Object[] objects = list.toArray();
+        assert objects.length == 5 : "Array length should be 5";
+        Integer[] typed = list.toArray(new Integer[0]);
+        for (int i = 0; i < 5; i++) {
+            assert typed[i] == i : "Element " + i + " should match";
+        }
+        Object[] fromArrayList = source.toArray();
+        assert fromArrayList.length == 5 && fromArrayList[4].equals(4) : "MyArrayList toArray should copy elements";
+        
+        System.out.println("Bulk operations test passed");
+    }
+}
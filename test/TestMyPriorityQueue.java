@@ -0,0 +1,117 @@
+import nonogram.datastructures.MyPriorityQueue;
+import java.util.Random;
+
+public class TestMyPriorityQueue {
+    public static void main(String[] args) {
+        System.out.println("Testing MyPriorityQueue...");
+        
+        testOrdering();
+        testUpdateWithoutDuplicates();
+        testRemoveAndClear();
+        testRandomizedAgainstSort();
+        
+        System.out.println("All MyPriorityQueue tests passed!");
+    }
+    
+    private static void testOrdering() {
+        MyPriorityQueue queue = new MyPriorityQueue(10);
+        queue.offer(3, 30);
+        queue.offer(1, 10);
+        queue.offer(2, 20);
+        queue.offer(4, 10);
+        
+        // Lowest priority first, ties broken by id
+        int first = queue.poll();
+        int second = queue.poll();
+        int third = queue.poll();
+        int fourth = queue.poll();
+        assert first == 1 : "First should be id 1";
+        assert second == 4 : "Second should be id 4";
+        assert third == 2 : "Third should be id 2";
+        assert fourth == 3 : "Fourth should be id 3";
+        assert queue.isEmpty() : "Queue should be empty";
+        
+        try {
+            queue.poll();
+            assert false : "Should throw exception when polling empty queue";
+        } catch (RuntimeException e) {
+            // Expected
+        }
+        
+        System.out.println("Ordering test passed");
+    }
+    
+    private static void testUpdateWithoutDuplicates() {
+        MyPriorityQueue queue = new MyPriorityQueue(5);
+        queue.offer(0, 50);
+        queue.offer(1, 40);
+        
+        // Re-offering an id re-prioritizes instead of duplicating
+        boolean added = queue.offer(0, 5);
+        assert !added : "Re-offer should not add a new entry";
+        assert queue.size() == 2 : "Size should stay 2";
+        assert queue.peek() == 0 : "Id 0 should now be first";
+        
+        // decreaseKey only lowers priority
+        boolean raised = queue.decreaseKey(1, 100);
+        assert !raised : "Higher priority should be ignored";
+        boolean lowered = queue.decreaseKey(1, 1);
+        assert lowered : "Lower priority should be applied";
+        assert queue.peek() == 1 : "Id 1 should now be first";
+        
+        // update can raise priority
+        queue.update(1, 99);
+        assert queue.peek() == 0 : "Id 0 should be first after update";
+        assert queue.getPriority(1) == 99 : "Priority should be 99";
+        assert queue.contains(1) && !queue.contains(3) : "Contains should reflect entries";
+        
+        System.out.println("Update without duplicates test passed");
+    }
+    
+    private static void testRemoveAndClear() {
+        MyPriorityQueue queue = new MyPriorityQueue(8);
+        for (int i = 0; i < 8; i++) {
+            queue.offer(i, 8 - i);
+        }
+        boolean removed = queue.remove(7);
+        boolean removedAgain = queue.remove(7);
+        assert removed : "Should remove existing id";
+        assert !removedAgain : "Second removal should fail";
+        int head = queue.poll();
+        assert head == 6 : "Id 6 should be first after removing 7";
+        
+        queue.clear();
+        assert queue.isEmpty() : "Queue should be empty after clear";
+        boolean reused = queue.offer(3, 1);
+        assert reused : "Ids should be reusable after clear";
+        
+        System.out.println("Remove and clear test passed");
+    }
+    
+    private static void testRandomizedAgainstSort() {
+        Random random = new Random(42);
+        int n = 500;
+        MyPriorityQueue queue = new MyPriorityQueue(n);
+        int[] priorities = new int[n];
+        for (int i = 0; i < n; i++) {
+            priorities[i] = random.nextInt(1000);
+            queue.offer(i, priorities[i]);
+        }
+        for (int i = 0; i < n; i += 3) {
+            priorities[i] = random.nextInt(1000);
+            queue.update(i, priorities[i]);
+        }
+        
+        int lastPriority = Integer.MIN_VALUE;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int id = queue.poll();
+            assert priorities[id] >= lastPriority : "Polled priorities should be non-decreasing";
+            lastPriority = priorities[id];
+            count++;
+        }
+        assert count == n : "Every id should be polled exactly once";
+        
+        System.out.println("Randomized ordering test passed");
+    }
+}
@@ -7,6 +7,7 @@ public class TestMyQueue {
         testBasicOperations();
         testFIFOBehavior();
         testEdgeCases();
+        testIteration();
         
         System.out.println("All MyQueue tests passed!");
     }
@@ -83,4 +84,31 @@ public class TestMyQueue {
         
         System.out.println("Edge cases test passed");
     }
+    
+    private static void testIteration() {
+        MyQueue<Integer> queue = new MyQueue<>();
+        for (int i = 1; i <= 3; i++) {
+            queue.enqueue(i);
+        }
+        
+        // Iteration should follow FIFO order without removing elements
+        int expected = 1;
+        for (Integer value : queue) {
+            assert value == expected : "Iteration should yield " + expected;
+            expected++;
+        }
+        assert queue.size() == 3 : "Iteration should not change size";
+        
+        // Modifying the queue while iterating should fail fast
+        try {
+            for (Integer value : queue) {
+                queue.dequeue();
+            }
+            assert false : "Should throw when queue is modified during iteration";
+        } catch (java.util.ConcurrentModificationException e) {
+            // Expected
+        }
+        
+        System.out.println("Iteration test passed");
+    }
 }
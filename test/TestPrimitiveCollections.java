@@ -0,0 +1,147 @@
+import nonogram.datastructures.IntArrayList;
+import nonogram.datastructures.LongArrayStack;
+import nonogram.datastructures.IntRingQueue;
+import nonogram.datastructures.LongPairIndex;
+import nonogram.model.*;
+
+public class TestPrimitiveCollections {
+    public static void main(String[] args) {
+        System.out.println("Testing Primitive Collections...");
+        
+        testIntArrayList();
+        testLongArrayStack();
+        testIntRingQueue();
+        testPackedMoves();
+        testLongPairIndex();
+        
+        System.out.println("All Primitive Collection tests passed!");
+    }
+    
+    private static void testIntArrayList() {
+        IntArrayList list = new IntArrayList(0);
+        
+        // Growth from zero capacity
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        assert list.size() == 100 : "Size should be 100";
+        assert list.get(42) == 42 : "Element 42 should be 42";
+        
+        // Insert, set and remove
+        list.add(0, -1);
+        assert list.get(0) == -1 && list.get(1) == 0 : "Insert should shift elements";
+        int old = list.set(0, 7);
+        assert old == -1 : "Set should return old value";
+        int removed = list.removeAt(0);
+        assert removed == 7 : "removeAt should return removed value";
+        assert list.indexOf(99) == 99 : "indexOf should find 99";
+        assert !list.contains(1000) : "Should not contain 1000";
+        
+        // Capacity management keeps contents
+        list.trimToSize();
+        list.ensureCapacity(500);
+        assert list.toArray().length == 100 : "toArray should have 100 elements";
+        
+        IntArrayList other = new IntArrayList();
+        for (int i = 0; i < 100; i++) {
+            other.add(i);
+        }
+        assert list.contentEquals(other) : "Lists with same values should be equal";
+        
+        // Wrapping a primitive array copies it
+        int[] values = {3, 1, 2};
+        IntArrayList wrapped = IntArrayList.of(values);
+        values[0] = 9;
+        assert wrapped.size() == 3 && wrapped.get(0) == 3 && wrapped.get(2) == 2 : "of should copy the values";
+        wrapped.add(4);
+        assert wrapped.size() == 4 : "Wrapped list should still grow";
+        
+        System.out.println("IntArrayList test passed");
+    }
+    
+    private static void testLongArrayStack() {
+        LongArrayStack stack = new LongArrayStack(1);
+        for (long i = 0; i < 50; i++) {
+            stack.push(i << 33);
+        }
+        assert stack.size() == 50 : "Size should be 50";
+        assert stack.peek() == (49L << 33) : "Peek should return last pushed";
+        for (long i = 49; i >= 0; i--) {
+            long popped = stack.pop();
+            assert popped == (i << 33) : "Pop should follow LIFO order";
+        }
+        assert stack.isEmpty() : "Stack should be empty";
+        
+        try {
+            stack.pop();
+            assert false : "Should throw exception when popping empty stack";
+        } catch (RuntimeException e) {
+            // Expected
+        }
+        
+        System.out.println("LongArrayStack test passed");
+    }
+    
+    private static void testIntRingQueue() {
+        IntRingQueue queue = new IntRingQueue(4);
+        
+        // Wrap around the ring before it grows
+        queue.enqueue(1);
+        queue.enqueue(2);
+        queue.enqueue(3);
+        int first = queue.dequeue();
+        int second = queue.dequeue();
+        assert first == 1 : "First dequeue should be 1";
+        assert second == 2 : "Second dequeue should be 2";
+        for (int i = 4; i <= 10; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 3; i <= 10; i++) {
+            int value = queue.dequeue();
+            assert value == i : "Dequeue should return " + i;
+        }
+        assert queue.isEmpty() : "Queue should be empty";
+        
+        queue.enqueue(5);
+        queue.trimToSize();
+        assert queue.peek() == 5 : "trimToSize should keep contents";
+        
+        System.out.println("IntRingQueue test passed");
+    }
+    
+    private static void testPackedMoves() {
+        Move move = new Move(new CellPosition(123, 4567), CellState.FILLED, CellState.MARKED);
+        Move unpacked = Move.unpack(move.pack());
+        assert unpacked.getPosition().equals(move.getPosition()) : "Position should survive packing";
+        assert unpacked.getOldState() == CellState.FILLED : "Old state should survive packing";
+        assert unpacked.getNewState() == CellState.MARKED : "New state should survive packing";
+        
+        System.out.println("Packed moves test passed");
+    }
+    
+    private static void testLongPairIndex() {
+        LongPairIndex index = new LongPairIndex();
+        
+        // First insert wins, later inserts report the first value
+        int added = index.putIfAbsent(1L, 2L, 0);
+        int existing = index.putIfAbsent(1L, 2L, 5);
+        int swapped = index.putIfAbsent(2L, 1L, 1);
+        assert added == -1 : "New key should be absent";
+        assert existing == 0 : "Existing key should return its value";
+        assert swapped == -1 : "Swapped halves are a different key";
+        
+        // Growth keeps every entry
+        for (int i = 0; i < 10000; i++) {
+            index.putIfAbsent(i * 31L, -i, i + 2);
+        }
+        assert index.size() == 10002 : "Index should hold all keys";
+        assert index.get(31L * 500, -500) == 502 : "Key should survive resizing";
+        assert index.get(7L, 7L) == -1 : "Missing key should return -1";
+        assert index.contains(1L, 2L) : "Original key should still be present";
+        
+        index.clear();
+        assert index.isEmpty() && !index.contains(1L, 2L) : "Clear should remove everything";
+        
+        System.out.println("LongPairIndex test passed");
+    }
+}
@@ -0,0 +1,200 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import nonogram.datastructures.IntArrayList;
+import java.math.BigInteger;
+import java.util.Random;
+
+public class TestProbabilityHeatmap {
+    public static void main(String[] args) {
+        System.out.println("Testing Probability Heatmap...");
+
+        testAgainstEnumeration();
+        testLongLineCount();
+        testHeatmapCache();
+        testLargeBoard();
+
+        System.out.println("All Probability Heatmap tests passed!");
+    }
+
+    private static void testAgainstEnumeration() {
+        Random random = new Random(5);
+        ArrangementCounter counter = new ArrangementCounter();
+        for (int trial = 0; trial < 2000; trial++) {
+            int length = 1 + random.nextInt(12);
+            boolean[] truth = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                truth[i] = random.nextInt(3) > 0;
+            }
+            IntArrayList clues = runsOf(truth);
+            byte[] line = new byte[length];
+            for (int i = 0; i < length; i++) {
+                if (random.nextInt(3) == 0) {
+                    line[i] = truth[i] ? LineSolver.FILLED : LineSolver.EMPTY;
+                }
+            }
+
+            // Enumerate every filling of the line and keep those matching the clues
+            int matches = 0;
+            int[] filledCounts = new int[length];
+            for (int mask = 0; mask < (1 << length); mask++) {
+                boolean[] candidate = new boolean[length];
+                boolean consistent = true;
+                for (int i = 0; i < length; i++) {
+                    candidate[i] = (mask & (1 << i)) != 0;
+                    if ((line[i] == LineSolver.FILLED && !candidate[i]) || (line[i] == LineSolver.EMPTY && candidate[i])) {
+                        consistent = false;
+                    }
+                }
+                if (consistent && runsOf(candidate).contentEquals(clues)) {
+                    matches++;
+                    for (int i = 0; i < length; i++) {
+                        if (candidate[i]) filledCounts[i]++;
+                    }
+                }
+            }
+
+            double[] probabilities = new double[length];
+            double logCount = counter.logCount(clues, line, length, probabilities);
+            assert matches > 0 : "Line built from a solution should have an arrangement";
+            assert Math.abs(Math.exp(logCount) - matches) < 1e-6 * matches : "Count mismatch at trial " + trial;
+            for (int i = 0; i < length; i++) {
+                double expected = (double) filledCounts[i] / matches;
+                assert Math.abs(probabilities[i] - expected) < 1e-9 : "Probability mismatch at trial " + trial;
+            }
+        }
+
+        // A contradicted line has no arrangements
+        byte[] broken = {LineSolver.FILLED, LineSolver.EMPTY, LineSolver.FILLED};
+        assert counter.logCount(runsOf(new boolean[] {true, true, true}), broken, 3, new double[3]) == Double.NEGATIVE_INFINITY : "Contradiction should count zero";
+
+        System.out.println("Enumeration comparison test passed");
+    }
+
+    private static void testLongLineCount() {
+        // k blocks of total size s in a line of n cells have C(n - s + 1, k) arrangements
+        int length = 2000;
+        int blocks = 300;
+        IntArrayList clues = new IntArrayList();
+        for (int i = 0; i < blocks; i++) {
+            clues.add(2);
+        }
+        double logCount = new ArrangementCounter().logCount(clues, new byte[length], length, new double[length]);
+        double expected = logBinomial(length - 2 * blocks + 1, blocks);
+        assert !Double.isInfinite(logCount) : "Long line count should not overflow";
+        assert Math.abs(logCount - expected) < 1e-6 * expected : "Log count should match the binomial coefficient";
+
+        System.out.println("Long line count test passed");
+    }
+
+    private static void testHeatmapCache() {
+        boolean[][] solution = {
+            {true, true, true, true, true},
+            {true, false, true, false, true},
+            {false, true, true, true, false},
+            {true, false, false, false, true},
+            {false, false, true, false, false}
+        };
+        GameBoard board = new GameBoard(solution);
+        ProbabilityHeatmap heatmap = new ProbabilityHeatmap(board);
+        double[] first = heatmap.compute();
+        assert heatmap.getLineComputations() == 10 : "First compute should count every line";
+        assert first[0] == 1.0 : "Row 0 with clue 5 is certainly filled";
+        assert first[4 * 5 + 0] > 0.0 && first[4 * 5 + 0] < 1.0 : "Cell (4, 0) should be uncertain";
+
+        // Unchanged lines come from the cache
+        heatmap.compute();
+        assert heatmap.getLineComputations() == 10 : "Unchanged board should not recompute lines";
+
+        // A move only recomputes its row and column
+        board.getCell(4, 2).setCurrentState(CellState.FILLED);
+        double[] second = heatmap.compute();
+        assert heatmap.getLineComputations() == 12 : "A move should recompute two lines";
+        assert second[4 * 5 + 2] == 1.0 : "Filled cell should be certain";
+        assert second[4 * 5 + 0] == 0.0 : "Rest of row 4 should now be empty";
+
+        // The per-move path only visits the lines it is told about
+        board.getCell(0, 0).setCurrentState(CellState.FILLED);
+        heatmap.cellChanged(0, 0);
+        double[] third = heatmap.update();
+        assert heatmap.getLineComputations() == 14 : "Notified move should recompute two lines";
+        assert third == second : "Update should reuse the output buffer";
+        double[] fresh = new ProbabilityHeatmap(board).compute();
+        for (int i = 0; i < fresh.length; i++) {
+            assert Math.abs(third[i] - fresh[i]) < 1e-12 : "Incremental update should match a fresh compute at cell " + i;
+        }
+        heatmap.update();
+        assert heatmap.getLineComputations() == 14 : "Nothing pending means nothing recomputed";
+
+        board.getCell(4, 0).setCurrentState(CellState.FILLED);
+        heatmap.compute();
+        assert heatmap.isLineContradicted(true, 4) : "Two cells in row 4 contradict clue 1";
+
+        System.out.println("Heatmap cache test passed");
+    }
+
+    private static void testLargeBoard() {
+        Random random = new Random(21);
+        boolean[][] solution = new boolean[50][50];
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 50; j++) {
+                solution[i][j] = random.nextInt(10) < 6;
+            }
+        }
+        GameBoard board = new GameBoard(solution);
+        ProbabilityHeatmap heatmap = new ProbabilityHeatmap(board);
+        long start = System.nanoTime();
+        double[] values = heatmap.compute();
+        long fullMicros = (System.nanoTime() - start) / 1000;
+        assert values.length == 2500 : "Heatmap should cover every cell";
+        for (double value : values) {
+            assert value >= 0.0 && value <= 1.0 : "Probabilities should be in range";
+        }
+
+        board.getCell(10, 10).setCurrentState(solution[10][10] ? CellState.FILLED : CellState.MARKED);
+        start = System.nanoTime();
+        heatmap.compute();
+        long scanMicros = (System.nanoTime() - start) / 1000;
+        assert heatmap.getLineComputations() == 102 : "A move should recompute two lines";
+
+        // Warm up the incremental path, then time a single move
+        for (int i = 0; i < 200; i++) {
+            heatmap.cellChanged(i % 50, (i * 7) % 50);
+            heatmap.update();
+        }
+        board.getCell(20, 30).setCurrentState(solution[20][30] ? CellState.FILLED : CellState.MARKED);
+        start = System.nanoTime();
+        heatmap.cellChanged(20, 30);
+        heatmap.update();
+        long moveMicros = (System.nanoTime() - start) / 1000;
+        assert heatmap.getLineComputations() == 504 : "A notified move should recompute two lines";
+
+        System.out.println("50x50 heatmap: full " + fullMicros + " us, rescan after move " + scanMicros + " us, update after move " + moveMicros + " us");
+        System.out.println("Large board test passed");
+    }
+
+    private static double logBinomial(int n, int k) {
+        BigInteger value = BigInteger.ONE;
+        for (int i = 0; i < k; i++) {
+            value = value.multiply(BigInteger.valueOf(n - i)).divide(BigInteger.valueOf(i + 1));
+        }
+        int shift = Math.max(0, value.bitLength() - 60);
+        return Math.log(value.shiftRight(shift).doubleValue()) + shift * Math.log(2);
+    }
+
+    private static IntArrayList runsOf(boolean[] cells) {
+        IntArrayList runs = new IntArrayList();
+        int run = 0;
+        for (boolean filled : cells) {
+            if (filled) {
+                run++;
+            } else if (run > 0) {
+                runs.add(run);
+                run = 0;
+            }
+        }
+        if (run > 0) {
+            runs.add(run);
+        }
+        return runs;
+    }
+}
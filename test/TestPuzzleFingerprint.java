@@ -0,0 +1,180 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import nonogram.datastructures.MyLinkedList;
+import java.util.Random;
+
+public class TestPuzzleFingerprint {
+    public static void main(String[] args) {
+        System.out.println("Testing Puzzle Fingerprint...");
+        
+        testSymmetries();
+        testInversion();
+        testDistinctPuzzles();
+        testDeduplicateCatalog();
+        testLargeCollection();
+        
+        System.out.println("All Puzzle Fingerprint tests passed!");
+    }
+    
+    private static void testSymmetries() {
+        Random random = new Random(4);
+        int[][] sizes = {{5, 5}, {7, 3}, {70, 130}, {64, 65}};
+        for (int[] size : sizes) {
+            boolean[][] grid = randomGrid(random, size[0], size[1]);
+            PuzzleFingerprint expected = PuzzleFingerprint.of(grid, false);
+            boolean[][] rotated = grid;
+            for (int turn = 0; turn < 4; turn++) {
+                rotated = rotate(rotated);
+                assert PuzzleFingerprint.of(rotated, false).equals(expected) : "Rotation should not change the fingerprint";
+                assert PuzzleFingerprint.of(mirror(rotated), false).equals(expected) : "Mirroring should not change the fingerprint";
+            }
+        }
+        
+        System.out.println("Symmetry test passed");
+    }
+    
+    private static void testInversion() {
+        boolean[][] grid = randomGrid(new Random(6), 9, 12);
+        boolean[][] inverted = new boolean[9][12];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 12; j++) {
+                inverted[i][j] = !grid[i][j];
+            }
+        }
+        assert !PuzzleFingerprint.of(inverted, false).equals(PuzzleFingerprint.of(grid, false)) : "Inversion should differ when not requested";
+        assert PuzzleFingerprint.of(rotate(inverted), true).equals(PuzzleFingerprint.of(grid, true)) : "Inversion should match when requested";
+        
+        System.out.println("Inversion test passed");
+    }
+    
+    private static void testDistinctPuzzles() {
+        Random random = new Random(7);
+        Puzzle[] puzzles = new Puzzle[5000];
+        for (int i = 0; i < puzzles.length; i++) {
+            puzzles[i] = new Puzzle("P" + i, "Random " + i, randomGrid(random, 8, 8));
+        }
+        int[] duplicateOf = PuzzleDeduplicator.findDuplicates(puzzles, false);
+        for (int i = 0; i < puzzles.length; i++) {
+            assert duplicateOf[i] < 0 : "Random 8x8 puzzles should not collide";
+        }
+        
+        // A single changed cell changes the fingerprint
+        boolean[][] grid = randomGrid(random, 10, 10);
+        PuzzleFingerprint before = PuzzleFingerprint.of(grid, true);
+        grid[3][4] = !grid[3][4];
+        assert !PuzzleFingerprint.of(grid, true).equals(before) : "One cell should change the fingerprint";
+        
+        System.out.println("Distinct puzzles test passed");
+    }
+    
+    private static void testDeduplicateCatalog() {
+        PuzzleLoader loader = new PuzzleLoader();
+        MyLinkedList<Puzzle> catalog = new MyLinkedList<>();
+        MyLinkedList<Puzzle> unique = PuzzleDeduplicator.deduplicate(loader.getAllPuzzles(), false);
+        for (Puzzle puzzle : unique) {
+            catalog.add(puzzle);
+            catalog.add(new Puzzle(puzzle.getPuzzleId() + "_R", "Rotated", rotate(puzzle.getSolution())));
+            catalog.add(new Puzzle(puzzle.getPuzzleId() + "_M", "Mirrored", mirror(puzzle.getSolution())));
+        }
+        MyLinkedList<Puzzle> deduplicated = PuzzleDeduplicator.deduplicate(catalog, false);
+        assert deduplicated.size() == unique.size() : "Rotated and mirrored copies should be removed";
+        assert deduplicated.get(0) == unique.get(0) : "First occurrence should be kept";
+        
+        // Clue-only copies are solved before they are fingerprinted
+        MyLinkedList<Puzzle> withClueOnly = new MyLinkedList<>();
+        withClueOnly.addAll(unique);
+        for (Puzzle puzzle : unique) {
+            withClueOnly.add(clueOnly(puzzle));
+        }
+        MyLinkedList<Puzzle> skipped = new MyLinkedList<>();
+        deduplicated = PuzzleDeduplicator.deduplicate(withClueOnly, false, loader.getSolutionCache(), skipped);
+        assert !skipped.isEmpty() : "Clues with several solutions should be reported";
+        assert deduplicated.size() == unique.size() + skipped.size() : "Resolvable clue-only copies should be removed";
+        for (Puzzle puzzle : skipped) {
+            assert !puzzle.hasSolution() && contains(deduplicated, puzzle) : "Unresolved puzzles should be kept, not guessed at";
+        }
+        
+        System.out.println("Catalog de-dup test passed");
+    }
+    
+    private static void testLargeCollection() {
+        Random random = new Random(10);
+        int count = 200000;
+        Puzzle[] puzzles = new Puzzle[count];
+        boolean[][][] originals = new boolean[count / 2][][];
+        for (int i = 0; i < count / 2; i++) {
+            originals[i] = randomGrid(random, 10, 10);
+            puzzles[i] = new Puzzle("P" + i, "Original", originals[i]);
+        }
+        for (int i = count / 2; i < count; i++) {
+            boolean[][] source = originals[random.nextInt(count / 2)];
+            puzzles[i] = new Puzzle("D" + i, "Copy", random.nextBoolean() ? rotate(source) : mirror(source));
+        }
+        long start = System.nanoTime();
+        int[] duplicateOf = PuzzleDeduplicator.findDuplicates(puzzles, true);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        int duplicates = 0;
+        for (int i = 0; i < count; i++) {
+            if (duplicateOf[i] >= 0) duplicates++;
+        }
+        assert duplicates == count / 2 : "Every copy should be found, got " + duplicates;
+        
+        System.out.println(count + " puzzles de-duplicated in " + millis + " ms");
+        System.out.println("Large collection test passed");
+    }
+    
+    private static boolean[][] rotate(boolean[][] grid) {
+        int rows = grid.length;
+        int cols = grid[0].length;
+        boolean[][] rotated = new boolean[cols][rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                rotated[j][rows - 1 - i] = grid[i][j];
+            }
+        }
+        return rotated;
+    }
+    
+    private static boolean[][] mirror(boolean[][] grid) {
+        int cols = grid[0].length;
+        boolean[][] mirrored = new boolean[grid.length][cols];
+        for (int i = 0; i < grid.length; i++) {
+            for (int j = 0; j < cols; j++) {
+                mirrored[i][cols - 1 - j] = grid[i][j];
+            }
+        }
+        return mirrored;
+    }
+    
+    private static boolean[][] randomGrid(Random random, int rows, int cols) {
+        boolean[][] grid = new boolean[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                grid[i][j] = random.nextBoolean();
+            }
+        }
+        return grid;
+    }
+    
+    private static Puzzle clueOnly(Puzzle puzzle) {
+        ClueGenerator clues = ClueGenerator.generate(puzzle.getSolution());
+        int[][] rowClues = new int[puzzle.getRows()][];
+        int[][] columnClues = new int[puzzle.getCols()][];
+        for (int row = 0; row < rowClues.length; row++) {
+            rowClues[row] = clues.getRowClues(row);
+        }
+        for (int col = 0; col < columnClues.length; col++) {
+            columnClues[col] = clues.getColumnClues(col);
+        }
+        return new Puzzle(puzzle.getPuzzleId() + "_C", "Clues", rowClues, columnClues);
+    }
+    
+    private static boolean contains(MyLinkedList<Puzzle> puzzles, Puzzle target) {
+        for (Puzzle puzzle : puzzles) {
+            if (puzzle == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
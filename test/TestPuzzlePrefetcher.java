@@ -0,0 +1,96 @@
+import nonogram.controller.*;
+import nonogram.model.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TestPuzzlePrefetcher {
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Testing Puzzle Prefetcher...");
+        
+        testTakePrepared();
+        testEviction();
+        testControllerNavigation();
+        
+        System.out.println("All Puzzle Prefetcher tests passed!");
+    }
+    
+    private static void testTakePrepared() {
+        PuzzleLoader loader = new PuzzleLoader();
+        PuzzlePrefetcher prefetcher = new PuzzlePrefetcher(loader);
+        prefetcher.prefetch(Difficulty.EASY, 1, -1, 99);
+        
+        PuzzlePrefetcher.Prepared prepared = prefetcher.take(Difficulty.EASY, 1);
+        assert prepared != null : "Scheduled puzzle should be prepared";
+        Puzzle puzzle = loader.getPuzzle(Difficulty.EASY, 1);
+        assert prepared.getPuzzle() == puzzle : "Prepared state should belong to the requested puzzle";
+        assert prepared.getBoard().getRows() == puzzle.getRows() : "Board template should match the puzzle";
+        assert !prepared.getMoveValidator().hasContradiction() : "Fresh board has no contradictions";
+        assert prepared.getTitle().startsWith(puzzle.getName()) : "Title should name the puzzle";
+        assert prefetcher.getHits() == 1;
+        
+        PuzzlePrefetcher.Prepared again = prefetcher.take(Difficulty.EASY, 1);
+        PuzzlePrefetcher.Prepared outOfRange = prefetcher.take(Difficulty.EASY, -1);
+        assert again == null : "A prepared puzzle is handed out once";
+        assert outOfRange == null : "Out-of-range indices are never scheduled";
+        assert prefetcher.getMisses() == 2;
+        prefetcher.shutdown();
+        
+        System.out.println("Take prepared test passed");
+    }
+    
+    private static void testEviction() {
+        PuzzleLoader loader = new PuzzleLoader();
+        PuzzlePrefetcher prefetcher = new PuzzlePrefetcher(loader);
+        prefetcher.prefetch(Difficulty.EASY, 1);
+        prefetcher.prefetch(Difficulty.EASY, 2, 0);
+        PuzzlePrefetcher.Prepared dropped = prefetcher.take(Difficulty.EASY, 1);
+        PuzzlePrefetcher.Prepared kept = prefetcher.take(Difficulty.EASY, 2);
+        assert dropped == null : "Moving on should drop the old neighbour";
+        assert kept != null : "New neighbour should be prepared";
+        prefetcher.shutdown();
+        
+        System.out.println("Eviction test passed");
+    }
+    
+    private static void waitUntilReady(PuzzlePrefetcher prefetcher, Difficulty difficulty, int index) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!prefetcher.isReady(difficulty, index) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        boolean ready = prefetcher.isReady(difficulty, index);
+        assert ready : "Neighbour " + index + " should be prefetched in the background";
+    }
+    
+    private static void testControllerNavigation() throws InterruptedException {
+        GameController controller = new GameController();
+        List<ChangeSet> published = Collections.synchronizedList(new ArrayList<>());
+        controller.setChangeListener(published::add);
+        controller.startNewGame();
+        waitForModel(controller);
+        PuzzlePrefetcher prefetcher = controller.getPrefetcher();
+        
+        waitUntilReady(prefetcher, Difficulty.EASY, 1);
+        controller.nextPuzzle();
+        waitForModel(controller);
+        assert prefetcher.getHits() == 1 : "Next puzzle should come from the prefetch";
+        assert controller.getCurrentPuzzleIndex() == 1;
+        ChangeSet switched = published.get(published.size() - 1);
+        assert switched.isNewBoard() && switched.getBoard() != published.get(0).getBoard() : "Prepared board should be bound";
+        assert controller.hasPreviousPuzzle() && controller.canUndo() == switched.canUndo() : "Queries should agree with the published state";
+        
+        waitUntilReady(prefetcher, Difficulty.EASY, 0);
+        controller.previousPuzzle();
+        waitForModel(controller);
+        assert prefetcher.getHits() == 2 : "Previous puzzle should come from the prefetch";
+        assert controller.getCurrentPuzzleIndex() == 0;
+        assert published.get(published.size() - 1).getPuzzleName().equals(published.get(0).getPuzzleName()) : "Should be back on the first puzzle";
+        
+        System.out.println("Controller navigation test passed");
+    }
+    
+    private static void waitForModel(GameController controller) throws InterruptedException {
+        boolean idle = controller.awaitIdle(5000);
+        assert idle : "Model thread should finish the queued actions";
+    }
+}
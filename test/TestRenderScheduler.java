@@ -0,0 +1,116 @@
+import nonogram.view.RenderScheduler;
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestRenderScheduler {
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing Render Scheduler...");
+
+        testCoalescing();
+        testReplayBurst();
+        testAnimation();
+        testFrameRateValidation();
+
+        System.out.println("All Render Scheduler tests passed!");
+    }
+
+    // Counts the repaint requests that actually reach Swing
+    private static class CountingPanel extends JPanel {
+        final AtomicInteger repaints = new AtomicInteger();
+        int lastX, lastY, lastWidth, lastHeight;
+
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+            if (repaints == null) {
+                return; // Called from the JPanel constructor before the fields exist
+            }
+            repaints.incrementAndGet();
+            lastX = x;
+            lastY = y;
+            lastWidth = width;
+            lastHeight = height;
+        }
+    }
+
+    private static void testCoalescing() throws Exception {
+        RenderScheduler scheduler = new RenderScheduler();
+        CountingPanel panel = new CountingPanel();
+        SwingUtilities.invokeAndWait(() -> {
+            panel.repaints.set(0);
+            scheduler.markDirty(panel, 10, 10, 5, 5);
+            scheduler.markDirty(panel, 40, 20, 5, 5);
+            scheduler.flush();
+        });
+        assert panel.repaints.get() == 1 : "Dirty regions of one component should flush as a single repaint";
+        assert panel.lastX == 10 && panel.lastY == 10 : "Union should start at the first region";
+        assert panel.lastWidth == 35 && panel.lastHeight == 15 : "Union should cover both regions";
+        assert scheduler.isIdle() : "Nothing is pending after a flush";
+
+        System.out.println("Coalescing test passed");
+    }
+
+    private static void testReplayBurst() throws Exception {
+        RenderScheduler scheduler = new RenderScheduler(60);
+        CountingPanel panel = new CountingPanel();
+        SwingUtilities.invokeAndWait(() -> panel.repaints.set(0));
+        int moves = 10000;
+        long start = System.nanoTime();
+        for (int move = 0; move < moves; move++) {
+            int cell = move;
+            SwingUtilities.invokeLater(() -> scheduler.markDirty(panel, (cell % 100) * 10, (cell / 100) * 10, 10, 10));
+            if (move % 500 == 0) {
+                Thread.sleep(2);
+            }
+        }
+        waitUntilIdle(scheduler);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int paints = panel.repaints.get();
+
+        assert scheduler.getRepaintRequests() == moves : "Every move should be recorded";
+        assert paints == scheduler.getFlushes() : "One repaint per flushed frame";
+        assert paints <= seconds * 60 + 2 : "Paints should be capped by the frame rate, got " + paints + " in " + seconds + "s";
+        assert paints < moves / 10 : "Burst should coalesce far below one paint per move, got " + paints;
+
+        System.out.println("Replay burst test passed (" + moves + " moves, " + paints + " paints)");
+    }
+
+    private static void testAnimation() throws Exception {
+        RenderScheduler scheduler = new RenderScheduler(100);
+        CountingPanel panel = new CountingPanel();
+        AtomicInteger ticks = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> scheduler.animate(now -> {
+            scheduler.markDirty(panel, 0, 0, 1, 1);
+            return ticks.incrementAndGet() < 5;
+        }));
+        waitUntilIdle(scheduler);
+
+        assert ticks.get() == 5 : "Animation should tick until it reports completion";
+        assert panel.repaints.get() == 5 : "Each animation frame should repaint once";
+
+        System.out.println("Animation test passed");
+    }
+
+    private static void testFrameRateValidation() {
+        try {
+            new RenderScheduler(0);
+            assert false : "Zero frame rate should be rejected";
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+
+        System.out.println("Frame rate validation test passed");
+    }
+
+    private static void waitUntilIdle(RenderScheduler scheduler) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        boolean[] idle = new boolean[1];
+        while (System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> idle[0] = scheduler.isIdle());
+            if (idle[0]) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        assert false : "Scheduler should go idle once the work drains";
+    }
+}